@@ -0,0 +1,35 @@
+package com.saeed.benchmarks;
+
+import com.saeed.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic employees shaped like the production data: short names, a unique email and one of a few departments.
+ */
+public final class EmployeeFixtures {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Mike", "Sarah", "David", "Emma", "Olivia", "Liam", "Noah", "Ava"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Wilson"};
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Marketing", "Sales", "Operations", "Legal"};
+
+    private EmployeeFixtures() {
+    }
+
+    /**
+     * @param count number of employees
+     * @return employees with ids 1 to {@code count}
+     */
+    public static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String firstName = FIRST_NAMES[i % FIRST_NAMES.length];
+            String lastName = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            employees.add(new Employee((long) i, firstName, lastName,
+                    firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@example.com",
+                    DEPARTMENTS[i % DEPARTMENTS.length], (long) (i % 3)));
+        }
+        return employees;
+    }
+}
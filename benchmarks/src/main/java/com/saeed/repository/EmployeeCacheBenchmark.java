@@ -0,0 +1,94 @@
+package com.saeed.repository;
+
+import com.saeed.benchmarks.EmployeeFixtures;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hit paths of {@link CachingEmployeeRepository}: a lookup by id answered by the Caffeine cache, and the same lookup
+ * and {@code findAll} answered by a loaded {@link EmployeeRoster}. Every hit returns copies, which is most of what
+ * these paths allocate.
+ * <p>
+ * The database behind both is an in-memory stand-in that is only called while the benchmark is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeCacheBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private CachingEmployeeRepository cachedById;
+    private CachingEmployeeRepository cachedWithRoster;
+
+    @Setup
+    public void setUp() {
+        EmployeeRepository database = inMemoryRepository(EmployeeFixtures.employees(size));
+
+        cachedById = new CachingEmployeeRepository(database, size, Duration.ofHours(1), Duration.ofHours(1));
+        for (long id = 1; id <= size; id++) {
+            cachedById.findById(id);
+        }
+
+        EmployeeRoster roster = new EmployeeRoster(database);
+        roster.reload();
+        cachedWithRoster = new CachingEmployeeRepository(database, size, Duration.ofHours(1), Duration.ofHours(1), roster);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByIdCacheHit() {
+        return cachedById.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Employee> findByIdRosterHit() {
+        return cachedWithRoster.findById(randomId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Employee> findAllRosterHit() {
+        return cachedWithRoster.findAll();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1);
+    }
+
+    // Answers the lookups the cache and the roster make while loading; any other call is a bug in the benchmark
+    private static EmployeeRepository inMemoryRepository(List<Employee> employees) {
+        Map<Long, Employee> byId = employees.stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[] {EmployeeRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(byId.get((Long) args[0])).map(Employee::new);
+                    case "findPage" -> page(employees, (Long) args[0], (Integer) args[2], (EmployeeSort) args[3]);
+                    case "toString" -> "in-memory employees";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<Employee> page(List<Employee> employees, Long afterId, int limit, EmployeeSort sort) {
+        if (sort != EmployeeSort.ID) {
+            throw new UnsupportedOperationException("sort " + sort);
+        }
+        int from = afterId == null ? 0 : afterId.intValue();
+        return employees.subList(Math.min(from, employees.size()), Math.min(from + limit, employees.size())).stream()
+                .map(Employee::new)
+                .toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.saeed.repository;
+
+import com.saeed.benchmarks.EmployeeFixtures;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeRecord;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a result set into employees the way {@link JdbcEmployeeRepository#findAll()} does: JdbcClient hands the
+ * result set to a {@link RowMapperResultSetExtractor} over the repository's row mapper.
+ * <p>
+ * {@link #byLabel()} is the former mapper, which looked up every column by label on every row; it is kept as the
+ * baseline for {@link EmployeeRowMapper}, which resolves the columns once per result set, to mutable employees
+ * ({@link #employees()}) or to immutable records ({@link #records()}).
+ * <p>
+ * The rows come from an in-memory {@link CachedRowSet} instead of the driver, so the numbers cover the mapping and
+ * column lookups, not the network or the driver's decoding. Department ids are named by a preloaded
+ * {@link DepartmentDictionary}, as in the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeRowMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private CachedRowSet rowSet;
+    private DepartmentDictionary departments;
+    private RowMapper<Employee> byLabel;
+
+    @Setup
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(6);
+        String[] columns = {"id", "first_name", "last_name", "email", "department_id", "version"};
+        int[] types = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.SMALLINT, Types.BIGINT};
+        for (int i = 0; i < columns.length; i++) {
+            metaData.setColumnName(i + 1, columns[i]);
+            metaData.setColumnLabel(i + 1, columns[i]);
+            metaData.setColumnType(i + 1, types[i]);
+        }
+
+        List<Employee> employees = EmployeeFixtures.employees(size);
+        Map<String, Integer> departmentIds = new HashMap<>();
+        for (Employee employee : employees) {
+            departmentIds.putIfAbsent(employee.getDepartment(), departmentIds.size() + 1);
+        }
+        Map<Integer, String> departmentNames = new HashMap<>();
+        departmentIds.forEach((name, id) -> departmentNames.put(id, name));
+        departments = DepartmentDictionary.of(departmentNames);
+        byLabel = (rs, rowNum) -> new Employee(
+                rs.getLong("id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                departments.nameOf(rs.getInt("department_id")),
+                rs.getLong("version"));
+
+        rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(metaData);
+        for (Employee employee : employees) {
+            rowSet.moveToInsertRow();
+            rowSet.updateLong(1, employee.getId());
+            rowSet.updateString(2, employee.getFirstName());
+            rowSet.updateString(3, employee.getLastName());
+            rowSet.updateString(4, employee.getEmail());
+            rowSet.updateInt(5, departmentIds.get(employee.getDepartment()));
+            rowSet.updateLong(6, employee.getVersion());
+            rowSet.insertRow();
+            rowSet.moveToCurrentRow();
+        }
+    }
+
+    @Benchmark
+    public List<Employee> byLabel() throws SQLException {
+        rowSet.beforeFirst();
+        return new RowMapperResultSetExtractor<>(byLabel).extractData(rowSet);
+    }
+
+    @Benchmark
+    public List<Employee> employees() throws SQLException {
+        rowSet.beforeFirst();
+        return new RowMapperResultSetExtractor<>(EmployeeRowMapper.employees(departments)).extractData(rowSet);
+    }
+
+    @Benchmark
+    public List<EmployeeRecord> records() throws SQLException {
+        rowSet.beforeFirst();
+        return new RowMapperResultSetExtractor<>(EmployeeRowMapper.records(departments)).extractData(rowSet);
+    }
+}
@@ -0,0 +1,85 @@
+package com.saeed.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.benchmarks.EmployeeFixtures;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of {@link EmployeeSuggestIndex} loaded with {@code size} employees, for a prefix matching a tenth of them
+ * ({@code j}), one matching a few hundred ({@code john.d}), one matching a single employee and one matching none.
+ * <p>
+ * The memory footprint is printed while the benchmark is set up: the bytes of the compact segment, and the heap the
+ * whole index retains as measured around its load, each also per employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EmployeeSuggestBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"j", "john.d", "john.doe1000@", "xyz"})
+    private String prefix;
+
+    private EmployeeSuggestIndex suggestIndex;
+
+    @Setup
+    public void setUp() {
+        EmployeeRepository database = inMemoryRepository(EmployeeFixtures.employees(size));
+
+        long before = usedHeap();
+        suggestIndex = new EmployeeSuggestIndex(database, null, new ObjectMapper());
+        suggestIndex.receive(EmployeeChangeEvent.reset(0));
+        long retained = usedHeap() - before;
+
+        long segmentBytes = suggestIndex.segmentSizeInBytes();
+        System.out.printf("%nSuggest index of %,d employees: segment %,d bytes (%d per employee), retained about %,d bytes (%d per employee)%n",
+                suggestIndex.size(), segmentBytes, segmentBytes / size, retained, retained / size);
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestion> suggest() {
+        return suggestIndex.suggest(prefix, EmployeeService.DEFAULT_SUGGESTIONS);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Answers the pages the index loads; any other call is a bug in the benchmark
+    private static EmployeeRepository inMemoryRepository(List<Employee> employees) {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[] {EmployeeRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findPage" -> page(employees, (Long) args[0], (Integer) args[2], (EmployeeSort) args[3]);
+                    case "toString" -> "in-memory employees";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<Employee> page(List<Employee> employees, Long afterId, int limit, EmployeeSort sort) {
+        if (sort != EmployeeSort.ID) {
+            throw new UnsupportedOperationException("sort " + sort);
+        }
+        int from = afterId == null ? 0 : afterId.intValue();
+        return employees.subList(Math.min(from, employees.size()), Math.min(from + limit, employees.size())).stream()
+                .map(Employee::new)
+                .toList();
+    }
+}
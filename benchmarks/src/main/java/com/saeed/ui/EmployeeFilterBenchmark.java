@@ -0,0 +1,53 @@
+package com.saeed.ui;
+
+import com.saeed.benchmarks.EmployeeFixtures;
+import com.saeed.model.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory filter {@code EmployeeListView.updateList} used to run over every employee on each keystroke.
+ * <p>
+ * The view now hands the filter to the trigram-indexed SQL search, so this keeps the former implementation as a
+ * reference: it is what any proposal to filter in memory again (e.g. over the roster) has to beat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeFilterBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    // A term matching a tenth of the employees, and one matching none so that every field is scanned
+    @Param({"smith", "zzz"})
+    private String term;
+
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        employees = EmployeeFixtures.employees(size);
+    }
+
+    @Benchmark
+    public List<Employee> containsIgnoreCaseFilter() {
+        String filterValue = term.toLowerCase();
+        return employees.stream()
+                .filter(employee ->
+                        containsIgnoreCase(employee.getFirstName(), filterValue) ||
+                        containsIgnoreCase(employee.getLastName(), filterValue) ||
+                        containsIgnoreCase(employee.getEmail(), filterValue) ||
+                        containsIgnoreCase(employee.getDepartment(), filterValue))
+                .toList();
+    }
+
+    private static boolean containsIgnoreCase(String value, String searchTerm) {
+        return value != null && value.toLowerCase().contains(searchTerm);
+    }
+}
@@ -0,0 +1,53 @@
+package com.saeed.config;
+
+import com.saeed.datasource.ConnectionPoolBulkheadFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Puts a {@link ConnectionPoolBulkheadFilter} in front of the REST API when requests run on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}); on platform threads Tomcat's thread pool already bounds them.
+ * <p>
+ * Unless {@code employee.bulkhead.permits} is set, the bulkhead admits the primary pool size less
+ * {@code employee.bulkhead.headroom} requests. A permit stands for one connection, so the headroom has to cover every
+ * connection taken that no permit accounts for: the scheduled jobs (change feed relay, stats reconciliation, index
+ * and roster reloads), the Vaadin UI, and the connections a request holds beyond its first, such as the parallel
+ * readers of an export.
+ * <p>
+ * The change feed's server-sent events stream is exempt: each stream lasts until the async request times out, and
+ * streams are bounded by {@code employee.changes.max-subscribers} instead. Its connections are only used while a
+ * subscriber catches up from the outbox.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class BulkheadConfig {
+
+    private static final String CHANGES_PATH = "/api/employees/changes";
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolBulkheadFilter> connectionPoolBulkheadFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${employee.bulkhead.headroom:4}") int headroom,
+            @Value("${employee.bulkhead.permits:0}") int permits,
+            @Value("${employee.bulkhead.max-queued:100}") int maxQueued,
+            @Value("${employee.bulkhead.max-wait:500ms}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        int slots = permits > 0 ? permits : Math.max(1, poolSize - headroom);
+        FilterRegistrationBean<ConnectionPoolBulkheadFilter> registration =
+                new FilterRegistrationBean<>(new ConnectionPoolBulkheadFilter(slots, maxQueued, maxWait,
+                        Set.of(CHANGES_PATH), meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Reject before any other work is done for the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
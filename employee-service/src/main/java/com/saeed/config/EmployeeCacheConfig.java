@@ -0,0 +1,57 @@
+package com.saeed.config;
+
+import com.saeed.repository.CachingEmployeeRepository;
+import com.saeed.repository.EmployeeChangeSubscriber;
+import com.saeed.repository.EmployeeRoster;
+import com.saeed.repository.JdbcEmployeeRepository;
+import com.saeed.repository.PostgresEmployeeChangeListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Puts the {@link CachingEmployeeRepository} in front of the JDBC repository when
+ * {@code employee.cache.enabled=true}. It is the primary {@code EmployeeRepository}, so every
+ * service reads and writes through it.
+ * <p>
+ * With {@code employee.cache.listen.enabled=true} the caches follow writes made by other nodes through
+ * {@link PostgresEmployeeChangeListener}; only then can {@code employee.cache.roster.enabled=true} keep
+ * a full {@link EmployeeRoster} in memory, since a roster nobody keeps current would be stale.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.cache.enabled", havingValue = "true")
+public class EmployeeCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = {"employee.cache.listen.enabled", "employee.cache.roster.enabled"}, havingValue = "true")
+    public EmployeeRoster employeeRoster(JdbcEmployeeRepository jdbcEmployeeRepository) {
+        return new EmployeeRoster(jdbcEmployeeRepository);
+    }
+
+    @Bean
+    @Primary
+    public CachingEmployeeRepository cachingEmployeeRepository(
+            JdbcEmployeeRepository jdbcEmployeeRepository,
+            ObjectProvider<EmployeeRoster> employeeRoster,
+            @Value("${employee.cache.maximum-size:10000}") long maximumSize,
+            @Value("${employee.cache.ttl:5m}") Duration ttl,
+            @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+        return new CachingEmployeeRepository(jdbcEmployeeRepository, maximumSize, ttl, negativeTtl,
+                employeeRoster.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.cache.listen.enabled", havingValue = "true")
+    public PostgresEmployeeChangeListener employeeChangeListener(JdbcConnectionDetails connectionDetails,
+                                                                 ObjectProvider<EmployeeChangeSubscriber> subscribers) {
+        PostgresEmployeeChangeListener listener = new PostgresEmployeeChangeListener(connectionDetails);
+        subscribers.orderedStream().forEach(listener::subscribe);
+        return listener;
+    }
+}
@@ -0,0 +1,40 @@
+package com.saeed.config;
+
+import com.saeed.repository.R2dbcEmployeeRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connects the non-blocking {@code /api/v2} stack to the same database as the DataSource.
+ * <p>
+ * The R2DBC URL is derived from the JDBC connection details, so it follows Docker Compose and
+ * {@code spring.datasource.*} alike. Spring Boot's R2DBC auto-configuration is excluded and the pool is not a
+ * bean: a {@code ConnectionFactory} bean would make Spring Boot run {@code schema.sql} over R2DBC instead of
+ * JDBC and replace the JDBC transaction manager with a reactive one.
+ */
+@Configuration
+public class R2dbcConfig {
+
+    @Bean
+    public R2dbcEmployeeRepository r2dbcEmployeeRepository(
+            JdbcConnectionDetails connectionDetails,
+            @Value("${employee.r2dbc.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${employee.r2dbc.fetch-size:250}") int fetchSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(connectionDetails.getJdbcUrl().replaceFirst("^jdbc:", "r2dbc:"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, connectionDetails.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, connectionDetails.getPassword())
+                .build();
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("r2dbc")
+                .maxSize(maximumPoolSize)
+                .build());
+        return new R2dbcEmployeeRepository(connectionPool, fetchSize);
+    }
+}
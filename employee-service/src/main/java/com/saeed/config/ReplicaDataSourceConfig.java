@@ -0,0 +1,80 @@
+package com.saeed.config;
+
+import com.saeed.datasource.ReadWriteRoutingDataSource;
+import com.saeed.datasource.ReadYourWritesFilter;
+import com.saeed.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to a replica when {@code employee.datasource.replica.enabled=true}.
+ * <p>
+ * The auto-configured DataSource stays the primary and keeps all its Spring Boot configuration, including the
+ * connection details from Docker Compose; it is wrapped in a {@link LazyConnectionDataSourceProxy} over a
+ * {@link ReadWriteRoutingDataSource}. The replica pool is not a bean of its own, since a second DataSource bean
+ * would switch off DataSource auto-configuration.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Value("${employee.datasource.replica.url}") String url,
+            @Value("${employee.datasource.replica.username}") String username,
+            @Value("${employee.datasource.replica.password}") String password,
+            @Value("${employee.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${employee.datasource.replica.max-lag:1s}") Duration maxLag,
+            @Value("${employee.datasource.replica.lag-check-interval:250ms}") Duration lagCheckInterval,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        // Start even while the replica is down; reads fall back to the primary until it is reachable
+        replica.setInitializationFailTimeout(-1);
+        // Spring Boot only instruments DataSource beans; publish hikaricp.* with pool=replica like the primary's
+        meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return new ReplicaLagMonitor(replica, maxLag, lagCheckInterval);
+    }
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingDataSourcePostProcessor(ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && beanName.equals("dataSource")) {
+                    return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaLagMonitor.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${employee.datasource.replica.read-your-writes-ttl:60s}") Duration ttl) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(ttl));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
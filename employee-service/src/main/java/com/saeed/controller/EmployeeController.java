@@ -0,0 +1,410 @@
+package com.saeed.controller;
+
+import com.saeed.model.DepartmentStats;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeBatchOperation;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeExportFormat;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeImportResult;
+import com.saeed.model.EmployeePage;
+import com.saeed.model.EmployeeProjection;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.service.DepartmentStatsService;
+import com.saeed.service.EmployeeBatchService;
+import com.saeed.service.EmployeeChangeFeedService;
+import com.saeed.service.EmployeeExportService;
+import com.saeed.service.EmployeeImportService;
+import com.saeed.service.EmployeeService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final EmployeeService employeeService;
+    private final EmployeeBatchService employeeBatchService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeExportService employeeExportService;
+    private final DepartmentStatsService departmentStatsService;
+    private final EmployeeChangeFeedService employeeChangeFeedService;
+
+    @Autowired
+    public EmployeeController(EmployeeService employeeService,
+                              EmployeeBatchService employeeBatchService,
+                              EmployeeImportService employeeImportService,
+                              EmployeeExportService employeeExportService,
+                              DepartmentStatsService departmentStatsService,
+                              EmployeeChangeFeedService employeeChangeFeedService) {
+        this.employeeService = employeeService;
+        this.employeeBatchService = employeeBatchService;
+        this.employeeImportService = employeeImportService;
+        this.employeeExportService = employeeExportService;
+        this.departmentStatsService = departmentStatsService;
+        this.employeeChangeFeedService = employeeChangeFeedService;
+    }
+
+    /**
+     * List employees. Without {@code cursor} or {@code limit} the full list is returned as before;
+     * with either of them the response is a single keyset page and the cursor of the next page is sent
+     * in the {@value #NEXT_CURSOR_HEADER} and {@code Link} headers.
+     * <p>
+     * The ETag is the revision of the employees table, so a poller sending it back in {@code If-None-Match}
+     * gets 304 for the price of reading one counter, without loading or serializing any employee.
+     * <p>
+     * {@code fields}, e.g. {@code id,email}, restricts both the columns read and the properties written;
+     * an unknown field name is answered with 400.
+     */
+    @GetMapping
+    public ResponseEntity<List<?>> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String fields,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<EmployeeField> projection;
+        try {
+            projection = EmployeeField.fromParameter(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Read before the data: a write landing in between leaves the ETag older than the body, never newer
+        String eTag = "\"" + employeeService.getEmployeesRevision() + "\"";
+        if (notModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        if (cursor == null && limit == null) {
+            if (projection == null) {
+                return ResponseEntity.ok().eTag(eTag).body(employeeService.getAllEmployees());
+            }
+            return ResponseEntity.ok().eTag(eTag)
+                    .body(EmployeeProjection.of(employeeService.getAllEmployees(projection), projection));
+        }
+
+        EmployeePage page;
+        try {
+            EmployeeSort order = EmployeeSort.fromParameter(sort);
+            page = projection == null
+                    ? employeeService.getEmployeePage(cursor, limit, order)
+                    : employeeService.getEmployeePage(cursor, limit, order, projection);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+        if (page.hasNext()) {
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor())
+                    .header(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        return response.body(projection == null ? page.items() : EmployeeProjection.of(page.items(), projection));
+    }
+
+    /**
+     * Search employees by a case-insensitive substring of any text field.
+     */
+    @GetMapping("/search")
+    public List<Employee> searchEmployees(@RequestParam(name = "q", required = false) String query,
+                                          @RequestParam(required = false) Integer limit) {
+        return employeeService.searchEmployees(query, limit);
+    }
+
+    /**
+     * Suggest employees whose first name, last name or email starts with {@code prefix}, ignoring case, for
+     * typeahead fields. Answered from memory on every node; 503 while the suggest index is still loading.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EmployeeSuggestion>> suggestEmployees(@RequestParam(required = false) String prefix,
+                                                                     @RequestParam(required = false) Integer limit) {
+        return employeeService.suggestEmployees(prefix, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1").build());
+    }
+
+    /**
+     * Headcount per department and in total, read from counters kept up to date by the database, so the cost
+     * grows with the number of departments rather than employees.
+     */
+    @GetMapping("/stats/departments")
+    public DepartmentStats getDepartmentStats() {
+        return departmentStatsService.getDepartmentStats();
+    }
+
+    /**
+     * Stream created, updated and deleted employees as server-sent events, so that a client can follow the
+     * employees instead of polling the list. Each event carries the employee as JSON ({@code {"id":...}} for
+     * {@code deleted}) and an id; a client reconnecting with {@code Last-Event-ID} receives every event after it.
+     * A new client, or one whose last event is no longer kept, first gets a {@code reset} event: it should load
+     * the employees again and apply the events that follow.
+     * <p>
+     * A client too slow to keep up is disconnected and should reconnect with its last event id; so should one
+     * whose stream ends after {@code spring.mvc.async.request-timeout}.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        EmployeeChangeFeedService.Subscription subscription;
+        try {
+            subscription = employeeChangeFeedService.subscribe(eventIdOf(lastEventId), new EmployeeChangeFeedService.Sink() {
+                @Override
+                public void send(EmployeeChangeEvent event) throws IOException {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(event.type().getEventName())
+                            // Browsers do not dispatch events without data
+                            .data(event.employee() == null ? "{}" : event.employee()));
+                }
+
+                @Override
+                public void heartbeat() throws IOException {
+                    emitter.send(SseEmitter.event().comment(""));
+                }
+
+                @Override
+                public void close() {
+                    emitter.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        // Free the subscriber's thread and its place as soon as the stream ends, not at the next heartbeat
+        emitter.onCompletion(subscription::end);
+        emitter.onTimeout(subscription::end);
+        emitter.onError(error -> subscription.end());
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * @return the event id a client sent back, or null if it sent none or one not issued by this API
+     */
+    private static Long eventIdOf(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Export all employees as NDJSON or CSV, optionally gzip-compressed.
+     * Rows are streamed from database cursors straight to the response, so memory use does not grow with the table.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip) {
+        EmployeeExportFormat exportFormat;
+        try {
+            exportFormat = EmployeeExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                employeeExportService.export(exportFormat, gzip, out);
+            } catch (SQLException e) {
+                throw new UncategorizedSQLException("Employee export", null, e);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + exportFormat.getFileExtension())
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Get one employee. The ETag is the employee's version; a matching {@code If-None-Match} is answered
+     * with 304 and no body.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getEmployeeById(@PathVariable Long id,
+                                             @RequestParam(required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<EmployeeField> projection;
+        try {
+            projection = EmployeeField.fromParameter(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Employee> employee = employeeService.getEmployeeById(id);
+        if (employee.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = eTagOf(employee.get());
+        if (notModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        if (projection == null) {
+            return ResponseEntity.ok().eTag(eTag).body(employee.get());
+        }
+        // A single row is served from the cache when possible, so only the response is narrowed
+        return ResponseEntity.ok().eTag(eTag).body(new EmployeeProjection(employee.get(), projection));
+    }
+
+    /**
+     * Create an employee. An email another employee already has is answered with 409.
+     */
+    @PostMapping
+    public ResponseEntity<?> createEmployee(@RequestBody Employee employee) {
+        try {
+            Employee createdEmployee = employeeService.createEmployee(employee);
+            return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
+        } catch (DuplicateKeyException e) {
+            return emailConflict(employee);
+        }
+    }
+
+    /**
+     * Execute a list of create/update/delete operations in JDBC batches.
+     * The response always lists one result per operation; failed items do not fail the whole request.
+     * A request with more than {@code employee.batch.max-operations} operations is answered with 413.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> executeBatch(@RequestBody List<EmployeeBatchOperation> operations) {
+        try {
+            return ResponseEntity.ok(employeeBatchService.execute(operations));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage())).build();
+        }
+    }
+
+    /**
+     * Bulk import employees from a CSV request body using PostgreSQL COPY.
+     * The body is streamed to the database as it arrives; rows with duplicate emails are skipped and reported.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importEmployees(@RequestParam(defaultValue = "true") boolean header,
+                                             HttpServletRequest request) throws SQLException {
+        try {
+            EmployeeImportResult result = employeeImportService.importCsv(request.getInputStream(), header);
+            return ResponseEntity.ok(result);
+        } catch (SQLException e) {
+            // Class 22 (data exception) and 23 (constraint violation) mean the CSV itself is invalid
+            String sqlState = e.getSQLState();
+            if (sqlState != null && (sqlState.startsWith("22") || sqlState.startsWith("23"))) {
+                return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage())).build();
+            }
+            throw e;
+        } catch (IOException e) {
+            return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage())).build();
+        }
+    }
+
+    /**
+     * Update an employee. The expected version comes from {@code If-Match} (the ETag returned by GET or a
+     * previous PUT), or else from the version in the body; a stale version is answered with 412, an email another
+     * employee already has with 409.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null) {
+            try {
+                employee.setVersion(versionOf(ifMatch));
+            } catch (IllegalArgumentException e) {
+                // Not a version of ours, so it cannot match
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+        try {
+            Employee updatedEmployee = employeeService.updateEmployee(id, employee);
+            return ResponseEntity.ok().eTag(eTagOf(updatedEmployee)).body(updatedEmployee);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DuplicateKeyException e) {
+            return emailConflict(employee);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static ResponseEntity<?> emailConflict(Employee employee) {
+        return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "Email already in use: " + employee.getEmail())).build();
+    }
+
+    private static String eTagOf(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    /**
+     * @return true if {@code If-None-Match} names the current ETag, compared weakly as RFC 9110 requires
+     */
+    private static boolean notModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(eTag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    /**
+     * Parse an {@code If-Match} value.
+     * @return the version it names, or null for {@code *}, which matches any version
+     * @throws IllegalArgumentException if it is not a single strong ETag issued by this controller
+     */
+    private static Long versionOf(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        // Weak tags never match under If-Match
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Unsupported If-Match: " + ifMatch);
+        }
+        return Long.parseLong(tag.substring(1, tag.length() - 1));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
+        boolean deleted = employeeService.deleteEmployee(id);
+        if (deleted) {
+            return ResponseEntity.noContent().build();
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.saeed.controller;
+
+import com.saeed.model.Employee;
+import com.saeed.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of the {@link EmployeeController} CRUD endpoints, backed by R2DBC.
+ * <p>
+ * The request thread is released as soon as the publisher is returned; the list is written as NDJSON one
+ * employee at a time, requesting the next one from the database only once the previous one was written.
+ */
+@RestController
+@RequestMapping("/api/v2/employees")
+public class EmployeeV2Controller {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @Autowired
+    public EmployeeV2Controller(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    /**
+     * Without {@code Accept: application/x-ndjson} the list is collected into a JSON array, as in v1.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<Employee>> getAllEmployees() {
+        return employeeService.getAllEmployees().collectList();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable Long id) {
+        return employeeService.getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody Employee employee) {
+        return employeeService.createEmployee(employee)
+                .map(createdEmployee -> new ResponseEntity<>(createdEmployee, HttpStatus.CREATED));
+    }
+
+    /**
+     * Update an employee; a version in the body makes the update conditional and a stale one is answered with 412.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+        return employeeService.updateEmployee(id, employee)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable Long id) {
+        return employeeService.deleteEmployee(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+}
@@ -0,0 +1,162 @@
+package com.saeed.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how many requests run at once to what the connection pool can serve.
+ * <p>
+ * On virtual threads Tomcat no longer caps concurrency, so without this every request beyond the pool size
+ * would park inside Hikari until its connection timeout. Here at most {@code permits} requests run, at most
+ * {@code maxQueued} more wait up to {@code maxWait} for a slot, and everything else is answered with
+ * 503 and {@code Retry-After} straight away. Time spent waiting for a slot is recorded as
+ * {@value #METRIC_PREFIX}.wait; rejections as {@value #METRIC_PREFIX}.rejected.
+ * <p>
+ * A request that goes asynchronous, such as a streamed export, keeps its slot until the async request completes,
+ * since its connections are used after the request thread returns. Paths given as exempt bypass the bulkhead: they
+ * are meant for long-lived streams, which would otherwise hold a slot for their whole life and must be bounded by
+ * other means.
+ */
+public class ConnectionPoolBulkheadFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_PREFIX = "employee.bulkhead";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Set<String> exemptPaths;
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public ConnectionPoolBulkheadFilter(int permits, int maxQueued, Duration maxWait, MeterRegistry registry) {
+        this(permits, maxQueued, maxWait, Set.of(), registry);
+    }
+
+    /**
+     * @param exemptPaths paths, without the context path, of requests that bypass the bulkhead
+     */
+    public ConnectionPoolBulkheadFilter(int permits, int maxQueued, Duration maxWait, Collection<String> exemptPaths,
+                                        MeterRegistry registry) {
+        this.permits = new Semaphore(permits, true);
+        this.exemptPaths = Set.copyOf(exemptPaths);
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time requests waited for a bulkhead slot")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Requests rejected with 503 because the bulkhead was full")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".active", this, bulkhead -> permits - bulkhead.permits.availablePermits())
+                .description("Requests holding a bulkhead slot")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".queued", queued, AtomicInteger::get)
+                .description("Requests waiting for a bulkhead slot")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return exemptPaths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejectedCounter.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+        boolean heldUntilAsyncCompletes = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                heldUntilAsyncCompletes = true;
+            }
+        } finally {
+            if (!heldUntilAsyncCompletes) {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Releases the slot of an async request once it completes, however it ends
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Completed next
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Completed next
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing starts again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.saeed.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * The lookup happens when a connection is actually needed, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: only then is the read-only flag
+ * of a {@code @Transactional(readOnly = true)} transaction known by the time the target is chosen. A read-only
+ * transaction still goes to the primary unless it runs inside a request ({@link RoutingContext}), the replica is
+ * healthy, and the replica has replayed the client's last write. After a read-write transaction of a request
+ * commits, the primary's WAL position is recorded as that client's new minimum. It is read on the transaction's own
+ * connection, which is only released after the commit callbacks, so a write never needs a second connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final String SQL_CURRENT_LSN = "SELECT pg_current_wal_lsn() - '0/0'";
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor monitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, monitor.getDataSource()));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrite(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrite(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (monitor.isHealthy() && RoutingContext.replicaAllowed(monitor.getReplayedLsn())) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    private Connection trackWrite(Connection connection) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !RoutingContext.isOpen()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return connection;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Read after the commit, so that the position includes the commit record
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(SQL_CURRENT_LSN)) {
+                    resultSet.next();
+                    RoutingContext.recordWrite(resultSet.getLong(1));
+                } catch (SQLException e) {
+                    log.warn("Could not read the primary WAL position; this client may not see its write on the replica", e);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+            }
+        });
+        return connection;
+    }
+}
@@ -0,0 +1,67 @@
+package com.saeed.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Opens a {@link RoutingContext} for every request, which is what allows its reads to go to the replica.
+ * <p>
+ * A client that wrote receives the primary's WAL position after the commit in the {@value #COOKIE_NAME} cookie.
+ * While it sends the cookie back, its reads go to the primary until the replica has replayed that far, so it
+ * sees its own writes on whichever node serves it. The cookie expires after {@code ttl}, by which time any
+ * replica within the lag guard has caught up.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "EMPLOYEE_WRITE_LSN";
+
+    private final int ttlSeconds;
+
+    public ReadYourWritesFilter(Duration ttl) {
+        this.ttlSeconds = (int) ttl.toSeconds();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RoutingContext.open(requiredLsn(request), lsn -> {
+            // Writes normally commit before the body is written; a later one is still covered by the lag guard
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(lsn));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge(ttlSeconds);
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingContext.close();
+        }
+    }
+
+    private static Long requiredLsn(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.valueOf(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.saeed.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica for how far it has replayed the primary's WAL and how far it lags behind.
+ * <p>
+ * The replica counts as usable only while the last poll succeeded, its WAL receiver is streaming and the
+ * replay lag is within {@code maxLag}. A server that is not in recovery is taken to be the primary itself,
+ * which is handy for local runs without a real replica.
+ */
+public class ReplicaLagMonitor implements SmartLifecycle, DisposableBean, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Replay position in bytes, and lag in milliseconds; no lag when everything received has been replayed
+    private static final String SQL_REPLICA_STATUS = "SELECT "
+            + "CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END - '0/0', "
+            + "CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "     WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL "
+            + "     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "     ELSE EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource replica;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLagMillis;
+    private final long intervalMillis;
+
+    private volatile boolean healthy;
+    private volatile long replayedLsn;
+    private volatile long lagMillis = -1;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration interval) {
+        this.replica = replica;
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        this.intervalMillis = interval.toMillis();
+    }
+
+    /**
+     * @return the replica's connection pool
+     */
+    public DataSource getDataSource() {
+        return replica;
+    }
+
+    /**
+     * @return true if the replica answered the last poll and lags by at most {@code maxLag}
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return WAL position, in bytes, the replica had replayed at the last poll
+     */
+    public long getReplayedLsn() {
+        return replayedLsn;
+    }
+
+    /**
+     * @return replay lag at the last poll in milliseconds, or -1 if unknown
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Poll the replica once
+     */
+    public void check() {
+        boolean wasHealthy = healthy;
+        try {
+            jdbcTemplate.query(SQL_REPLICA_STATUS, rs -> {
+                replayedLsn = rs.getLong(1);
+                double lag = rs.getDouble(2);
+                lagMillis = rs.wasNull() ? -1 : (long) lag;
+            });
+            healthy = lagMillis >= 0 && lagMillis <= maxLagMillis;
+            if (wasHealthy != healthy) {
+                log.info(healthy ? "Replica is in sync (lag {} ms), reading from it" : "Replica lags by {} ms, reading from the primary",
+                        lagMillis);
+            }
+        } catch (DataAccessException e) {
+            healthy = false;
+            lagMillis = -1;
+            if (wasHealthy) {
+                log.warn("Replica is unreachable, reading from the primary", e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.replica.lag", this, monitor -> monitor.lagMillis < 0 ? Double.NaN : monitor.lagMillis / 1000.0)
+                .description("Replay lag of the replica at the last poll; NaN while unknown")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("employee.replica.healthy", this, monitor -> monitor.healthy ? 1 : 0)
+                .description("1 while read-only transactions may use the replica")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        healthy = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // The pool is owned here rather than being a bean, so that it does not compete with the primary DataSource
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
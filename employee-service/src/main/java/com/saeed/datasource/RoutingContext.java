@@ -0,0 +1,86 @@
+package com.saeed.datasource;
+
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing state for {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * Only threads serving a request, opened by {@link ReadYourWritesFilter}, may read from the replica; background
+ * work such as cache loading keeps reading from the primary, because whatever it reads is kept beyond the
+ * replica's lag. The state also carries the WAL position the client has to see, and reports new writes back
+ * to the filter.
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private static final class State {
+        private Long requiredLsn;
+        private final LongConsumer onWrite;
+        private int primaryOnly;
+
+        private State(Long requiredLsn, LongConsumer onWrite) {
+            this.requiredLsn = requiredLsn;
+            this.onWrite = onWrite;
+        }
+    }
+
+    private RoutingContext() {
+    }
+
+    /**
+     * Run an action whose reads must not come from the replica, e.g. because their result is cached
+     * @param action the action
+     * @return the action's result
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        State state = STATE.get();
+        if (state == null) {
+            return action.get();
+        }
+        state.primaryOnly++;
+        try {
+            return action.get();
+        } finally {
+            state.primaryOnly--;
+        }
+    }
+
+    static void open(Long requiredLsn, LongConsumer onWrite) {
+        STATE.set(new State(requiredLsn, onWrite));
+    }
+
+    static void close() {
+        STATE.remove();
+    }
+
+    static boolean isOpen() {
+        return STATE.get() != null;
+    }
+
+    /**
+     * @return true if this thread may read from a replica that has replayed up to {@code replayedLsn}
+     */
+    static boolean replicaAllowed(long replayedLsn) {
+        State state = STATE.get();
+        return state != null
+                && state.primaryOnly == 0
+                && (state.requiredLsn == null || replayedLsn >= state.requiredLsn);
+    }
+
+    /**
+     * Record a write committed on the primary; later reads of this client wait for the replica to reach it
+     * @param lsn primary WAL position after the commit
+     */
+    static void recordWrite(long lsn) {
+        State state = STATE.get();
+        if (state == null) {
+            return;
+        }
+        if (state.requiredLsn == null || lsn > state.requiredLsn) {
+            state.requiredLsn = lsn;
+        }
+        state.onWrite.accept(state.requiredLsn);
+    }
+}
@@ -0,0 +1,29 @@
+package com.saeed.model;
+
+import java.util.List;
+
+/**
+ * Headcount per department.
+ * @param departments departments with at least one employee, by name
+ * @param total number of employees in all departments
+ */
+public record DepartmentStats(List<Headcount> departments, long total) {
+
+    /**
+     * @param department department name
+     * @param employees number of employees in the department
+     */
+    public record Headcount(String department, long employees) {
+    }
+
+    /**
+     * @return stats with the total summed up from the departments
+     */
+    public static DepartmentStats of(List<Headcount> departments) {
+        long total = 0;
+        for (Headcount headcount : departments) {
+            total += headcount.employees();
+        }
+        return new DepartmentStats(departments, total);
+    }
+}
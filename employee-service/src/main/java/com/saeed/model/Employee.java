@@ -6,6 +6,7 @@ public class Employee {
     private String lastName;
     private String email;
     private String department;
+    private Long version;
 
     // Default constructor
     public Employee() {
@@ -20,6 +21,16 @@ public class Employee {
         this.department = department;
     }
 
+    public Employee(Long id, String firstName, String lastName, String email, String department, Long version) {
+        this(id, firstName, lastName, email, department);
+        this.version = version;
+    }
+
+    // Copy constructor
+    public Employee(Employee other) {
+        this(other.id, other.firstName, other.lastName, other.email, other.department, other.version);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -61,6 +72,14 @@ public class Employee {
         this.department = department;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
@@ -69,6 +88,7 @@ public class Employee {
                 ", lastName='" + lastName + '\'' +
                 ", email='" + email + '\'' +
                 ", department='" + department + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,14 @@
+package com.saeed.model;
+
+/**
+ * A single create, update or delete inside a batch request.
+ * @param op the kind of operation
+ * @param id target employee id, required for {@code UPDATE} and {@code DELETE}
+ * @param employee employee data, required for {@code CREATE} and {@code UPDATE}
+ */
+public record EmployeeBatchOperation(Op op, Long id, Employee employee) {
+
+    public enum Op {
+        CREATE, UPDATE, DELETE
+    }
+}
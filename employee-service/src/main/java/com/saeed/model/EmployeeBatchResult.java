@@ -0,0 +1,20 @@
+package com.saeed.model;
+
+/**
+ * Outcome of one operation of a batch request.
+ * @param index position of the operation in the request
+ * @param op the kind of operation
+ * @param id id of the affected employee, if known
+ * @param status HTTP status the equivalent single-item call would have returned
+ * @param error failure reason, or null on success
+ */
+public record EmployeeBatchResult(int index, EmployeeBatchOperation.Op op, Long id, int status, String error) {
+
+    public static EmployeeBatchResult success(int index, EmployeeBatchOperation.Op op, Long id, int status) {
+        return new EmployeeBatchResult(index, op, id, status, null);
+    }
+
+    public static EmployeeBatchResult failure(int index, EmployeeBatchOperation.Op op, Long id, int status, String error) {
+        return new EmployeeBatchResult(index, op, id, status, error);
+    }
+}
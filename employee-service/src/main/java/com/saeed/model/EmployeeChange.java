@@ -0,0 +1,43 @@
+package com.saeed.model;
+
+import java.util.List;
+
+/**
+ * A committed change to the employees table, as announced by the database to every node.
+ * @param op the kind of change
+ * @param ids ids of the changed rows, empty for {@code RESET}
+ */
+public record EmployeeChange(Op op, List<Long> ids) {
+
+    /**
+     * {@code RESET} means any row may have changed, e.g. after a bulk statement or when
+     * notifications may have been missed while the node was not listening.
+     */
+    public enum Op {
+        INSERT, UPDATE, DELETE, RESET
+    }
+
+    public static EmployeeChange reset() {
+        return new EmployeeChange(Op.RESET, List.of());
+    }
+
+    /**
+     * Parse a notification payload of the form {@code OP:id,id,...} or {@code RESET}.
+     * @param payload payload sent by the {@code notify_employee_changes} trigger
+     * @return the change
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static EmployeeChange parse(String payload) {
+        int colon = payload.indexOf(':');
+        Op op = Op.valueOf(colon < 0 ? payload : payload.substring(0, colon));
+        if (op == Op.RESET || colon < 0) {
+            return reset();
+        }
+        String[] parts = payload.substring(colon + 1).split(",");
+        Long[] ids = new Long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ids[i] = Long.valueOf(parts[i]);
+        }
+        return new EmployeeChange(op, List.of(ids));
+    }
+}
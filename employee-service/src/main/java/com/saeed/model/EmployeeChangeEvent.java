@@ -0,0 +1,51 @@
+package com.saeed.model;
+
+import java.util.Locale;
+
+/**
+ * One event of the employee change feed, as recorded in the outbox by the triggers in {@code schema.sql}.
+ * @param id position in the feed; ids grow by one per event, in commit order
+ * @param type kind of change
+ * @param employeeId id of the changed employee, null for {@code RESET}
+ * @param employee the employee as written, as JSON; only its id for deletes, null for {@code RESET}
+ */
+public record EmployeeChangeEvent(long id, Type type, Long employeeId, String employee) {
+
+    /**
+     * {@code RESET} means any employee may have changed, e.g. after a bulk statement, or that the feed cannot
+     * resume where the client left off; the client should load all employees again and apply later events on top.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED, RESET;
+
+        /**
+         * @return name of the server-sent event
+         */
+        public String getEventName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * @param op operation recorded by the {@code record_employee_changes} trigger
+         * @return the matching type
+         * @throws IllegalArgumentException if the operation is unknown
+         */
+        public static Type fromOp(String op) {
+            return switch (op) {
+                case "INSERT" -> CREATED;
+                case "UPDATE" -> UPDATED;
+                case "DELETE" -> DELETED;
+                case "RESET" -> RESET;
+                default -> throw new IllegalArgumentException("Unknown outbox operation: " + op);
+            };
+        }
+    }
+
+    /**
+     * @param id id of the last event the client can skip
+     * @return an event telling the client to load all employees again
+     */
+    public static EmployeeChangeEvent reset(long id) {
+        return new EmployeeChangeEvent(id, Type.RESET, null, null);
+    }
+}
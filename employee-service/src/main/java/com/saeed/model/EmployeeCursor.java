@@ -0,0 +1,48 @@
+package com.saeed.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page, handed to clients as an opaque token.
+ * The token carries the sort order it was issued for, so it cannot be replayed against another order.
+ */
+public record EmployeeCursor(EmployeeSort sort, long afterId, String afterKey) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Build the cursor pointing after the given employee
+     * @param sort sort order of the page
+     * @param employee last employee of the page
+     * @return cursor for the next page
+     */
+    public static EmployeeCursor after(EmployeeSort sort, Employee employee) {
+        return new EmployeeCursor(sort, employee.getId(), sort.keyOf(employee));
+    }
+
+    /**
+     * @return the opaque, URL-safe representation of this cursor
+     */
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + afterId + SEPARATOR + (afterKey == null ? "" : afterKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a token previously produced by {@link #encode()}
+     * @param token opaque cursor token
+     * @return decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static EmployeeCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+        EmployeeSort sort = EmployeeSort.valueOf(parts[0]);
+        long afterId = Long.parseLong(parts[1]);
+        return new EmployeeCursor(sort, afterId, sort == EmployeeSort.ID ? null : parts[2]);
+    }
+}
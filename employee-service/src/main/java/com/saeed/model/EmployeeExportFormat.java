@@ -0,0 +1,35 @@
+package com.saeed.model;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the employee export.
+ */
+public enum EmployeeExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    EmployeeExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolve a format from a request parameter, case-insensitively
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static EmployeeExportFormat fromParameter(String value) {
+        return EmployeeExportFormat.valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
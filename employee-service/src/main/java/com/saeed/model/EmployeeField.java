@@ -0,0 +1,99 @@
+package com.saeed.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Fields a client can select with {@code ?fields=}. Each maps to exactly one column, so a projection
+ * turns into a SELECT list built from these constants only, never from request text.
+ */
+public enum EmployeeField {
+    ID("id", "id", Employee::getId),
+    FIRST_NAME("firstName", "first_name", Employee::getFirstName),
+    LAST_NAME("lastName", "last_name", Employee::getLastName),
+    EMAIL("email", "email", Employee::getEmail),
+    DEPARTMENT("department", "department_id", Employee::getDepartment),
+    VERSION("version", "version", Employee::getVersion);
+
+    private static final Set<EmployeeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+    private final String property;
+    private final String column;
+    private final Function<Employee, Object> accessor;
+
+    EmployeeField(String property, String column, Function<Employee, Object> accessor) {
+        this.property = property;
+        this.column = column;
+        this.accessor = accessor;
+    }
+
+    /**
+     * @return the JSON property name
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @return the database column
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Read this field of an employee
+     * @param employee employee to read
+     * @return the field value
+     */
+    public Object valueOf(Employee employee) {
+        return accessor.apply(employee);
+    }
+
+    /**
+     * @return every field, in declaration order
+     */
+    public static Set<EmployeeField> all() {
+        return ALL;
+    }
+
+    /**
+     * @param sort a sort order
+     * @return the field holding the sort key, {@link #ID} when sorting by id
+     */
+    public static EmployeeField of(EmployeeSort sort) {
+        for (EmployeeField field : values()) {
+            if (field.column.equals(sort.getColumn())) {
+                return field;
+            }
+        }
+        throw new IllegalStateException("No field for sort order " + sort);
+    }
+
+    /**
+     * Resolve a comma-separated field list such as {@code id,email} or {@code firstName,last_name}
+     * @param value parameter value
+     * @return the selected fields, or null if the parameter is absent or blank and every field is wanted
+     * @throws IllegalArgumentException if a name does not denote a field
+     */
+    public static Set<EmployeeField> fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Set<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            fields.add(EmployeeField.valueOf(trimmed.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT)));
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected: " + value);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,29 @@
+package com.saeed.model;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk CSV import.
+ * @param rowsRead data rows read from the CSV
+ * @param rowsInserted rows inserted into the employees table
+ * @param conflicts number of rows skipped because of a duplicate email
+ * @param conflictSample the first conflicting rows, in file order
+ * @param durationMillis wall-clock time of the import
+ * @param rowsPerSecond rows read per second
+ */
+public record EmployeeImportResult(long rowsRead,
+                                   long rowsInserted,
+                                   long conflicts,
+                                   List<Conflict> conflictSample,
+                                   long durationMillis,
+                                   double rowsPerSecond) {
+
+    /**
+     * A CSV row that was not imported.
+     * @param row 1-based position of the data row in the file (not counting the header)
+     * @param email the conflicting email
+     * @param reason {@code DUPLICATE_IN_FILE} or {@code ALREADY_EXISTS}
+     */
+    public record Conflict(long row, String email, String reason) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.saeed.model;
+
+import java.util.List;
+
+/**
+ * One page of employees in keyset order.
+ * @param items employees on this page
+ * @param nextCursor token for the following page, or null if this is the last page
+ */
+public record EmployeePage(List<Employee> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.saeed.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An employee serialized with only the selected fields, for {@code ?fields=} responses.
+ * Fields that were not selected are left out of the JSON entirely rather than written as null.
+ */
+@JsonSerialize(using = EmployeeProjection.Serializer.class)
+public record EmployeeProjection(Employee employee, Set<EmployeeField> fields) {
+
+    /**
+     * @return one projection per employee, sharing the field set
+     */
+    public static List<EmployeeProjection> of(List<Employee> employees, Set<EmployeeField> fields) {
+        List<EmployeeProjection> projections = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            projections.add(new EmployeeProjection(employee, fields));
+        }
+        return projections;
+    }
+
+    static class Serializer extends StdSerializer<EmployeeProjection> {
+
+        Serializer() {
+            super(EmployeeProjection.class);
+        }
+
+        @Override
+        public void serialize(EmployeeProjection projection, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(projection);
+            for (EmployeeField field : projection.fields()) {
+                Object value = field.valueOf(projection.employee());
+                if (value instanceof Long number) {
+                    generator.writeNumberField(field.getProperty(), number);
+                } else if (value == null) {
+                    generator.writeNullField(field.getProperty());
+                } else {
+                    generator.writeStringField(field.getProperty(), value.toString());
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.saeed.model;
+
+/**
+ * Immutable employee, for instances that are kept and shared, such as cache entries.
+ * Unlike {@link Employee} it can be handed to any number of threads and callers without copying.
+ */
+public record EmployeeRecord(Long id, String firstName, String lastName, String email, String department, Long version) {
+
+    /**
+     * @return a record of the employee's current state
+     */
+    public static EmployeeRecord from(Employee employee) {
+        return new EmployeeRecord(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartment(), employee.getVersion());
+    }
+
+    /**
+     * @return a new mutable employee with this state, owned by the caller
+     */
+    public Employee toEmployee() {
+        return new Employee(id, firstName, lastName, email, department, version);
+    }
+}
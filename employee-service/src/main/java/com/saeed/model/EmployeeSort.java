@@ -0,0 +1,55 @@
+package com.saeed.model;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Sort orders supported by keyset pagination.
+ * Every order falls back to the id column so that rows with equal sort keys keep a stable position.
+ */
+public enum EmployeeSort {
+    ID("id", null),
+    FIRST_NAME("first_name", Employee::getFirstName),
+    LAST_NAME("last_name", Employee::getLastName),
+    EMAIL("email", Employee::getEmail),
+    DEPARTMENT("department_id", Employee::getDepartment);
+
+    private final String column;
+    private final Function<Employee, String> keyExtractor;
+
+    EmployeeSort(String column, Function<Employee, String> keyExtractor) {
+        this.column = column;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * @return the database column holding the sort key; for {@link #DEPARTMENT} that is an id standing for the name
+     * the rows are ordered by
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Extract the sort key of an employee
+     * @param employee employee to read the key from
+     * @return the sort key, or null when sorting by id only
+     */
+    public String keyOf(Employee employee) {
+        return keyExtractor == null ? null : keyExtractor.apply(employee);
+    }
+
+    /**
+     * Resolve a sort order from a request parameter such as {@code lastName} or {@code last_name}
+     * @param value parameter value
+     * @return matching sort order
+     * @throws IllegalArgumentException if the value does not name a supported sort order
+     */
+    public static EmployeeSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        String normalized = value.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+        return EmployeeSort.valueOf(normalized);
+    }
+}
@@ -0,0 +1,18 @@
+package com.saeed.model;
+
+/**
+ * An employee offered for a typed prefix, with just what a people picker shows.
+ * @param id employee id
+ * @param firstName first name
+ * @param lastName last name
+ * @param email email address
+ */
+public record EmployeeSuggestion(long id, String firstName, String lastName, String email) {
+
+    /**
+     * @return the suggestion for an employee's current state
+     */
+    public static EmployeeSuggestion from(Employee employee) {
+        return new EmployeeSuggestion(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+}
@@ -0,0 +1,321 @@
+package com.saeed.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.saeed.datasource.RoutingContext;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChange;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeRecord;
+import com.saeed.model.EmployeeSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-through cache for {@link #findById(Long)} in front of another repository.
+ * <p>
+ * Entries are bounded by size and expire after a TTL; misses are cached too, with their own, shorter TTL.
+ * Every write through this repository invalidates the affected ids immediately and again after the
+ * surrounding transaction completes, so a reader racing with the write cannot re-cache the old row.
+ * Entries are immutable {@link EmployeeRecord}s; callers always receive their own mutable {@link Employee}.
+ * <p>
+ * Writes made by other nodes arrive as {@link EmployeeChange}s and evict the same way. With an
+ * {@link EmployeeRoster}, {@link #findAll()} and {@link #findById(Long)} are answered from the roster
+ * whenever it is loaded; writes through this repository update the roster once they commit.
+ * <p>
+ * As a {@link MeterBinder} bean it publishes the cache statistics under {@code cache.*} with {@code cache=employee}.
+ */
+public class CachingEmployeeRepository implements EmployeeRepository, EmployeeChangeSubscriber, MeterBinder {
+
+    private final EmployeeRepository delegate;
+    private final Cache<Long, Optional<EmployeeRecord>> cache;
+    private final EmployeeRoster roster;
+
+    public CachingEmployeeRepository(EmployeeRepository delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this(delegate, maximumSize, ttl, negativeTtl, null);
+    }
+
+    /**
+     * @param roster roster serving full reads, or null to cache lookups by id only
+     */
+    public CachingEmployeeRepository(EmployeeRepository delegate, long maximumSize, Duration ttl, Duration negativeTtl,
+                                     EmployeeRoster roster) {
+        this.delegate = delegate;
+        this.roster = roster;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PositiveNegativeExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return hit, miss, load and eviction counters since startup
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return approximate number of cached entries, including cached misses
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Run pending maintenance such as size-based eviction
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /**
+     * Drop a single id from the cache
+     * @param id employee id
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drop every cached entry
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "employee");
+    }
+
+    @Override
+    public void onChange(EmployeeChange change) {
+        if (change.op() == EmployeeChange.Op.RESET) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(change.ids());
+        }
+    }
+
+    @Override
+    public void onDisconnect() {
+        // Changes may be missed from now on; whatever is cached now can only be as stale as the TTL
+        cache.invalidateAll();
+    }
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        if (roster != null && roster.isLoaded()) {
+            return roster.findById(id);
+        }
+        // Load from the primary: a row read from a lagging replica would outlive the lag in the cache
+        return cache.get(id, key -> RoutingContext.onPrimary(() -> delegate.findById(key)).map(EmployeeRecord::from))
+                .map(EmployeeRecord::toEmployee);
+    }
+
+    @Override
+    public List<Employee> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        if (roster != null && roster.isLoaded()) {
+            return roster.findAll();
+        }
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Employee> findAll(Set<EmployeeField> fields) {
+        // The roster holds full rows anyway; a projection only pays off when it spares the database work
+        if (roster != null && roster.isLoaded()) {
+            return roster.findAll();
+        }
+        return delegate.findAll(fields);
+    }
+
+    @Override
+    public List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort) {
+        return delegate.findPage(afterId, afterKey, limit, sort);
+    }
+
+    @Override
+    public List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort, Set<EmployeeField> fields) {
+        return delegate.findPage(afterId, afterKey, limit, sort, fields);
+    }
+
+    @Override
+    public List<Employee> search(String term, int limit) {
+        return delegate.search(term, limit);
+    }
+
+    @Override
+    public List<Employee> findSlice(String filter, int offset, int limit, EmployeeSort sort, boolean ascending) {
+        return delegate.findSlice(filter, offset, limit, sort, ascending);
+    }
+
+    @Override
+    public List<Employee> findSlice(String filter, int offset, int limit, EmployeeSort sort, boolean ascending,
+                                    QueryCancellation cancellation) {
+        return delegate.findSlice(filter, offset, limit, sort, ascending, cancellation);
+    }
+
+    @Override
+    public long count(String filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public long count(String filter, QueryCancellation cancellation) {
+        return delegate.count(filter, cancellation);
+    }
+
+    @Override
+    public long currentRevision() {
+        // Never cached: it is what tells clients whether their copy is still current
+        return delegate.currentRevision();
+    }
+
+    @Override
+    public List<String> findDepartments() {
+        // Already held in memory by the department dictionary
+        return delegate.findDepartments();
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        Employee saved = delegate.save(employee);
+        // The id may have been looked up, and cached as a miss, before it was assigned
+        invalidate(List.of(saved.getId()));
+        afterCommit(() -> roster.put(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Employee> saveAll(List<Employee> employees) {
+        List<Employee> saved = delegate.saveAll(employees);
+        invalidate(saved.stream().map(Employee::getId).toList());
+        afterCommit(() -> saved.forEach(roster::put));
+        return saved;
+    }
+
+    @Override
+    public Employee update(Employee employee) {
+        try {
+            Employee updated = delegate.update(employee);
+            afterCommit(() -> roster.put(updated));
+            return updated;
+        } finally {
+            invalidate(List.of(employee.getId()));
+        }
+    }
+
+    @Override
+    public int[] updateAll(List<Employee> employees) {
+        try {
+            int[] counts = delegate.updateAll(employees);
+            afterCommit(() -> {
+                for (int i = 0; i < counts.length; i++) {
+                    // Without a checked version the new one is unknown; the notification brings it
+                    if (counts[i] > 0 && employees.get(i).getVersion() != null) {
+                        roster.put(employees.get(i));
+                    }
+                }
+            });
+            return counts;
+        } finally {
+            invalidate(employees.stream().map(Employee::getId).toList());
+        }
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        try {
+            boolean deleted = delegate.deleteById(id);
+            afterCommit(() -> roster.remove(id));
+            return deleted;
+        } finally {
+            invalidate(List.of(id));
+        }
+    }
+
+    @Override
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        try {
+            List<Long> deleted = delegate.deleteAllById(ids);
+            afterCommit(() -> deleted.forEach(roster::remove));
+            return deleted;
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    private void invalidate(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Until commit other transactions still read the old row and may cache it again
+            List<Long> copy = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(copy);
+                }
+            });
+        }
+    }
+
+    /**
+     * Apply a local write to the roster once it is visible to everyone, so this node reads its own
+     * writes without waiting for the notification
+     */
+    private void afterCommit(Runnable rosterUpdate) {
+        if (roster == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rosterUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rosterUpdate.run();
+            }
+        });
+    }
+
+    /**
+     * Expires found employees after the regular TTL and cached misses after the negative TTL.
+     */
+    private record PositiveNegativeExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Optional<EmployeeRecord>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<EmployeeRecord> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<EmployeeRecord> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<EmployeeRecord> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
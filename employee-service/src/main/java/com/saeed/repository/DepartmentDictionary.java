@@ -0,0 +1,167 @@
+package com.saeed.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Node-local copy of the {@code departments} table, translating between the names employees carry and the
+ * small keys {@code employees.department_id} stores.
+ * <p>
+ * The table is loaded at startup and reloaded whenever a name or key is not known yet, which is how departments
+ * created by other nodes or by a CSV import show up here. Departments are never renamed or removed, so a known
+ * entry cannot go stale. Only committed departments are cached: one created by the current transaction is
+ * resolved from the database until that transaction commits.
+ */
+@Repository
+public class DepartmentDictionary {
+
+    // SQL statements
+    private static final String SQL_FIND_ALL = "SELECT id, name FROM departments";
+    private static final String SQL_FIND_NAME = "SELECT name FROM departments WHERE id = ?";
+    private static final String SQL_FIND_OR_CREATE = "SELECT find_or_create_department(?)";
+
+    /**
+     * Immutable view of the table at one point in time
+     * @param names department names by id
+     * @param ids department ids by name, in name order
+     */
+    private record Entries(Map<Integer, String> names, Map<String, Integer> ids) {
+    }
+
+    private final JdbcClient jdbcClient;
+
+    private volatile Entries entries;
+
+    @Autowired
+    public DepartmentDictionary(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+        reload();
+    }
+
+    private DepartmentDictionary(Map<Integer, String> names) {
+        this.jdbcClient = null;
+        this.entries = entriesOf(names);
+    }
+
+    /**
+     * @param names department names by id
+     * @return a dictionary holding exactly these departments and never reading the database
+     */
+    static DepartmentDictionary of(Map<Integer, String> names) {
+        return new DepartmentDictionary(names);
+    }
+
+    /**
+     * Read the whole table again
+     */
+    public synchronized void reload() {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        jdbcClient.sql(SQL_FIND_ALL).query(rs -> {
+            names.put(rs.getInt(1), rs.getString(2));
+        });
+        entries = entriesOf(names);
+    }
+
+    private static Entries entriesOf(Map<Integer, String> names) {
+        Map<Integer, String> byId = new HashMap<>(names);
+        Map<String, Integer> byName = new LinkedHashMap<>();
+        names.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> byName.put(entry.getValue(), entry.getKey()));
+        return new Entries(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+    }
+
+    /**
+     * @param id department id
+     * @return the department name, the same instance for every row of the department
+     * @throws IllegalStateException if no department has this id
+     */
+    public String nameOf(int id) {
+        String name = entries.names().get(id);
+        if (name != null || jdbcClient == null) {
+            return requireKnown(name, id);
+        }
+        if (inWriteTransaction()) {
+            // Possibly created by this very transaction, so not to be cached before it commits
+            return requireKnown(jdbcClient.sql(SQL_FIND_NAME).param(id).query(String.class).optional().orElse(null), id);
+        }
+        reload();
+        return requireKnown(entries.names().get(id), id);
+    }
+
+    private static String requireKnown(String name, int id) {
+        if (name == null) {
+            throw new IllegalStateException("No department with id " + id);
+        }
+        return name;
+    }
+
+    /**
+     * Find the id of a department, creating the department if it does not exist yet
+     * @param name department name
+     * @return the department id, or null if the name is null
+     */
+    public Integer idOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = entries.ids().get(name);
+        if (id != null) {
+            return id;
+        }
+        id = jdbcClient.sql(SQL_FIND_OR_CREATE).param(name).query(Integer.class).single();
+        if (inWriteTransaction() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+        return id;
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * @return every department name, in order
+     */
+    public List<String> names() {
+        return new ArrayList<>(entries.ids().keySet());
+    }
+
+    /**
+     * @return department ids by name, in name order
+     */
+    public Map<String, Integer> idsByName() {
+        return entries.ids();
+    }
+
+    /**
+     * @param term text to look for, ignoring case
+     * @return ids of the departments whose name contains the term
+     */
+    public Integer[] idsContaining(String term) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        return entries.ids().entrySet().stream()
+                .filter(entry -> entry.getKey().toLowerCase(Locale.ROOT).contains(needle))
+                .map(Map.Entry::getValue)
+                .toArray(Integer[]::new);
+    }
+}
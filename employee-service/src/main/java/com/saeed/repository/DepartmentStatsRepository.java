@@ -0,0 +1,80 @@
+package com.saeed.repository;
+
+import com.saeed.model.DepartmentStats;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads the headcount per department from {@code department_stats}, which the triggers in {@code schema.sql}
+ * maintain on every write to {@code employees}, and reconciles it with a {@code GROUP BY} over the employees.
+ * <p>
+ * Counters can only drift through writes that bypass the triggers, such as {@code session_replication_role = replica}
+ * or a restore of one table without the other; reconciliation repairs that by adding the difference, which commutes
+ * with the increments of concurrent writers, instead of overwriting the counters.
+ */
+@Repository
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+public class DepartmentStatsRepository {
+
+    // Reserved slot for corrections; writers use slots 0 to 15
+    static final int RECONCILIATION_SLOT = 16;
+
+    // SQL statements
+    private static final String SQL_FIND_ALL = "SELECT department_id, sum(headcount) AS employees FROM department_stats "
+            + "GROUP BY department_id HAVING sum(headcount) <> 0";
+    // Serializes reconciliations of all instances, so that two of them never apply the same correction
+    private static final String SQL_LOCK = "SELECT pg_advisory_xact_lock(hashtext('department_stats'))";
+    // One statement, so employees and counters are read on the same snapshot
+    private static final String SQL_RECONCILE = "WITH drift AS ("
+            + "SELECT coalesce(e.department_id, s.department_id) AS department_id, "
+            + "coalesce(e.headcount, 0) - coalesce(s.headcount, 0) AS delta "
+            + "FROM (SELECT department_id, count(*) AS headcount FROM employees GROUP BY department_id) e "
+            + "FULL JOIN (SELECT department_id, sum(headcount) AS headcount FROM department_stats GROUP BY department_id) s "
+            + "ON s.department_id = e.department_id "
+            + "WHERE coalesce(e.headcount, 0) <> coalesce(s.headcount, 0)), "
+            + "corrected AS (INSERT INTO department_stats (department_id, slot, headcount) "
+            + "SELECT department_id, " + RECONCILIATION_SLOT + ", delta FROM drift "
+            + "ON CONFLICT (department_id, slot) DO UPDATE SET headcount = department_stats.headcount + EXCLUDED.headcount) "
+            + "SELECT department_id, delta FROM drift";
+
+    private final JdbcClient jdbcClient;
+    private final DepartmentDictionary departments;
+
+    public DepartmentStatsRepository(JdbcClient jdbcClient, DepartmentDictionary departments) {
+        this.jdbcClient = jdbcClient;
+        this.departments = departments;
+    }
+
+    /**
+     * @return headcount of every department that has employees
+     */
+    public DepartmentStats findAll() {
+        List<DepartmentStats.Headcount> headcounts = new ArrayList<>(jdbcClient.sql(SQL_FIND_ALL)
+                .query((rs, rowNum) -> new DepartmentStats.Headcount(departments.nameOf(rs.getInt(1)), rs.getLong(2)))
+                .list());
+        headcounts.sort(Comparator.comparing(DepartmentStats.Headcount::department));
+        return DepartmentStats.of(headcounts);
+    }
+
+    /**
+     * Compare the counters with the employees and correct those that drifted
+     * @return correction applied per department, empty if the counters were exact
+     */
+    @Transactional
+    public Map<String, Long> reconcile() {
+        jdbcClient.sql(SQL_LOCK).query().singleValue();
+        Map<String, Long> corrections = new TreeMap<>();
+        jdbcClient.sql(SQL_RECONCILE).query(rs -> {
+            corrections.put(departments.nameOf(rs.getInt(1)), rs.getLong(2));
+        });
+        return corrections;
+    }
+}
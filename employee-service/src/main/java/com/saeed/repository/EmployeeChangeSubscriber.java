@@ -0,0 +1,22 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeChange;
+
+/**
+ * Receives committed changes to the employees table from {@link PostgresEmployeeChangeListener}.
+ * Callbacks run on the listener thread, one at a time, in notification order.
+ */
+public interface EmployeeChangeSubscriber {
+
+    /**
+     * Apply a change made by this or any other node
+     * @param change the change
+     */
+    void onChange(EmployeeChange change);
+
+    /**
+     * The listener lost its connection; changes may be missed until the next {@code RESET}
+     */
+    default void onDisconnect() {
+    }
+}
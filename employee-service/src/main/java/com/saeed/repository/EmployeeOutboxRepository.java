@@ -0,0 +1,103 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeChangeEvent;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reads the employee change feed from {@code employee_outbox}, which the triggers in {@code schema.sql} fill in the
+ * transaction of every write to {@code employees}, and numbers and prunes its rows.
+ * <p>
+ * Nothing here runs in a read-only transaction: the feed is always read from the primary, since a replica that
+ * lags behind the head would make a client's last event id look like it came from the future.
+ */
+@Repository
+public class EmployeeOutboxRepository {
+
+    // SQL statements
+    private static final String SQL_SEQUENCE = "SELECT sequence_employee_outbox(?)";
+    private static final String SQL_FIND_AFTER = "SELECT event_id, op, employee_id, employee FROM employee_outbox "
+            + "WHERE event_id > ? ORDER BY event_id LIMIT ?";
+    private static final String SQL_FIND_RANGE = "SELECT (SELECT min(event_id) FROM employee_outbox) AS first_event_id, "
+            + "last_event_id FROM employee_outbox_head";
+    // Oldest events first, a bounded number per statement, so that pruning a backlog does not hold locks for long
+    private static final String SQL_DELETE_SEQUENCED_BEFORE = "DELETE FROM employee_outbox WHERE event_id IN ("
+            + "SELECT event_id FROM employee_outbox WHERE event_id IS NOT NULL ORDER BY event_id LIMIT ?) "
+            + "AND sequenced_at < ?";
+
+    /**
+     * Events the feed still holds
+     * @param firstEventId id of the oldest event kept, or {@code lastEventId + 1} if none is
+     * @param lastEventId id of the newest event
+     */
+    public record Range(long firstEventId, long lastEventId) {
+
+        /**
+         * @param eventId id of the last event a client has seen
+         * @return true if every event after it is still kept
+         */
+        public boolean canResumeAfter(long eventId) {
+            return eventId >= firstEventId - 1 && eventId <= lastEventId;
+        }
+    }
+
+    private final JdbcClient jdbcClient;
+
+    public EmployeeOutboxRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Number committed outbox rows, unless another instance is doing so right now
+     * @param maxEvents maximum number of rows to number
+     * @return number of rows numbered; less than {@code maxEvents} when no more were waiting
+     */
+    public int sequence(int maxEvents) {
+        return jdbcClient.sql(SQL_SEQUENCE).param(maxEvents).query(Integer.class).single();
+    }
+
+    /**
+     * @param eventId id of the last event already seen
+     * @param limit maximum number of events
+     * @return the following events, in order
+     */
+    public List<EmployeeChangeEvent> findAfter(long eventId, int limit) {
+        return jdbcClient.sql(SQL_FIND_AFTER)
+                .params(eventId, limit)
+                .query((rs, rowNum) -> new EmployeeChangeEvent(
+                        rs.getLong(1),
+                        EmployeeChangeEvent.Type.fromOp(rs.getString(2)),
+                        rs.getObject(3) == null ? null : rs.getLong(3),
+                        rs.getString(4)))
+                .list();
+    }
+
+    /**
+     * @return the events the feed still holds
+     */
+    public Range findRange() {
+        return jdbcClient.sql(SQL_FIND_RANGE)
+                .query((rs, rowNum) -> {
+                    long last = rs.getLong(2);
+                    long first = rs.getLong(1);
+                    return new Range(rs.wasNull() ? last + 1 : first, last);
+                })
+                .single();
+    }
+
+    /**
+     * Delete the oldest events numbered before a point in time
+     * @param cutoff events numbered before this are deleted
+     * @param limit maximum number of events to delete
+     * @return number of events deleted; less than {@code limit} when no more were due
+     */
+    public int deleteSequencedBefore(Instant cutoff, int limit) {
+        return jdbcClient.sql(SQL_DELETE_SEQUENCED_BEFORE)
+                .params(limit, Timestamp.from(cutoff))
+                .update();
+    }
+}
@@ -0,0 +1,161 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeSort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository interface for Employee entity
+ */
+public interface EmployeeRepository {
+
+    /**
+     * Find all employees
+     * @return list of all employees
+     */
+    List<Employee> findAll();
+
+    /**
+     * Find all employees, reading only the selected columns
+     * @param fields fields to read; the others may be left null
+     * @return list of all employees
+     */
+    List<Employee> findAll(Set<EmployeeField> fields);
+
+    /**
+     * Find employee by id
+     * @param id employee id
+     * @return optional containing employee if found
+     */
+    Optional<Employee> findById(Long id);
+
+    /**
+     * Find several employees by id with a single query
+     * @param ids employee ids
+     * @return employees that exist, ordered by id
+     */
+    List<Employee> findAllById(Collection<Long> ids);
+
+    /**
+     * Find one page of employees using keyset pagination.
+     * Rows are ordered by the sort column and then by id, and the page starts right after
+     * the row identified by {@code afterKey}/{@code afterId}, so the cost of a page does not depend on its position.
+     * @param afterId id of the last row of the previous page, or null for the first page
+     * @param afterKey sort column value of the last row of the previous page, ignored when sorting by id
+     * @param limit maximum number of rows to return
+     * @param sort sort order
+     * @return employees following the given position, at most {@code limit}
+     */
+    List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort);
+
+    /**
+     * Find one page of employees like {@link #findPage(Long, String, int, EmployeeSort)}, reading only the
+     * selected columns plus the id and the sort column, which the next page's position is taken from
+     * @param fields fields to read; the others may be left null
+     */
+    List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort, Set<EmployeeField> fields);
+
+    /**
+     * Search employees whose first name, last name, email or department contains the term, ignoring case
+     * @param term text to look for
+     * @param limit maximum number of rows to return
+     * @return matching employees ordered by id
+     */
+    List<Employee> search(String term, int limit);
+
+    /**
+     * Find a slice of employees by position, for viewport-sized loading in the UI
+     * @param filter optional search term, matched like {@link #search(String, int)}; null or blank for all employees
+     * @param offset number of rows to skip
+     * @param limit maximum number of rows to return
+     * @param sort sort order; ties are broken by id
+     * @param ascending sort direction
+     * @return employees in the requested window
+     */
+    List<Employee> findSlice(String filter, int offset, int limit, EmployeeSort sort, boolean ascending);
+
+    /**
+     * Find a slice of employees by position, abortable from another thread
+     * @param cancellation handle to cancel the query with
+     * @see #findSlice(String, int, int, EmployeeSort, boolean)
+     */
+    List<Employee> findSlice(String filter, int offset, int limit, EmployeeSort sort, boolean ascending,
+                             QueryCancellation cancellation);
+
+    /**
+     * Count employees
+     * @param filter optional search term, matched like {@link #search(String, int)}; null or blank for all employees
+     * @return number of matching employees
+     */
+    long count(String filter);
+
+    /**
+     * Count employees, abortably from another thread
+     * @param cancellation handle to cancel the query with
+     * @see #count(String)
+     */
+    long count(String filter, QueryCancellation cancellation);
+
+    /**
+     * Current revision of the employees table, for conditional requests.
+     * It grows with every committed write, so an unchanged revision means unchanged data.
+     * @return the revision
+     */
+    long currentRevision();
+
+    /**
+     * Find the names of all departments, including those without employees
+     * @return department names, sorted
+     */
+    List<String> findDepartments();
+
+    /**
+     * Save a new employee
+     * @param employee employee to save
+     * @return saved employee with generated id
+     */
+    Employee save(Employee employee);
+
+    /**
+     * Save several new employees using multi-row inserts
+     * @param employees employees to save
+     * @return the same employees with their generated ids set, in the given order
+     */
+    List<Employee> saveAll(List<Employee> employees);
+
+    /**
+     * Update an existing employee and bump its version, in a single statement.
+     * If the employee carries a version, the update only applies while the stored row still has that version.
+     * @param employee employee to update
+     * @return the updated row as stored, with its new version
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the stored version differs
+     */
+    Employee update(Employee employee);
+
+    /**
+     * Update several existing employees in one JDBC batch.
+     * Employees carrying a version are only updated at that version and have it incremented on success.
+     * @param employees employees to update
+     * @return number of rows updated for each employee, in the given order (0 if it does not exist or its version differs)
+     */
+    int[] updateAll(List<Employee> employees);
+
+    /**
+     * Delete an employee by id
+     * @param id employee id to delete
+     * @return true if deleted, false otherwise
+     */
+    boolean deleteById(Long id);
+
+    /**
+     * Delete several employees with a single statement
+     * @param ids employee ids to delete
+     * @return ids that existed and were deleted
+     */
+    List<Long> deleteAllById(Collection<Long> ids);
+}
@@ -0,0 +1,162 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChange;
+import com.saeed.model.EmployeeRecord;
+import com.saeed.model.EmployeeSort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Node-local copy of every employee, kept current by change notifications.
+ * <p>
+ * The roster is loaded in full on {@code RESET} and afterwards only re-reads the rows named by each
+ * change, so every node converges within milliseconds of a commit anywhere in the cluster. It only
+ * answers reads while it is known to be complete: before the first load, after a failed reload and
+ * while the listener is disconnected, {@link #isLoaded()} is false and callers go to the database.
+ */
+public class EmployeeRoster implements EmployeeChangeSubscriber, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeRoster.class);
+
+    // Stays within spring.jdbc.template.max-rows
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    private final EmployeeRepository loader;
+
+    private volatile ConcurrentSkipListMap<Long, EmployeeRecord> employees = new ConcurrentSkipListMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * @param loader repository reading from the database, never a cache in front of it
+     */
+    public EmployeeRoster(EmployeeRepository loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * @return true if the roster holds every employee and receives changes
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return number of employees held
+     */
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * @return copies of all employees ordered by id
+     */
+    public List<Employee> findAll() {
+        return employees.values().stream().map(EmployeeRecord::toEmployee).toList();
+    }
+
+    /**
+     * @param id employee id
+     * @return a copy of the employee, if held
+     */
+    public Optional<Employee> findById(Long id) {
+        return Optional.ofNullable(employees.get(id)).map(EmployeeRecord::toEmployee);
+    }
+
+    /**
+     * Record an employee written by this node, ahead of the notification for it. A version no newer than the one held
+     * is ignored: the roster may already have read a later write to the same employee.
+     * @param employee the employee as committed
+     */
+    public void put(Employee employee) {
+        keep(employee);
+    }
+
+    /**
+     * Forget an employee deleted by this node, ahead of the notification for it
+     * @param id employee id
+     */
+    public void remove(Long id) {
+        employees.remove(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.roster.size", this, EmployeeRoster::size)
+                .description("Employees held by the roster")
+                .register(registry);
+        Gauge.builder("employee.roster.loaded", this, roster -> roster.isLoaded() ? 1 : 0)
+                .description("1 while the roster answers reads, 0 while reads go to the database")
+                .register(registry);
+    }
+
+    @Override
+    public void onChange(EmployeeChange change) {
+        if (change.op() == EmployeeChange.Op.RESET || !loaded) {
+            reload();
+            return;
+        }
+        try {
+            if (change.op() == EmployeeChange.Op.DELETE) {
+                change.ids().forEach(employees::remove);
+                return;
+            }
+            Set<Long> missing = new HashSet<>(change.ids());
+            for (Employee employee : loader.findAllById(change.ids())) {
+                keep(employee);
+                missing.remove(employee.getId());
+            }
+            // Deleted again before we read it; the DELETE notification follows
+            missing.forEach(employees::remove);
+        } catch (DataAccessException e) {
+            loaded = false;
+            log.warn("Could not apply {} to the employee roster; serving from the database until it reloads", change, e);
+        }
+    }
+
+    @Override
+    public void onDisconnect() {
+        loaded = false;
+    }
+
+    /**
+     * Replace the roster with a full read of the employees table
+     */
+    public void reload() {
+        loaded = false;
+        try {
+            ConcurrentSkipListMap<Long, EmployeeRecord> fresh = new ConcurrentSkipListMap<>();
+            List<Employee> page = loader.findPage(null, null, LOAD_PAGE_SIZE, EmployeeSort.ID);
+            while (!page.isEmpty()) {
+                page.forEach(employee -> fresh.put(employee.getId(), record(employee)));
+                Long lastId = page.get(page.size() - 1).getId();
+                page = page.size() < LOAD_PAGE_SIZE ? List.of() : loader.findPage(lastId, null, LOAD_PAGE_SIZE, EmployeeSort.ID);
+            }
+            employees = fresh;
+            loaded = true;
+            log.info("Loaded {} employees into the roster", fresh.size());
+        } catch (DataAccessException e) {
+            log.warn("Could not load the employee roster; serving from the database", e);
+        }
+    }
+
+    private void keep(Employee employee) {
+        employees.merge(employee.getId(), record(employee), (held, written) ->
+                held.version() != null && written.version() != null && written.version() <= held.version() ? held : written);
+    }
+
+    private static EmployeeRecord record(Employee employee) {
+        return new EmployeeRecord(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                EmployeeRowMapper.internDepartment(employee.getDepartment()), employee.getVersion());
+    }
+}
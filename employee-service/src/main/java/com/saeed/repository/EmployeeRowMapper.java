@@ -0,0 +1,127 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeRecord;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps full employee rows ({@code id, first_name, last_name, email, department_id, version}) to {@link Employee}s or
+ * {@link EmployeeRecord}s, or rows of a projection to employees with only the selected fields set.
+ * <p>
+ * Column indexes are looked up by label once per result set rather than for every row and column, which is why an
+ * instance is stateful: take a fresh one per query from {@link #employees} or {@link #records}.
+ * Department ids are translated by the {@link DepartmentDictionary}, so the few distinct names are shared by every
+ * row instead of copied into each.
+ */
+final class EmployeeRowMapper<T> implements RowMapper<T> {
+
+    /**
+     * Constructor of the mapped type
+     */
+    @FunctionalInterface
+    interface Factory<T> {
+        T create(Long id, String firstName, String lastName, String email, String department, Long version);
+    }
+
+    // Names of departments that did not come from the dictionary, such as those of employees written through the API.
+    // Departments are a small, closed set; beyond this many distinct values something is off, so stop interning
+    private static final int MAX_INTERNED_DEPARTMENTS = 1024;
+    private static final ConcurrentMap<String, String> DEPARTMENTS = new ConcurrentHashMap<>();
+
+    private final Factory<T> factory;
+    private final DepartmentDictionary departments;
+    private final Set<EmployeeField> fields;
+
+    private ResultSet resultSet;
+    private int idColumn;
+    private int firstNameColumn;
+    private int lastNameColumn;
+    private int emailColumn;
+    private int departmentColumn;
+    private int versionColumn;
+
+    private EmployeeRowMapper(Factory<T> factory, DepartmentDictionary departments, Set<EmployeeField> fields) {
+        this.factory = factory;
+        this.departments = departments;
+        this.fields = fields;
+    }
+
+    /**
+     * @param departments dictionary to name the departments with
+     * @return a mapper to mutable employees, for one query
+     */
+    static RowMapper<Employee> employees(DepartmentDictionary departments) {
+        return employees(departments, EmployeeField.all());
+    }
+
+    /**
+     * @param departments dictionary to name the departments with
+     * @param fields columns present in the result set; the other fields stay null
+     * @return a mapper to mutable employees, for one query
+     */
+    static RowMapper<Employee> employees(DepartmentDictionary departments, Set<EmployeeField> fields) {
+        return new EmployeeRowMapper<>(Employee::new, departments, fields);
+    }
+
+    /**
+     * @param departments dictionary to name the departments with
+     * @return a mapper to immutable records, for one query
+     */
+    static RowMapper<EmployeeRecord> records(DepartmentDictionary departments) {
+        return new EmployeeRowMapper<>(EmployeeRecord::new, departments, EmployeeField.all());
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (rs != resultSet) {
+            resolveColumns(rs);
+        }
+        return factory.create(
+                idColumn == 0 ? null : rs.getLong(idColumn),
+                firstNameColumn == 0 ? null : rs.getString(firstNameColumn),
+                lastNameColumn == 0 ? null : rs.getString(lastNameColumn),
+                emailColumn == 0 ? null : rs.getString(emailColumn),
+                departmentColumn == 0 ? null : departments.nameOf(rs.getInt(departmentColumn)),
+                versionColumn == 0 ? null : rs.getLong(versionColumn));
+    }
+
+    private void resolveColumns(ResultSet rs) throws SQLException {
+        // Column indexes start at 1; 0 marks a field that was not selected
+        idColumn = findColumn(rs, EmployeeField.ID);
+        firstNameColumn = findColumn(rs, EmployeeField.FIRST_NAME);
+        lastNameColumn = findColumn(rs, EmployeeField.LAST_NAME);
+        emailColumn = findColumn(rs, EmployeeField.EMAIL);
+        departmentColumn = findColumn(rs, EmployeeField.DEPARTMENT);
+        versionColumn = findColumn(rs, EmployeeField.VERSION);
+        resultSet = rs;
+    }
+
+    private int findColumn(ResultSet rs, EmployeeField field) throws SQLException {
+        return fields.contains(field) ? rs.findColumn(field.getColumn()) : 0;
+    }
+
+    /**
+     * @return the canonical instance of a department name
+     */
+    static String internDepartment(String department) {
+        if (department == null) {
+            return null;
+        }
+        String canonical = DEPARTMENTS.get(department);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (DEPARTMENTS.size() >= MAX_INTERNED_DEPARTMENTS) {
+            return department;
+        }
+        canonical = DEPARTMENTS.putIfAbsent(department, department);
+        return canonical != null ? canonical : department;
+    }
+}
@@ -0,0 +1,503 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeSort;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads run in read-only transaction scopes, joining a surrounding transaction if there is one, so that
+ * they may be routed to a replica; writes run in read-write transactions on the primary.
+ * <p>
+ * Every method is timed as {@value #METRIC_NAME}, tagged with its name, and the number of rows each list query
+ * returns is recorded as {@value #METRIC_NAME}.rows.
+ * <p>
+ * Rows store a department id; names are translated by the {@link DepartmentDictionary} in both directions, so no
+ * query joins {@code departments}, and searching or sorting by department works on the ids the dictionary supplies.
+ */
+@Repository
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+@Timed(value = JdbcEmployeeRepository.METRIC_NAME, histogram = true)
+public class JdbcEmployeeRepository implements EmployeeRepository {
+
+    public static final String METRIC_NAME = "employee.repository";
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final DepartmentDictionary departments;
+
+    private final DistributionSummary findAllRows;
+    private final DistributionSummary findAllByIdRows;
+    private final DistributionSummary findPageRows;
+    private final DistributionSummary searchRows;
+    private final DistributionSummary findSliceRows;
+
+    // Rows per multi-row INSERT; keeps the statement well below the 65535 bind parameter limit of Postgres
+    static final int MAX_ROWS_PER_INSERT = 1000;
+
+    // Rows per INSERT or DELETE that reads back RETURNING rows, which spring.jdbc.template.max-rows also caps
+    private final int maxRowsPerStatement;
+    // spring.jdbc.template.max-rows, or 0 if queries are not capped
+    private final int maxRows;
+
+    // SQL statements
+    private static final String SQL_FIND_ALL = "SELECT id, first_name, last_name, email, department_id, version FROM employees";
+    private static final String SQL_FIND_BY_ID = "SELECT id, first_name, last_name, email, department_id, version FROM employees WHERE id = ?";
+    private static final String SQL_FIND_ALL_BY_ID = "SELECT id, first_name, last_name, email, department_id, version FROM employees WHERE id = ANY(?) ORDER BY id";
+    private static final String SQL_FIND_PAGE = "SELECT id, first_name, last_name, email, department_id, version FROM employees";
+    private static final String SQL_FROM = " FROM employees";
+    // The last parameter holds the ids of the departments whose name matches
+    private static final String SQL_SEARCH_PREDICATE = "(first_name ILIKE ? OR last_name ILIKE ? OR email ILIKE ? OR department_id = ANY(?))";
+    private static final String SQL_SEARCH = "SELECT id, first_name, last_name, email, department_id, version FROM employees "
+            + "WHERE " + SQL_SEARCH_PREDICATE + " ORDER BY id LIMIT ?";
+    private static final String SQL_FIND_SLICE = "SELECT id, first_name, last_name, email, department_id, version FROM employees";
+    // Position of the department in an array of ids in name order
+    private static final String SQL_DEPARTMENT_RANK = "array_position(CAST(? AS INTEGER[]), CAST(department_id AS INTEGER))";
+    private static final String SQL_COUNT = "SELECT count(*) FROM employees";
+    private static final String SQL_REVISION = "SELECT sum(revision) FROM employees_revision";
+    private static final String SQL_INSERT = "INSERT INTO employees (first_name, last_name, email, department_id) VALUES (?, ?, ?, ?)";
+    private static final String SQL_INSERT_MULTI_PREFIX = "INSERT INTO employees (first_name, last_name, email, department_id) VALUES ";
+    private static final String SQL_INSERT_MULTI_ROW = "(?, ?, ?, ?)";
+    private static final String SQL_INSERT_MULTI_SUFFIX = " RETURNING id, version";
+    // A null expected version updates unconditionally; either way the version is bumped
+    private static final String SQL_UPDATE_BATCH = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, department_id = ?, "
+            + "version = version + 1 WHERE id = ? AND (CAST(? AS BIGINT) IS NULL OR version = ?)";
+    private static final String SQL_UPDATE = SQL_UPDATE_BATCH + " RETURNING id, first_name, last_name, email, department_id, version";
+    private static final String SQL_VERSION_BY_ID = "SELECT version FROM employees WHERE id = ?";
+    private static final String SQL_DELETE = "DELETE FROM employees WHERE id = ?";
+    private static final String SQL_DELETE_ALL = "DELETE FROM employees WHERE id = ANY(?) RETURNING id";
+
+    public JdbcEmployeeRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate, DepartmentDictionary departments,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.departments = departments;
+        this.maxRows = Math.max(0, jdbcTemplate.getMaxRows());
+        this.maxRowsPerStatement = jdbcTemplate.getMaxRows() > 0
+                ? Math.min(MAX_ROWS_PER_INSERT, jdbcTemplate.getMaxRows())
+                : MAX_ROWS_PER_INSERT;
+        this.findAllRows = rowsSummary(meterRegistry, "findAll");
+        this.findAllByIdRows = rowsSummary(meterRegistry, "findAllById");
+        this.findPageRows = rowsSummary(meterRegistry, "findPage");
+        this.searchRows = rowsSummary(meterRegistry, "search");
+        this.findSliceRows = rowsSummary(meterRegistry, "findSlice");
+    }
+
+    private static DistributionSummary rowsSummary(MeterRegistry meterRegistry, String method) {
+        return DistributionSummary.builder(METRIC_NAME + ".rows")
+                .description("Rows returned by an employee query")
+                .baseUnit("rows")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static List<Employee> recordRows(DistributionSummary summary, List<Employee> rows) {
+        summary.record(rows.size());
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<Employee> findAll() {
+        return findAll(SQL_FIND_ALL, EmployeeField.all());
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<Employee> findAll(Set<EmployeeField> fields) {
+        Set<EmployeeField> columns = EnumSet.of(EmployeeField.ID);
+        columns.addAll(fields);
+        return findAll(selectOf(columns) + SQL_FROM, columns);
+    }
+
+    /**
+     * spring.jdbc.template.max-rows would silently cut a single query short, so the table is read in id order, one
+     * page of max-rows at a time, on one snapshot.
+     */
+    private List<Employee> findAll(String select, Set<EmployeeField> fields) {
+        if (maxRows == 0) {
+            return recordRows(findAllRows, jdbcClient.sql(select + " ORDER BY id")
+                    .query(EmployeeRowMapper.employees(departments, fields))
+                    .list());
+        }
+        List<Employee> employees = new ArrayList<>();
+        List<Employee> page;
+        do {
+            Long afterId = employees.isEmpty() ? null : employees.get(employees.size() - 1).getId();
+            page = jdbcClient.sql(select + (afterId == null ? "" : " WHERE id > ?") + " ORDER BY id LIMIT ?")
+                    .params(afterId == null ? List.of(maxRows) : List.of(afterId, maxRows))
+                    .query(EmployeeRowMapper.employees(departments, fields))
+                    .list();
+            employees.addAll(page);
+        } while (page.size() == maxRows);
+        return recordRows(findAllRows, employees);
+    }
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        return jdbcClient.sql(SQL_FIND_BY_ID)
+                .param(id)
+                .query(EmployeeRowMapper.employees(departments))
+                .optional();
+    }
+
+    @Override
+    public List<Employee> findAllById(Collection<Long> ids) {
+        return recordRows(findAllByIdRows, jdbcClient.sql(SQL_FIND_ALL_BY_ID)
+                .param(ids.toArray(new Long[0]))
+                .query(EmployeeRowMapper.employees(departments))
+                .list());
+    }
+
+    @Override
+    public List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort) {
+        return findPage(SQL_FIND_PAGE, EmployeeField.all(), afterId, afterKey, limit, sort);
+    }
+
+    @Override
+    public List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort, Set<EmployeeField> fields) {
+        Set<EmployeeField> columns = EnumSet.of(EmployeeField.ID, EmployeeField.of(sort));
+        columns.addAll(fields);
+        return findPage(selectOf(columns) + SQL_FROM, columns, afterId, afterKey, limit, sort);
+    }
+
+    private List<Employee> findPage(String select, Set<EmployeeField> fields, Long afterId, String afterKey, int limit,
+                                    EmployeeSort sort) {
+        if (sort == EmployeeSort.DEPARTMENT) {
+            return findPageByDepartment(select, fields, afterId, afterKey, limit);
+        }
+        StringBuilder sql = new StringBuilder(select);
+        List<Object> params = new ArrayList<>();
+
+        // Keyset predicate: a row comparison lets Postgres seek straight into the (column, id) index
+        if (afterId != null) {
+            if (sort == EmployeeSort.ID) {
+                sql.append(" WHERE id > ?");
+            } else {
+                sql.append(" WHERE (").append(sort.getColumn()).append(", id) > (?, ?)");
+                params.add(afterKey);
+            }
+            params.add(afterId);
+        }
+
+        if (sort == EmployeeSort.ID) {
+            sql.append(" ORDER BY id");
+        } else {
+            sql.append(" ORDER BY ").append(sort.getColumn()).append(", id");
+        }
+        sql.append(" LIMIT ?");
+        params.add(limit);
+
+        return recordRows(findPageRows, jdbcClient.sql(sql.toString())
+                .params(params)
+                .query(EmployeeRowMapper.employees(departments, fields))
+                .list());
+    }
+
+    /**
+     * Ids do not sort like names, so the departments are walked in name order from the cursor's one, each read in
+     * id order from the (department_id, id) index, until the page is full.
+     */
+    private List<Employee> findPageByDepartment(String select, Set<EmployeeField> fields, Long afterId, String afterKey,
+                                                int limit) {
+        List<Employee> page = new ArrayList<>(limit);
+        for (Map.Entry<String, Integer> department : departments.idsByName().entrySet()) {
+            int order = afterId == null ? 1 : department.getKey().compareTo(afterKey);
+            if (order < 0) {
+                continue;
+            }
+            StringBuilder sql = new StringBuilder(select).append(" WHERE department_id = ?");
+            List<Object> params = new ArrayList<>();
+            params.add(department.getValue());
+            if (order == 0) {
+                sql.append(" AND id > ?");
+                params.add(afterId);
+            }
+            sql.append(" ORDER BY id LIMIT ?");
+            params.add(limit - page.size());
+
+            page.addAll(jdbcClient.sql(sql.toString())
+                    .params(params)
+                    .query(EmployeeRowMapper.employees(departments, fields))
+                    .list());
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return recordRows(findPageRows, page);
+    }
+
+    @Override
+    public List<Employee> search(String term, int limit) {
+        // ILIKE '%term%' is answered by the pg_trgm GIN index instead of a sequential scan
+        String pattern = "%" + escapeLike(term) + "%";
+        return recordRows(searchRows, jdbcClient.sql(SQL_SEARCH)
+                .param(pattern)
+                .param(pattern)
+                .param(pattern)
+                .param(departments.idsContaining(term))
+                .param(limit)
+                .query(EmployeeRowMapper.employees(departments))
+                .list());
+    }
+
+    @Override
+    public List<Employee> findSlice(String filter, int offset, int limit, EmployeeSort sort, boolean ascending) {
+        return findSlice(filter, offset, limit, sort, ascending, null);
+    }
+
+    @Override
+    public List<Employee> findSlice(String filter, int offset, int limit, EmployeeSort sort, boolean ascending,
+                                    QueryCancellation cancellation) {
+        StringBuilder sql = new StringBuilder(SQL_FIND_SLICE);
+        List<Object> params = new ArrayList<>();
+        appendFilter(sql, params, filter);
+
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ");
+        if (sort == EmployeeSort.DEPARTMENT) {
+            sql.append(SQL_DEPARTMENT_RANK).append(direction).append(", ");
+            params.add(departments.idsByName().values().toArray(new Integer[0]));
+        } else if (sort != EmployeeSort.ID) {
+            sql.append(sort.getColumn()).append(direction).append(", ");
+        }
+        sql.append("id").append(direction).append(" LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        return recordRows(findSliceRows,
+                query(sql.toString(), params, EmployeeRowMapper.employees(departments), cancellation));
+    }
+
+    @Override
+    public long count(String filter) {
+        return count(filter, null);
+    }
+
+    @Override
+    public long count(String filter, QueryCancellation cancellation) {
+        StringBuilder sql = new StringBuilder(SQL_COUNT);
+        List<Object> params = new ArrayList<>();
+        appendFilter(sql, params, filter);
+
+        return DataAccessUtils.requiredSingleResult(
+                query(sql.toString(), params, new SingleColumnRowMapper<>(Long.class), cancellation));
+    }
+
+    /**
+     * Run a query, with its statement attached to the cancellation handle while it runs, if there is one
+     */
+    private <T> List<T> query(String sql, List<Object> params, RowMapper<T> rowMapper, QueryCancellation cancellation) {
+        if (cancellation == null) {
+            return jdbcClient.sql(sql).params(params).query(rowMapper).list();
+        }
+        try {
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                cancellation.attach(ps);
+                new ArgumentPreparedStatementSetter(params.toArray()).setValues(ps);
+                return ps;
+            }, rowMapper);
+        } finally {
+            cancellation.detach();
+        }
+    }
+
+    @Override
+    public long currentRevision() {
+        return jdbcClient.sql(SQL_REVISION)
+                .query(Long.class)
+                .single();
+    }
+
+    private void appendFilter(StringBuilder sql, List<Object> params, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return;
+        }
+        String pattern = "%" + escapeLike(filter.trim()) + "%";
+        sql.append(" WHERE ").append(SQL_SEARCH_PREDICATE);
+        for (int i = 0; i < 3; i++) {
+            params.add(pattern);
+        }
+        params.add(departments.idsContaining(filter.trim()));
+    }
+
+    @Override
+    public List<String> findDepartments() {
+        return departments.names();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Column names come from the EmployeeField constants, never from the request
+    private static String selectOf(Set<EmployeeField> fields) {
+        return fields.stream().map(EmployeeField::getColumn).collect(Collectors.joining(", ", "SELECT ", ""));
+    }
+
+    @Override
+    @Transactional
+    public Employee save(Employee employee) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcClient.sql(SQL_INSERT)
+                .param(employee.getFirstName())
+                .param(employee.getLastName())
+                .param(employee.getEmail())
+                .param(departments.idOf(employee.getDepartment()))
+                .update(keyHolder);
+
+        // Extract the ID from the key map
+        Number key = (Number) keyHolder.getKeys().get("id");
+        Long generatedId = key.longValue();
+        employee.setId(generatedId);
+        employee.setVersion(((Number) keyHolder.getKeys().get("version")).longValue());
+
+        return employee;
+    }
+
+    @Override
+    @Transactional
+    public List<Employee> saveAll(List<Employee> employees) {
+        for (int from = 0; from < employees.size(); from += maxRowsPerStatement) {
+            List<Employee> chunk = employees.subList(from, Math.min(from + maxRowsPerStatement, employees.size()));
+
+            StringBuilder sql = new StringBuilder(SQL_INSERT_MULTI_PREFIX);
+            List<Object> params = new ArrayList<>(chunk.size() * 4);
+            for (int i = 0; i < chunk.size(); i++) {
+                Employee employee = chunk.get(i);
+                sql.append(i == 0 ? "" : ", ").append(SQL_INSERT_MULTI_ROW);
+                params.add(employee.getFirstName());
+                params.add(employee.getLastName());
+                params.add(employee.getEmail());
+                params.add(departments.idOf(employee.getDepartment()));
+            }
+            sql.append(SQL_INSERT_MULTI_SUFFIX);
+
+            // Postgres returns the generated ids in VALUES order
+            List<long[]> keys = jdbcClient.sql(sql.toString())
+                    .params(params)
+                    .query((rs, rowNum) -> new long[] {rs.getLong("id"), rs.getLong("version")})
+                    .list();
+            if (keys.size() != chunk.size()) {
+                throw new IncorrectResultSizeDataAccessException("Keys returned for a multi-row INSERT", chunk.size(), keys.size());
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(keys.get(i)[0]);
+                chunk.get(i).setVersion(keys.get(i)[1]);
+            }
+        }
+        return employees;
+    }
+
+    @Override
+    @Transactional
+    public Employee update(Employee employee) {
+        Optional<Employee> updated = jdbcClient.sql(SQL_UPDATE)
+                .param(employee.getFirstName())
+                .param(employee.getLastName())
+                .param(employee.getEmail())
+                .param(departments.idOf(employee.getDepartment()))
+                .param(employee.getId())
+                .param(new SqlParameterValue(Types.BIGINT, employee.getVersion()))
+                .param(new SqlParameterValue(Types.BIGINT, employee.getVersion()))
+                .query(EmployeeRowMapper.employees(departments))
+                .optional();
+
+        if (updated.isPresent()) {
+            return updated.get();
+        }
+        // Only a failed update pays for telling a stale version from a missing row
+        boolean exists = employee.getVersion() != null && jdbcClient.sql(SQL_VERSION_BY_ID)
+                .param(employee.getId())
+                .query(Long.class)
+                .optional()
+                .isPresent();
+        if (exists) {
+            throw new OptimisticLockingFailureException("Employee " + employee.getId()
+                    + " was modified concurrently; expected version " + employee.getVersion());
+        }
+        throw new RuntimeException("Employee not found with id: " + employee.getId());
+    }
+
+    @Override
+    @Transactional
+    public int[] updateAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return new int[0];
+        }
+        int[] counts = jdbcTemplate.batchUpdate(SQL_UPDATE_BATCH, employees, employees.size(), (ps, employee) -> {
+            ps.setString(1, employee.getFirstName());
+            ps.setString(2, employee.getLastName());
+            ps.setString(3, employee.getEmail());
+            ps.setObject(4, departments.idOf(employee.getDepartment()), Types.SMALLINT);
+            ps.setLong(5, employee.getId());
+            ps.setObject(6, employee.getVersion(), Types.BIGINT);
+            ps.setObject(7, employee.getVersion(), Types.BIGINT);
+        })[0];
+        for (int i = 0; i < counts.length; i++) {
+            Employee employee = employees.get(i);
+            // The new version is only known when the old one was checked
+            if (counts[i] > 0 && employee.getVersion() != null) {
+                employee.setVersion(employee.getVersion() + 1);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteById(Long id) {
+        int deleted = jdbcClient.sql(SQL_DELETE)
+                .param(id)
+                .update();
+
+        return deleted > 0;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        Long[] all = ids.toArray(new Long[0]);
+        List<Long> deleted = new ArrayList<>(all.length);
+        for (int from = 0; from < all.length; from += maxRowsPerStatement) {
+            deleted.addAll(jdbcClient.sql(SQL_DELETE_ALL)
+                    .param(Arrays.copyOfRange(all, from, Math.min(from + maxRowsPerStatement, all.length)))
+                    .query(Long.class)
+                    .list());
+        }
+        return deleted;
+    }
+}
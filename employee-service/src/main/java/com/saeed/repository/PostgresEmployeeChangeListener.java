@@ -0,0 +1,164 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeChange;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Listens on the {@code employee_changes} channel that the triggers in {@code schema.sql} notify on
+ * every committed write, and hands each change to the registered subscribers.
+ * <p>
+ * The listener holds one dedicated connection outside the pool, polled by a single daemon thread.
+ * After every successful {@code LISTEN} it publishes a {@code RESET}, because changes committed while
+ * the node was not listening are lost; when the connection breaks it tells subscribers and reconnects
+ * with exponential backoff.
+ */
+public class PostgresEmployeeChangeListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresEmployeeChangeListener.class);
+
+    public static final String CHANNEL = "employee_changes";
+
+    private static final int POLL_MILLIS = 500;
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final List<EmployeeChangeSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public PostgresEmployeeChangeListener(JdbcConnectionDetails connectionDetails) {
+        this.connectionDetails = connectionDetails;
+    }
+
+    /**
+     * Register a subscriber; it receives every change published after this call
+     * @param subscriber subscriber to add
+     */
+    public void subscribe(EmployeeChangeSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * @return true while the listener holds a connection subscribed to the channel
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "employee-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(2 * POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listening = true;
+                backoff = MIN_BACKOFF_MILLIS;
+                log.info("Listening for employee changes on channel {}", CHANNEL);
+                publish(EmployeeChange.reset());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        publish(parse(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Employee change listener lost its connection, retrying in {} ms", backoff, e);
+                }
+            } finally {
+                if (listening) {
+                    listening = false;
+                    subscribers.forEach(this::disconnect);
+                }
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private static EmployeeChange parse(String payload) {
+        try {
+            return EmployeeChange.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unreadable employee change payload '{}', resetting", payload);
+            return EmployeeChange.reset();
+        }
+    }
+
+    private void publish(EmployeeChange change) {
+        for (EmployeeChangeSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onChange(change);
+            } catch (RuntimeException e) {
+                log.error("Employee change subscriber {} failed on {}", subscriber, change, e);
+            }
+        }
+    }
+
+    private void disconnect(EmployeeChangeSubscriber subscriber) {
+        try {
+            subscriber.onDisconnect();
+        } catch (RuntimeException e) {
+            log.error("Employee change subscriber {} failed on disconnect", subscriber, e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams the whole employees table to an {@link OutputStream} without materializing it.
+ * <p>
+ * Rows are read through server-side cursors ({@code fetchSize}) inside a REPEATABLE READ transaction.
+ * Large tables are split into id ranges that are scanned in parallel, each worker on its own connection
+ * importing the snapshot exported by the coordinating transaction, so all ranges see the same data.
+ * Workers encode rows into fixed-size chunks handed to the caller through a bounded queue; chunks of
+ * different ranges interleave, so the output is not ordered by id.
+ */
+@Repository
+public class PostgresEmployeeExporter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresEmployeeExporter.class);
+
+    /**
+     * Encodes one employee onto a stream.
+     */
+    @FunctionalInterface
+    public interface RowWriter {
+        void write(Employee employee, OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(Employee employee) throws IOException;
+    }
+
+    // SQL statements
+    private static final String SQL_EXPORT_SNAPSHOT = "SELECT pg_export_snapshot(), min(id), max(id) FROM employees";
+    private static final String SQL_SET_SNAPSHOT = "SET TRANSACTION SNAPSHOT '%s'";
+    private static final String SQL_SCAN_RANGE = "SELECT id, first_name, last_name, email, department_id, version FROM employees WHERE id BETWEEN ? AND ?";
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static final byte[] END_OF_RANGE = new byte[0];
+
+    private final DataSource dataSource;
+    private final DepartmentDictionary departments;
+    private final int fetchSize;
+    private final int parallelism;
+    private final long minIdsPerPartition;
+    private final ExecutorService executor;
+
+    public PostgresEmployeeExporter(DataSource dataSource,
+                                    DepartmentDictionary departments,
+                                    @Value("${employee.export.fetch-size:1000}") int fetchSize,
+                                    @Value("${employee.export.parallelism:4}") int parallelism,
+                                    @Value("${employee.export.min-ids-per-partition:50000}") long minIdsPerPartition) {
+        this.dataSource = dataSource;
+        this.departments = departments;
+        this.fetchSize = fetchSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.minIdsPerPartition = Math.max(1, minIdsPerPartition);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "employee-export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Write every employee to the stream
+     * @param writer row encoder
+     * @param out destination; written only from the calling thread
+     * @return number of rows exported
+     */
+    public long export(RowWriter writer, OutputStream out) throws SQLException, IOException {
+        try (Connection coordinator = dataSource.getConnection()) {
+            beginSnapshotTransaction(coordinator);
+            try {
+                String snapshot;
+                long minId;
+                long maxId;
+                try (Statement statement = coordinator.createStatement();
+                     ResultSet rs = statement.executeQuery(SQL_EXPORT_SNAPSHOT)) {
+                    rs.next();
+                    snapshot = rs.getString(1);
+                    minId = rs.getLong(2);
+                    if (rs.wasNull()) {
+                        return 0;
+                    }
+                    maxId = rs.getLong(3);
+                }
+
+                long span = maxId - minId + 1;
+                int partitions = (int) Math.min(parallelism, Math.max(1, span / minIdsPerPartition));
+                if (partitions == 1) {
+                    AtomicLong rows = new AtomicLong();
+                    scan(coordinator, minId, maxId, employee -> {
+                        writer.write(employee, out);
+                        rows.incrementAndGet();
+                    });
+                    return rows.get();
+                }
+
+                log.debug("Exporting ids {}..{} in {} partitions from snapshot {}", minId, maxId, partitions, snapshot);
+                return exportPartitioned(snapshot, minId, span, partitions, writer, out);
+            } finally {
+                coordinator.rollback();
+            }
+        }
+    }
+
+    private long exportPartitioned(String snapshot, long minId, long span, int partitions,
+                                   RowWriter writer, OutputStream out) throws SQLException, IOException {
+        BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(partitions * 4);
+        AtomicBoolean aborted = new AtomicBoolean();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicLong rows = new AtomicLong();
+
+        List<Future<?>> workers = new ArrayList<>(partitions);
+        long partitionSize = (span + partitions - 1) / partitions;
+        for (int i = 0; i < partitions; i++) {
+            long from = minId + i * partitionSize;
+            long to = Math.min(from + partitionSize - 1, minId + span - 1);
+            workers.add(executor.submit(() -> {
+                try {
+                    exportRange(snapshot, from, to, writer, chunks, aborted, rows);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                    aborted.set(true);
+                } finally {
+                    offer(chunks, END_OF_RANGE, aborted, true);
+                }
+            }));
+        }
+
+        boolean drained = false;
+        try {
+            int running = partitions;
+            while (running > 0 && !aborted.get()) {
+                byte[] chunk = chunks.poll(100, TimeUnit.MILLISECONDS);
+                if (chunk == END_OF_RANGE) {
+                    running--;
+                } else if (chunk != null) {
+                    out.write(chunk);
+                }
+            }
+            drained = running == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } finally {
+            // Stop the workers if the client went away; they release their connections on their own
+            if (!drained) {
+                aborted.set(true);
+            }
+            awaitWorkers(workers, aborted);
+        }
+
+        Exception e = failure.get();
+        if (e instanceof SQLException sqlException) {
+            throw sqlException;
+        } else if (e instanceof IOException ioException) {
+            throw ioException;
+        } else if (e != null) {
+            throw new IllegalStateException("Export failed", e);
+        }
+        return rows.get();
+    }
+
+    private void exportRange(String snapshot, long from, long to, RowWriter writer,
+                             BlockingQueue<byte[]> chunks, AtomicBoolean aborted, AtomicLong rows)
+            throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            beginSnapshotTransaction(connection);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(String.format(SQL_SET_SNAPSHOT, snapshot));
+                }
+
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(CHUNK_BYTES + 1024);
+                scan(connection, from, to, employee -> {
+                    writer.write(employee, buffer);
+                    rows.incrementAndGet();
+                    if (buffer.size() >= CHUNK_BYTES) {
+                        publish(chunks, buffer, aborted);
+                    }
+                });
+                if (buffer.size() > 0) {
+                    publish(chunks, buffer, aborted);
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private void scan(Connection connection, long from, long to, RowHandler handler) throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_SCAN_RANGE)) {
+            // A positive fetch size inside a transaction makes pgjdbc read through a server-side cursor
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, from);
+            statement.setLong(2, to);
+            RowMapper<Employee> mapper = EmployeeRowMapper.employees(departments);
+            try (ResultSet rs = statement.executeQuery()) {
+                for (int rowNum = 0; rs.next(); rowNum++) {
+                    handler.handle(mapper.mapRow(rs, rowNum));
+                }
+            }
+        }
+    }
+
+    private void beginSnapshotTransaction(Connection connection) throws SQLException {
+        // Isolation has to be set before the transaction starts, SET TRANSACTION SNAPSHOT must be its first statement
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setAutoCommit(false);
+    }
+
+    private void publish(BlockingQueue<byte[]> chunks, ByteArrayOutputStream buffer, AtomicBoolean aborted)
+            throws IOException {
+        if (!offer(chunks, buffer.toByteArray(), aborted, false)) {
+            throw new InterruptedIOException("Export aborted");
+        }
+        buffer.reset();
+    }
+
+    private boolean offer(BlockingQueue<byte[]> chunks, byte[] chunk, AtomicBoolean aborted, boolean ignoreInterrupt) {
+        try {
+            while (!aborted.get()) {
+                if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            if (!ignoreInterrupt) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return false;
+    }
+
+    private void awaitWorkers(List<Future<?>> workers, AtomicBoolean aborted) {
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                aborted.set(true);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // already recorded by the worker
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeImportResult;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk loads employees from CSV with PostgreSQL {@code COPY}.
+ * Rows are streamed into a temporary staging table, duplicate emails are recorded in a second
+ * temporary table, departments not known yet are created, and the remaining rows are moved into
+ * {@code employees} with one INSERT ... SELECT.
+ */
+@Repository
+public class PostgresEmployeeImporter {
+
+    private final DataSource dataSource;
+
+    // SQL statements
+    private static final String SQL_CREATE_STAGING = "CREATE TEMP TABLE employees_staging ("
+            + "row_no BIGINT GENERATED ALWAYS AS IDENTITY, "
+            + "first_name VARCHAR(100) NOT NULL, "
+            + "last_name VARCHAR(100) NOT NULL, "
+            + "email VARCHAR(100) NOT NULL, "
+            + "department VARCHAR(100) NOT NULL"
+            + ") ON COMMIT DROP";
+    private static final String SQL_CREATE_CONFLICTS = "CREATE TEMP TABLE employees_import_conflicts ("
+            + "row_no BIGINT PRIMARY KEY, "
+            + "email VARCHAR(100) NOT NULL, "
+            + "reason VARCHAR(20) NOT NULL"
+            + ") ON COMMIT DROP";
+    private static final String SQL_COPY = "COPY employees_staging (first_name, last_name, email, department) "
+            + "FROM STDIN WITH (FORMAT csv, HEADER %s)";
+    private static final String SQL_ANALYZE_STAGING = "ANALYZE employees_staging";
+    private static final String SQL_FIND_CONFLICTS = "INSERT INTO employees_import_conflicts (row_no, email, reason) "
+            + "SELECT row_no, email, CASE WHEN rn > 1 THEN 'DUPLICATE_IN_FILE' ELSE 'ALREADY_EXISTS' END "
+            + "FROM (SELECT row_no, email, row_number() OVER (PARTITION BY email ORDER BY row_no) AS rn FROM employees_staging) s "
+            + "WHERE rn > 1 OR EXISTS (SELECT 1 FROM employees e WHERE e.email = s.email)";
+    // Only names that are missing, so that known departments do not use up identity values
+    private static final String SQL_CREATE_DEPARTMENTS = "INSERT INTO departments (name) "
+            + "SELECT DISTINCT department FROM employees_staging s "
+            + "WHERE NOT EXISTS (SELECT 1 FROM departments d WHERE d.name = s.department) "
+            + "ON CONFLICT (name) DO NOTHING";
+    private static final String SQL_INSERT_FROM_STAGING = "INSERT INTO employees (first_name, last_name, email, department_id) "
+            + "SELECT s.first_name, s.last_name, s.email, d.id FROM employees_staging s "
+            + "JOIN departments d ON d.name = s.department "
+            + "WHERE NOT EXISTS (SELECT 1 FROM employees_import_conflicts c WHERE c.row_no = s.row_no) "
+            + "ORDER BY s.row_no "
+            + "ON CONFLICT (email) DO NOTHING";
+    private static final String SQL_CONFLICT_SAMPLE = "SELECT row_no, email, reason FROM employees_import_conflicts ORDER BY row_no LIMIT ?";
+
+    public PostgresEmployeeImporter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Import employees from a CSV stream with the columns first_name, last_name, email, department.
+     * The stream is piped straight into COPY and never buffered as a whole.
+     * Rows whose email already exists, or appeared earlier in the same file, are skipped and reported.
+     * @param csv UTF-8 encoded CSV data
+     * @param header whether the first line is a header to skip
+     * @param conflictSampleSize maximum number of conflicting rows to list in the result
+     * @return import statistics
+     * @throws IOException if reading the stream fails; nothing is imported
+     */
+    // Checked exceptions would otherwise commit whatever was staged so far
+    @Transactional(rollbackFor = Exception.class)
+    public EmployeeImportResult importCsv(InputStream csv, boolean header, int conflictSampleSize)
+            throws SQLException, IOException {
+        long started = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+
+        long rowsRead;
+        long rowsInserted;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(SQL_CREATE_STAGING);
+            statement.execute(SQL_CREATE_CONFLICTS);
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            rowsRead = copyManager.copyIn(String.format(SQL_COPY, header), csv);
+
+            // Temp tables are never auto-analyzed; without statistics the anti-joins below plan badly
+            statement.execute(SQL_ANALYZE_STAGING);
+            statement.executeUpdate(SQL_FIND_CONFLICTS);
+            statement.executeUpdate(SQL_CREATE_DEPARTMENTS);
+            rowsInserted = statement.executeUpdate(SQL_INSERT_FROM_STAGING);
+        }
+
+        List<EmployeeImportResult.Conflict> sample = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(SQL_CONFLICT_SAMPLE)) {
+            statement.setInt(1, conflictSampleSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    sample.add(new EmployeeImportResult.Conflict(rs.getLong("row_no"), rs.getString("email"), rs.getString("reason")));
+                }
+            }
+        }
+
+        long durationNanos = System.nanoTime() - started;
+        double rowsPerSecond = durationNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / durationNanos;
+        return new EmployeeImportResult(
+                rowsRead,
+                rowsInserted,
+                rowsRead - rowsInserted,
+                sample,
+                durationNanos / 1_000_000,
+                rowsPerSecond);
+    }
+}
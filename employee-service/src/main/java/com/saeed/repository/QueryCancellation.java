@@ -0,0 +1,66 @@
+package com.saeed.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Lets another thread abort a query that is still running, e.g. because the user typed a newer filter.
+ * <p>
+ * The repository attaches every statement it runs on behalf of the query and detaches it when the statement is done.
+ * {@link #cancel()} asks the database to cancel the attached statement ({@link Statement#cancel()}), and any statement
+ * attached afterwards fails right away. Either way the query ends in a
+ * {@link org.springframework.dao.DataAccessException}; {@link #isCancelled()} tells it apart from a real failure.
+ */
+public final class QueryCancellation {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCancellation.class);
+
+    // SQLSTATE query_canceled, as the server reports a cancelled statement
+    private static final String QUERY_CANCELED = "57014";
+
+    private Statement statement;
+    private boolean cancelled;
+
+    /**
+     * Cancel the running statement, if any, and every later one
+     */
+    public void cancel() {
+        Statement running;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            running = statement;
+        }
+        if (running != null) {
+            // Sent over a connection of its own; the driver ignores it if the statement has finished meanwhile
+            try {
+                running.cancel();
+            } catch (SQLException e) {
+                log.debug("Cancelling a statement failed", e);
+            }
+        }
+    }
+
+    /**
+     * @return true once {@link #cancel()} was called
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    synchronized void attach(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query was cancelled", QUERY_CANCELED);
+        }
+        this.statement = statement;
+    }
+
+    synchronized void detach() {
+        statement = null;
+    }
+}
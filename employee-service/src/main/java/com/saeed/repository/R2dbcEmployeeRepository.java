@@ -0,0 +1,140 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC implementation on the same {@code employees} table as {@link JdbcEmployeeRepository}.
+ * <p>
+ * The repository owns its connection pool. Writes fire the same triggers as the blocking stack, so the
+ * caches of every node see them through {@code employee_changes}. All statements go to the primary.
+ * Department names are resolved in SQL, by joining {@code departments} and through {@code find_or_create_department},
+ * since the {@link DepartmentDictionary} may have to block on the database.
+ * Pool usage is published as {@code r2dbc.pool.*} with {@code name=r2dbc}.
+ */
+public class R2dbcEmployeeRepository implements ReactiveEmployeeRepository, DisposableBean, MeterBinder {
+
+    private static final String SQL_SELECT = "SELECT e.id, e.first_name, e.last_name, e.email, d.name AS department, e.version "
+            + "FROM employees e JOIN departments d ON d.id = e.department_id";
+    private static final String SQL_FIND_ALL = SQL_SELECT + " ORDER BY e.id";
+    private static final String SQL_FIND_BY_ID = SQL_SELECT + " WHERE e.id = :id";
+    // The department is known to be the one bound, so it is returned as given rather than looked up again
+    private static final String SQL_INSERT = "INSERT INTO employees (first_name, last_name, email, department_id) "
+            + "VALUES (:firstName, :lastName, :email, find_or_create_department(:department)) "
+            + "RETURNING id, first_name, last_name, email, CAST(:department AS VARCHAR) AS department, version";
+    private static final String SQL_UPDATE = "UPDATE employees SET first_name = :firstName, last_name = :lastName, "
+            + "email = :email, department_id = find_or_create_department(:department), version = version + 1 "
+            + "WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version) "
+            + "RETURNING id, first_name, last_name, email, CAST(:department AS VARCHAR) AS department, version";
+    private static final String SQL_VERSION_BY_ID = "SELECT version FROM employees WHERE id = :id";
+    private static final String SQL_DELETE = "DELETE FROM employees WHERE id = :id";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    /**
+     * @param connectionPool pool to run statements on; closed with this repository
+     * @param fetchSize rows per cursor fetch when streaming
+     */
+    public R2dbcEmployeeRepository(ConnectionPool connectionPool, int fetchSize) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Flux<Employee> findAll() {
+        // With a fetch size the driver reads the portal in chunks as demand arrives
+        return databaseClient.sql(SQL_FIND_ALL)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(R2dbcEmployeeRepository::mapEmployee)
+                .all();
+    }
+
+    @Override
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SQL_FIND_BY_ID)
+                .bind("id", id)
+                .map(R2dbcEmployeeRepository::mapEmployee)
+                .one();
+    }
+
+    @Override
+    public Mono<Employee> save(Employee employee) {
+        return bindFields(databaseClient.sql(SQL_INSERT), employee)
+                .map(R2dbcEmployeeRepository::mapEmployee)
+                .one();
+    }
+
+    @Override
+    public Mono<Employee> update(Employee employee) {
+        DatabaseClient.GenericExecuteSpec spec = bindFields(databaseClient.sql(SQL_UPDATE), employee)
+                .bind("id", employee.getId());
+        spec = employee.getVersion() == null ? spec.bindNull("version", Long.class) : spec.bind("version", employee.getVersion());
+
+        Mono<Employee> updated = spec.map(R2dbcEmployeeRepository::mapEmployee).one();
+        if (employee.getVersion() == null) {
+            return updated;
+        }
+        // No row: either the employee is gone, or it is at another version
+        return updated.switchIfEmpty(databaseClient.sql(SQL_VERSION_BY_ID)
+                .bind("id", employee.getId())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(current -> Mono.<Employee>error(new OptimisticLockingFailureException(
+                        "Employee " + employee.getId() + " is at version " + current
+                                + ", not " + employee.getVersion()))));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Long id) {
+        return databaseClient.sql(SQL_DELETE)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(count -> count > 0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ConnectionPoolMetrics(connectionPool, "r2dbc", Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec spec, Employee employee) {
+        spec = bindString(spec, "firstName", employee.getFirstName());
+        spec = bindString(spec, "lastName", employee.getLastName());
+        spec = bindString(spec, "email", employee.getEmail());
+        return bindString(spec, "department", employee.getDepartment());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindString(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private static Employee mapEmployee(Readable row) {
+        return new Employee(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email", String.class),
+                row.get("department", String.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking repository interface for Employee entity
+ */
+public interface ReactiveEmployeeRepository {
+
+    /**
+     * Stream all employees. Rows are fetched from the database as the subscriber requests them,
+     * so a slow consumer holds back the cursor instead of buffering the table.
+     * @return all employees ordered by id
+     */
+    Flux<Employee> findAll();
+
+    /**
+     * Find employee by id
+     * @param id employee id
+     * @return the employee, or empty if not found
+     */
+    Mono<Employee> findById(Long id);
+
+    /**
+     * Save a new employee
+     * @param employee employee to save
+     * @return the saved employee with its id and version
+     */
+    Mono<Employee> save(Employee employee);
+
+    /**
+     * Update an existing employee, bumping its version. A non-null version makes the update conditional
+     * on that version, as in {@link EmployeeRepository#update(Employee)}.
+     * @param employee employee to update
+     * @return the employee as stored, or empty if it does not exist; fails with
+     *         {@link org.springframework.dao.OptimisticLockingFailureException} if its version has moved on
+     */
+    Mono<Employee> update(Employee employee);
+
+    /**
+     * Delete employee by id
+     * @param id employee id
+     * @return true if an employee was deleted
+     */
+    Mono<Boolean> deleteById(Long id);
+}
@@ -0,0 +1,103 @@
+package com.saeed.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain(String)} is true for every string added, and for a string
+ * never added with about the false positive rate the filter was sized for, as long as no more strings than expected are
+ * added. Strings cannot be removed; a filter holding many removed strings is rebuilt instead.
+ * <p>
+ * Safe for concurrent use: bits are only ever set, with atomic updates, so a reader sees every string whose
+ * {@link #add(String)} completed before the read started.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    /**
+     * @param capacity number of strings the filter is sized for
+     * @param falsePositiveRate rate of false positives once {@code capacity} strings are added
+     */
+    BloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter size: " + capacity + ", " + falsePositiveRate);
+        }
+        // Optimal number of bits and hash functions, see e.g. Broder and Mitzenmacher, "Network Applications of Bloom Filters"
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return number of strings the filter is sized for
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return size of the bit array in bytes
+     */
+    long sizeInBytes() {
+        return bitCount / Byte.SIZE;
+    }
+
+    /**
+     * @param value string to add
+     */
+    void add(String value) {
+        long hash = hash(value);
+        long step = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * step) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * @param value string to look for
+     * @return false if the string was certainly never added
+     */
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        long step = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * step) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units, finished with a mix so that every output bit depends on every input bit
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // Finalizer of MurmurHash3
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,101 @@
+package com.saeed.service;
+
+import com.saeed.model.DepartmentStats;
+import com.saeed.repository.DepartmentStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the headcount per department from the counters in {@code department_stats} and reconciles them with
+ * the employees every {@code employee.stats.reconcile-interval}; a zero interval turns reconciliation off.
+ */
+@Service
+public class DepartmentStatsService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentStatsService.class);
+
+    private final DepartmentStatsRepository departmentStatsRepository;
+    private final long intervalMillis;
+    private final Counter corrections;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public DepartmentStatsService(DepartmentStatsRepository departmentStatsRepository,
+                                  @Value("${employee.stats.reconcile-interval:5m}") Duration reconcileInterval,
+                                  MeterRegistry meterRegistry) {
+        this.departmentStatsRepository = departmentStatsRepository;
+        this.intervalMillis = reconcileInterval.toMillis();
+        this.corrections = Counter.builder("employee.stats.corrections")
+                .description("Department counters found to have drifted from the employees and corrected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the headcount per department
+     * @return departments with at least one employee, and the total
+     */
+    public DepartmentStats getDepartmentStats() {
+        return departmentStatsRepository.findAll();
+    }
+
+    /**
+     * Reconcile the counters once
+     * @return correction applied per department
+     */
+    public Map<String, Long> reconcile() {
+        Map<String, Long> drift = departmentStatsRepository.reconcile();
+        if (!drift.isEmpty()) {
+            corrections.increment(drift.size());
+            log.warn("Corrected department counters that had drifted: {}", drift);
+        }
+        return drift;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            log.warn("Reconciling department counters failed, retrying in {} ms", intervalMillis, e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "department-stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
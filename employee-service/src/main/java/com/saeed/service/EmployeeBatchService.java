@@ -0,0 +1,220 @@
+package com.saeed.service;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeBatchOperation;
+import com.saeed.model.EmployeeBatchOperation.Op;
+import com.saeed.model.EmployeeBatchResult;
+import com.saeed.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executes mixed create/update/delete batches.
+ * Consecutive operations of the same kind are grouped into chunks of at most {@code employee.batch.chunk-size}
+ * items; each chunk is one JDBC round-trip and one transaction. The chunk size may not exceed
+ * {@code spring.jdbc.template.max-rows}, which also caps the ids an INSERT or DELETE reads back with RETURNING. If a chunk fails, its operations are retried
+ * one by one so that a single bad item only fails itself. Operations giving an employee an email that the
+ * {@link EmployeeEmailIndex} knows to be taken fail with 409 up front, so they cannot fail a whole chunk.
+ * A request may hold at most {@code employee.batch.max-operations} operations.
+ */
+@Service
+public class EmployeeBatchService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEmailIndex emailIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxOperations;
+
+    @Autowired
+    public EmployeeBatchService(EmployeeRepository employeeRepository,
+                                EmployeeEmailIndex emailIndex,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${employee.batch.chunk-size:500}") int chunkSize,
+                                @Value("${employee.batch.max-operations:10000}") int maxOperations,
+                                @Value("${spring.jdbc.template.max-rows:-1}") int maxRows) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("employee.batch.chunk-size must be positive");
+        }
+        if (maxRows > 0 && chunkSize > maxRows) {
+            throw new IllegalArgumentException("employee.batch.chunk-size must not exceed spring.jdbc.template.max-rows ("
+                    + maxRows + ")");
+        }
+        if (maxOperations < 1) {
+            throw new IllegalArgumentException("employee.batch.max-operations must be positive");
+        }
+        this.employeeRepository = employeeRepository;
+        this.emailIndex = emailIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Execute the operations in request order
+     * @param operations operations to execute
+     * @return one result per operation, in the same order
+     * @throws IllegalArgumentException if there are more than {@code employee.batch.max-operations} operations;
+     *                                  nothing is executed
+     */
+    public List<EmployeeBatchResult> execute(List<EmployeeBatchOperation> operations) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("A batch may hold at most " + maxOperations + " operations, got "
+                    + operations.size());
+        }
+        EmployeeBatchResult[] results = new EmployeeBatchResult[operations.size()];
+
+        Op currentOp = null;
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < operations.size(); i++) {
+            EmployeeBatchOperation operation = operations.get(i);
+            String problem = validate(operation);
+            if (problem != null) {
+                results[i] = EmployeeBatchResult.failure(i, operation == null ? null : operation.op(),
+                        operation == null ? null : operation.id(), HttpStatus.BAD_REQUEST.value(), problem);
+                continue;
+            }
+            if (operation.op() != Op.DELETE && emailIndex.isTaken(operation.employee().getEmail(),
+                    operation.op() == Op.CREATE ? null : operation.id())) {
+                results[i] = EmployeeBatchResult.failure(i, operation.op(), operation.id(), HttpStatus.CONFLICT.value(),
+                        "Email already in use: " + operation.employee().getEmail());
+                continue;
+            }
+
+            if (operation.op() != currentOp || chunk.size() == chunkSize) {
+                executeChunk(currentOp, chunk, operations, results);
+                chunk = new ArrayList<>(chunkSize);
+                currentOp = operation.op();
+            }
+            chunk.add(i);
+        }
+        executeChunk(currentOp, chunk, operations, results);
+
+        return Arrays.asList(results);
+    }
+
+    private String validate(EmployeeBatchOperation operation) {
+        if (operation == null || operation.op() == null) {
+            return "Operation type is required";
+        }
+        if (operation.op() != Op.CREATE && operation.id() == null) {
+            return "Employee id is required for " + operation.op();
+        }
+        if (operation.op() != Op.DELETE && operation.employee() == null) {
+            return "Employee data is required for " + operation.op();
+        }
+        return null;
+    }
+
+    private void executeChunk(Op op, List<Integer> indexes, List<EmployeeBatchOperation> operations,
+                              EmployeeBatchResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(op, indexes, operations, results));
+        } catch (DataAccessException e) {
+            if (indexes.size() > 1) {
+                // Isolate the offending item(s): rerun each operation in its own transaction
+                for (Integer index : indexes) {
+                    executeChunk(op, List.of(index), operations, results);
+                }
+            } else {
+                int index = indexes.get(0);
+                results[index] = EmployeeBatchResult.failure(index, op, operations.get(index).id(),
+                        statusFor(e).value(), e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void apply(Op op, List<Integer> indexes, List<EmployeeBatchOperation> operations,
+                       EmployeeBatchResult[] results) {
+        switch (op) {
+            case CREATE -> {
+                List<Employee> employees = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    Employee employee = operations.get(index).employee();
+                    employee.setId(null);
+                    employees.add(employee);
+                }
+                employeeRepository.saveAll(employees);
+                for (int i = 0; i < indexes.size(); i++) {
+                    int index = indexes.get(i);
+                    results[index] = EmployeeBatchResult.success(index, op, employees.get(i).getId(),
+                            HttpStatus.CREATED.value());
+                }
+            }
+            case UPDATE -> {
+                List<Employee> employees = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    EmployeeBatchOperation operation = operations.get(index);
+                    operation.employee().setId(operation.id());
+                    employees.add(operation.employee());
+                }
+                int[] counts = employeeRepository.updateAll(employees);
+                // A versioned update also misses an employee that is gone; only one that still exists is stale
+                List<Long> missed = new ArrayList<>();
+                for (int i = 0; i < indexes.size(); i++) {
+                    if (counts[i] == 0 && employees.get(i).getVersion() != null) {
+                        missed.add(employees.get(i).getId());
+                    }
+                }
+                Set<Long> existing = new HashSet<>();
+                if (!missed.isEmpty()) {
+                    employeeRepository.findAllById(missed).forEach(employee -> existing.add(employee.getId()));
+                }
+                for (int i = 0; i < indexes.size(); i++) {
+                    int index = indexes.get(i);
+                    Long id = operations.get(index).id();
+                    Long version = employees.get(i).getVersion();
+                    if (counts[i] > 0) {
+                        results[index] = EmployeeBatchResult.success(index, op, id, HttpStatus.OK.value());
+                    } else if (existing.contains(id)) {
+                        results[index] = EmployeeBatchResult.failure(index, op, id, HttpStatus.PRECONDITION_FAILED.value(),
+                                "Employee " + id + " does not exist in version " + version);
+                    } else {
+                        results[index] = EmployeeBatchResult.failure(index, op, id, HttpStatus.NOT_FOUND.value(),
+                                "Employee not found with id: " + id);
+                    }
+                }
+            }
+            case DELETE -> {
+                List<Long> ids = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    ids.add(operations.get(index).id());
+                }
+                Set<Long> deleted = new HashSet<>(employeeRepository.deleteAllById(ids));
+                for (Integer index : indexes) {
+                    Long id = operations.get(index).id();
+                    results[index] = deleted.contains(id)
+                            ? EmployeeBatchResult.success(index, op, id, HttpStatus.NO_CONTENT.value())
+                            : EmployeeBatchResult.failure(index, op, id, HttpStatus.NOT_FOUND.value(),
+                                    "Employee not found with id: " + id);
+                }
+            }
+        }
+    }
+
+    private HttpStatus statusFor(DataAccessException e) {
+        if (e instanceof DuplicateKeyException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
@@ -0,0 +1,325 @@
+package com.saeed.service;
+
+import com.saeed.model.EmployeeChange;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.repository.EmployeeChangeSubscriber;
+import com.saeed.repository.EmployeeOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams the employee change feed from {@code employee_outbox} to subscribers such as the SSE clients of
+ * {@code GET /api/employees/changes}.
+ * <p>
+ * A relay thread numbers committed outbox rows, reads the new events once per instance and hands them to every
+ * subscription's buffer. It runs every {@code employee.changes.poll-interval}, and right away when
+ * {@code employee_changes} announces a write. Each subscription has its own thread that first catches up from the
+ * outbox after the client's last event id, then sends from its buffer. A buffer holds at most
+ * {@code employee.changes.buffer-size} events; a subscriber that falls that far behind is evicted and can resume
+ * from its last event id, which costs a read of the outbox instead of memory here. Events are kept for
+ * {@code employee.changes.retention}; a client that cannot resume is sent a {@code RESET} first.
+ */
+@Service
+public class EmployeeChangeFeedService implements SmartLifecycle, EmployeeChangeSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeedService.class);
+
+    private static final long PRUNE_INTERVAL_MILLIS = 60_000;
+    private static final int PRUNE_BATCH_SIZE = 10_000;
+
+    /**
+     * Receives the events of one subscription, on that subscription's thread
+     */
+    public interface Sink {
+
+        /**
+         * @param event next event, or a {@code RESET}
+         */
+        void send(EmployeeChangeEvent event) throws IOException;
+
+        /**
+         * Nothing happened for a while; lets a dead connection surface as an {@link IOException}
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * The subscription ended: the subscriber was evicted, failed, or the application is stopping
+         */
+        void close();
+    }
+
+    /**
+     * A subscription started by {@link #subscribe(Long, Sink)}
+     */
+    public interface Subscription {
+
+        /**
+         * End the subscription now, e.g. because its client went away, rather than when sending to it next fails.
+         * Frees its place among {@code employee.changes.max-subscribers} at once; its sink is closed shortly after.
+         */
+        void end();
+    }
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final long pollIntervalMillis;
+    private final Duration retention;
+    private final int batchSize;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long heartbeatMillis;
+
+    private final Set<Subscriber> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final Counter evictions;
+
+    private volatile ScheduledExecutorService scheduler;
+    // Last event handed to the subscriptions, only used on the relay thread
+    private long relayedEventId = -1;
+    private long lastPruneMillis;
+
+    @Autowired
+    public EmployeeChangeFeedService(EmployeeOutboxRepository outboxRepository,
+                                     @Value("${employee.changes.poll-interval:500ms}") Duration pollInterval,
+                                     @Value("${employee.changes.retention:24h}") Duration retention,
+                                     @Value("${employee.changes.batch-size:500}") int batchSize,
+                                     @Value("${employee.changes.buffer-size:1000}") int bufferSize,
+                                     @Value("${employee.changes.max-subscribers:1000}") int maxSubscribers,
+                                     @Value("${employee.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                     MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.evictions = Counter.builder("employee.changes.evictions")
+                .description("Change feed subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("employee.changes.subscribers", subscriptions, Set::size)
+                .description("Open change feed subscriptions on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start sending events to a subscriber, on a thread of its own
+     * @param lastEventId id of the last event the subscriber has seen, or null for a new subscriber, which is
+     *                    sent a {@code RESET} followed by every later event
+     * @param sink receiver of the events
+     * @return the subscription, to end it early
+     * @throws RejectedExecutionException if {@code employee.changes.max-subscribers} are subscribed already
+     */
+    public Subscription subscribe(Long lastEventId, Sink sink) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many change feed subscribers");
+        }
+        Subscriber subscriber = new Subscriber(sink);
+        // Registered before catching up, so that every event is either read from the outbox or relayed to the buffer
+        subscriptions.add(subscriber);
+        Thread.ofVirtual().name("employee-changes-subscriber").start(() -> subscriber.run(lastEventId));
+        return subscriber;
+    }
+
+    @Override
+    public void onChange(EmployeeChange change) {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null && wakeupPending.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::relayQuietly);
+            } catch (RejectedExecutionException e) {
+                // Stopping
+            }
+        }
+    }
+
+    /**
+     * Number pending outbox rows and hand the new events to the subscriptions once
+     */
+    void relay() {
+        wakeupPending.set(false);
+        while (outboxRepository.sequence(batchSize) == batchSize) {
+            // More rows are waiting
+        }
+
+        if (relayedEventId < 0 || subscriptions.isEmpty()) {
+            // Read before looking at the subscriptions: one registering after this catches up to at least here by itself.
+            // One registered before the first relay may have caught up to less, and reads the gap when it sees it.
+            long head = outboxRepository.findRange().lastEventId();
+            if (relayedEventId < 0 || subscriptions.isEmpty()) {
+                relayedEventId = head;
+            }
+        }
+        if (!subscriptions.isEmpty()) {
+            List<EmployeeChangeEvent> events;
+            do {
+                events = outboxRepository.findAfter(relayedEventId, batchSize);
+                if (!events.isEmpty()) {
+                    for (Subscriber subscriber : subscriptions) {
+                        subscriber.offer(events);
+                    }
+                    relayedEventId = events.getLast().id();
+                }
+            } while (events.size() == batchSize);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastPruneMillis >= PRUNE_INTERVAL_MILLIS) {
+            lastPruneMillis = now;
+            Instant cutoff = Instant.ofEpochMilli(now).minus(retention);
+            while (outboxRepository.deleteSequencedBefore(cutoff, PRUNE_BATCH_SIZE) == PRUNE_BATCH_SIZE) {
+                // More events are due
+            }
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (DataAccessException e) {
+            log.warn("Relaying employee changes failed, retrying in {} ms", pollIntervalMillis, e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-changes-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::relayQuietly, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        subscriptions.forEach(Subscriber::end);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private final class Subscriber implements Subscription {
+
+        // Marks the end of the buffer
+        private static final EmployeeChangeEvent END = EmployeeChangeEvent.reset(-1);
+
+        private final Sink sink;
+        private final BlockingQueue<EmployeeChangeEvent> buffer = new ArrayBlockingQueue<>(bufferSize + 1);
+        private volatile boolean ended;
+        private long cursor;
+
+        private Subscriber(Sink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Buffer relayed events, evicting the subscriber if they do not fit; called by the relay thread
+         */
+        void offer(List<EmployeeChangeEvent> events) {
+            if (ended) {
+                return;
+            }
+            if (buffer.remainingCapacity() <= events.size()) {
+                evictions.increment();
+                log.info("Evicting a change feed subscriber more than {} events behind", bufferSize);
+                end();
+                return;
+            }
+            buffer.addAll(events);
+        }
+
+        /**
+         * Make the subscription thread close the sink; the events still buffered are dropped
+         */
+        @Override
+        public void end() {
+            ended = true;
+            subscriptions.remove(this);
+            buffer.clear();
+            buffer.offer(END);
+        }
+
+        void run(Long lastEventId) {
+            try {
+                EmployeeOutboxRepository.Range range = outboxRepository.findRange();
+                if (lastEventId != null && range.canResumeAfter(lastEventId)) {
+                    cursor = lastEventId;
+                } else {
+                    send(EmployeeChangeEvent.reset(range.lastEventId()));
+                }
+
+                // Events relayed in the meantime wait in the buffer
+                catchUp();
+
+                while (!ended) {
+                    EmployeeChangeEvent event = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        sink.heartbeat();
+                        continue;
+                    }
+                    if (event != END && event.id() > cursor + 1) {
+                        // Event ids have no gaps, so the relay started after the point caught up to
+                        catchUp();
+                    }
+                    if (event != END && event.id() > cursor) {
+                        send(event);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Change feed subscriber disconnected", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                ended = true;
+                subscriptions.remove(this);
+                sink.close();
+            }
+        }
+
+        private void catchUp() throws IOException {
+            List<EmployeeChangeEvent> events;
+            do {
+                events = outboxRepository.findAfter(cursor, batchSize);
+                for (EmployeeChangeEvent event : events) {
+                    send(event);
+                }
+            } while (events.size() == batchSize && !ended);
+        }
+
+        private void send(EmployeeChangeEvent event) throws IOException {
+            sink.send(event);
+            cursor = event.id();
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.saeed.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeSort;
+import com.saeed.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Node-local index of the email address of every employee, so that a duplicate email can be rejected before it
+ * reaches the {@code UNIQUE} constraint of {@code employees.email} and aborts a transaction.
+ * <p>
+ * A {@link BloomFilter} in front of an exact map from email to employee id answers most lookups of a free email
+ * without touching the map. The index is loaded when the {@link EmployeeChangeFeedService} sends its first
+ * {@code RESET} and afterwards follows the feed, so writes made by other nodes show up within the feed's latency;
+ * writes made here are applied as soon as they commit. Events older than the state held are recognised by the
+ * employee's version and skipped; an email that seems to belong to two employees is settled by reading both.
+ * <p>
+ * The constraint stays the authority: while the index is not loaded it reports every email as free, and an email
+ * taken moments ago on another node may still be reported free.
+ * <p>
+ * The database is never read while the index is locked: writes are applied after their commit on request threads,
+ * which are virtual, and must not wait for a reload, nor pin their carrier while waiting. A reload reads the table
+ * unlocked and replays the changes applied meanwhile onto what it read before swapping it in.
+ */
+@Component
+public class EmployeeEmailIndex implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailIndex.class);
+
+    // Stays within spring.jdbc.template.max-rows
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final Set<EmployeeField> LOAD_FIELDS = EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL, EmployeeField.VERSION);
+    private static final int MIN_FILTER_CAPACITY = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /**
+     * What the index knows about one employee
+     * @param email email address
+     * @param version version the email was read in
+     */
+    private record Entry(String email, long version) {
+    }
+
+    /**
+     * A change applied while a reload reads the table
+     * @param id employee id
+     * @param entry new state, or null if the employee was deleted
+     */
+    private record Change(long id, Entry entry) {
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeChangeFeedService changeFeedService;
+    private final ObjectReader employeeReader;
+
+    // Guards the writes below; never held across a database call
+    private final ReentrantLock lock = new ReentrantLock();
+    // Lets one reload at a time read the table
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Written under the lock, read without it
+    private volatile Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> owners = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(MIN_FILTER_CAPACITY, FALSE_POSITIVE_RATE);
+    private volatile boolean loaded;
+    // Emails added to the filter since it was built, guarded by the lock
+    private int filterInsertions;
+    // Changes applied while a reload reads the table, or null if none does; guarded by the lock
+    private List<Change> missedByReload;
+    private volatile Long lastEventId;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    @Autowired
+    public EmployeeEmailIndex(EmployeeRepository employeeRepository, EmployeeChangeFeedService changeFeedService,
+                              ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.changeFeedService = changeFeedService;
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * @return true if the index holds every employee and follows their changes
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return number of emails held
+     */
+    public int size() {
+        return owners.size();
+    }
+
+    /**
+     * @param email email address, compared exactly, as the unique constraint compares it
+     * @param id the employee that is to have the email, or null for a new employee
+     * @return true if another employee has the email; false if none has or the index is not loaded
+     */
+    public boolean isTaken(String email, Long id) {
+        if (email == null || !loaded || !filter.mightContain(email)) {
+            return false;
+        }
+        Long owner = owners.get(email);
+        return owner != null && !owner.equals(id);
+    }
+
+    /**
+     * Record an employee written by this node once its transaction commits, ahead of the change feed
+     * @param employee the employee as stored, with its version
+     */
+    public void put(Employee employee) {
+        if (employee.getId() == null || employee.getEmail() == null || employee.getVersion() == null) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                apply(employee.getId(), employee.getEmail(), employee.getVersion());
+            } catch (DataAccessException e) {
+                failed("employee " + employee.getId() + " written here", e);
+            }
+        });
+    }
+
+    /**
+     * Forget an employee deleted by this node once its transaction commits, ahead of the change feed
+     * @param id employee id
+     */
+    public void remove(Long id) {
+        afterCommit(() -> delete(id));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.email-index.size", this, EmployeeEmailIndex::size)
+                .description("Emails held by the email index")
+                .register(registry);
+        Gauge.builder("employee.email-index.loaded", this, index -> index.isLoaded() ? 1 : 0)
+                .description("1 while the email index rejects duplicates, 0 while only the database does")
+                .register(registry);
+    }
+
+    /**
+     * Apply an event of the change feed
+     * @param event event of the change feed
+     */
+    void receive(EmployeeChangeEvent event) {
+        lastEventId = event.id();
+        if (event.type() == EmployeeChangeEvent.Type.RESET) {
+            reload();
+            return;
+        }
+        if (!loaded) {
+            // The next reload reads this change
+            return;
+        }
+        try {
+            if (event.type() == EmployeeChangeEvent.Type.DELETED) {
+                delete(event.employeeId());
+                return;
+            }
+            Employee employee = read(event);
+            if (employee == null || employee.getEmail() == null || employee.getVersion() == null) {
+                refresh(List.of(event.employeeId()));
+            } else {
+                apply(employee.getId(), employee.getEmail(), employee.getVersion());
+            }
+        } catch (DataAccessException e) {
+            failed("change event " + event.id(), e);
+        }
+    }
+
+    private void failed(String change, DataAccessException e) {
+        loaded = false;
+        log.warn("Could not apply {} to the email index, reloading in {} ms", change, RETRY_DELAY_MILLIS, e);
+        schedule(this::reload);
+    }
+
+    private Employee read(EmployeeChangeEvent event) {
+        try {
+            return employeeReader.readValue(event.employee());
+        } catch (IOException e) {
+            log.warn("Unreadable employee in change event {}, reading it from the database", event.id(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the index with a full read of the employees table
+     */
+    void reload() {
+        reloadLock.lock();
+        try {
+            loaded = false;
+            lock.lock();
+            try {
+                missedByReload = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            Map<Long, Entry> freshEntries = new ConcurrentHashMap<>();
+            Map<String, Long> freshOwners = new ConcurrentHashMap<>();
+            try {
+                List<Employee> page = employeeRepository.findPage(null, null, LOAD_PAGE_SIZE, EmployeeSort.ID, LOAD_FIELDS);
+                while (!page.isEmpty()) {
+                    for (Employee employee : page) {
+                        freshEntries.put(employee.getId(), new Entry(employee.getEmail(), employee.getVersion()));
+                        freshOwners.put(employee.getEmail(), employee.getId());
+                    }
+                    Long lastId = page.get(page.size() - 1).getId();
+                    page = page.size() < LOAD_PAGE_SIZE ? List.of()
+                            : employeeRepository.findPage(lastId, null, LOAD_PAGE_SIZE, EmployeeSort.ID, LOAD_FIELDS);
+                }
+            } catch (DataAccessException e) {
+                lock.lock();
+                try {
+                    missedByReload = null;
+                } finally {
+                    lock.unlock();
+                }
+                log.warn("Could not load the email index, retrying in {} ms", RETRY_DELAY_MILLIS, e);
+                schedule(this::reload);
+                return;
+            }
+
+            Set<Long> conflicts = new LinkedHashSet<>();
+            lock.lock();
+            try {
+                List<Change> missed = missedByReload;
+                missedByReload = null;
+                entries = freshEntries;
+                owners = freshOwners;
+                rebuildFilter();
+                for (Change change : missed) {
+                    if (change.entry() == null) {
+                        deleteLocked(change.id());
+                    } else {
+                        Long owner = applyLocked(change.id(), change.entry().email(), change.entry().version());
+                        if (owner != null) {
+                            conflicts.add(change.id());
+                            conflicts.add(owner);
+                        }
+                    }
+                }
+                loaded = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Loaded {} emails into the email index", freshOwners.size());
+            if (!conflicts.isEmpty()) {
+                refresh(conflicts);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void apply(long id, String email, long version) {
+        Long owner;
+        lock.lock();
+        try {
+            owner = applyLocked(id, email, version);
+        } finally {
+            lock.unlock();
+        }
+        if (owner != null) {
+            // One of the two is out of date, and the change feed cannot tell which
+            refresh(List.of(id, owner));
+        }
+    }
+
+    /**
+     * @return the other employee the email is held for, in which case nothing was applied; null once applied
+     */
+    private Long applyLocked(long id, String email, long version) {
+        Entry current = entries.get(id);
+        if (current != null && current.version() >= version) {
+            // Older than what is held, e.g. replayed after a reload
+            return null;
+        }
+        Long owner = owners.get(email);
+        if (owner != null && owner != id) {
+            return owner;
+        }
+        store(id, email, version);
+        return null;
+    }
+
+    private void delete(Long id) {
+        lock.lock();
+        try {
+            deleteLocked(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteLocked(long id) {
+        Entry current = entries.remove(id);
+        if (current != null) {
+            owners.remove(current.email(), id);
+        }
+        if (missedByReload != null) {
+            missedByReload.add(new Change(id, null));
+        }
+    }
+
+    private void store(long id, String email, long version) {
+        Entry current = entries.get(id);
+        if (current != null && !current.email().equals(email)) {
+            owners.remove(current.email(), id);
+        }
+        Entry entry = new Entry(email, version);
+        entries.put(id, entry);
+        owners.put(email, id);
+        addToFilter(email);
+        if (missedByReload != null) {
+            missedByReload.add(new Change(id, entry));
+        }
+    }
+
+    /**
+     * Replace what is held about some employees by what the database holds now, unless a newer version arrived while
+     * they were read. An email read for one of them that is held for yet another employee means that one is out of
+     * date too, so it is read in the next round.
+     */
+    private void refresh(Collection<Long> ids) {
+        Set<Long> seen = new HashSet<>(ids);
+        List<Long> pending = new ArrayList<>(ids);
+        while (!pending.isEmpty()) {
+            Map<Long, Employee> read = new HashMap<>();
+            employeeRepository.findAllById(pending).forEach(employee -> read.put(employee.getId(), employee));
+            List<Long> next = new ArrayList<>();
+            lock.lock();
+            try {
+                for (Long id : pending) {
+                    Employee employee = read.get(id);
+                    Entry current = entries.get(id);
+                    if (employee == null) {
+                        deleteLocked(id);
+                        continue;
+                    }
+                    if (current != null && current.version() > employee.getVersion()) {
+                        continue;
+                    }
+                    Long owner = owners.get(employee.getEmail());
+                    if (owner != null && !owner.equals(id) && seen.add(owner)) {
+                        deleteLocked(owner);
+                        next.add(owner);
+                    }
+                    store(id, employee.getEmail(), employee.getVersion());
+                }
+            } finally {
+                lock.unlock();
+            }
+            pending = next;
+        }
+    }
+
+    // Called with the lock held
+    private void addToFilter(String email) {
+        filter.add(email);
+        if (++filterInsertions > filter.capacity()) {
+            // Past its capacity the filter lets through more and more free emails
+            rebuildFilter();
+        }
+    }
+
+    // Called with the lock held
+    private void rebuildFilter() {
+        Collection<String> emails = owners.keySet();
+        BloomFilter fresh = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, 2 * emails.size()), FALSE_POSITIVE_RATE);
+        emails.forEach(fresh::add);
+        filter = fresh;
+        filterInsertions = 0;
+    }
+
+    /**
+     * Apply a local write once it is visible to everyone, so this node sees its own writes without waiting for the feed
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private void subscribe() {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            changeFeedService.subscribe(lastEventId, new EmployeeChangeFeedService.Sink() {
+                @Override
+                public void send(EmployeeChangeEvent event) {
+                    receive(event);
+                }
+
+                @Override
+                public void heartbeat() {
+                }
+
+                @Override
+                public void close() {
+                    schedule(EmployeeEmailIndex.this::subscribe);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Change feed is full, retrying in {} ms", RETRY_DELAY_MILLIS);
+            schedule(this::subscribe);
+        }
+    }
+
+    private void schedule(Runnable task) {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            try {
+                executor.schedule(task, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Stopping
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-email-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
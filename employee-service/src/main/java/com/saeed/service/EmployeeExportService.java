@@ -0,0 +1,88 @@
+package com.saeed.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeExportFormat;
+import com.saeed.repository.PostgresEmployeeExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class EmployeeExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeExportService.class);
+
+    private static final byte[] CSV_HEADER = "id,first_name,last_name,email,department\n".getBytes(StandardCharsets.UTF_8);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final PostgresEmployeeExporter exporter;
+    private final ObjectWriter jsonWriter;
+
+    @Autowired
+    public EmployeeExportService(PostgresEmployeeExporter exporter, ObjectMapper objectMapper) {
+        this.exporter = exporter;
+        // Rows are written one after another to the same stream, which must stay open
+        this.jsonWriter = objectMapper.writerFor(Employee.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Stream every employee in the given format
+     * @param format output format
+     * @param gzip whether to gzip the output
+     * @param out response stream
+     */
+    public void export(EmployeeExportFormat format, boolean gzip, OutputStream out) throws SQLException, IOException {
+        long started = System.nanoTime();
+        OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+
+        PostgresEmployeeExporter.RowWriter rowWriter = switch (format) {
+            case NDJSON -> (employee, stream) -> {
+                jsonWriter.writeValue(stream, employee);
+                stream.write('\n');
+            };
+            case CSV -> {
+                target.write(CSV_HEADER);
+                yield EmployeeExportService::writeCsvRow;
+            }
+        };
+
+        long rows = exporter.export(rowWriter, target);
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        target.flush();
+        log.info("Exported {} employees as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void writeCsvRow(Employee employee, OutputStream out) throws IOException {
+        StringBuilder line = new StringBuilder(128);
+        line.append(employee.getId()).append(',');
+        appendCsvField(line, employee.getFirstName()).append(',');
+        appendCsvField(line, employee.getLastName()).append(',');
+        appendCsvField(line, employee.getEmail()).append(',');
+        appendCsvField(line, employee.getDepartment()).append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StringBuilder appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
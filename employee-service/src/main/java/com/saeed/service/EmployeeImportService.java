@@ -0,0 +1,43 @@
+package com.saeed.service;
+
+import com.saeed.model.EmployeeImportResult;
+import com.saeed.repository.PostgresEmployeeImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+@Service
+public class EmployeeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private final PostgresEmployeeImporter importer;
+    private final int conflictSampleSize;
+
+    @Autowired
+    public EmployeeImportService(PostgresEmployeeImporter importer,
+                                 @Value("${employee.import.conflict-sample-size:100}") int conflictSampleSize) {
+        this.importer = importer;
+        this.conflictSampleSize = conflictSampleSize;
+    }
+
+    /**
+     * Bulk import employees from CSV
+     * @param csv UTF-8 CSV stream with the columns first_name, last_name, email, department
+     * @param header whether the first line is a header
+     * @return import statistics, including the rows skipped because of duplicate emails
+     */
+    public EmployeeImportResult importCsv(InputStream csv, boolean header) throws SQLException, IOException {
+        EmployeeImportResult result = importer.importCsv(csv, header, conflictSampleSize);
+        log.info("Imported {} of {} employees in {} ms ({} rows/s, {} conflicts)",
+                result.rowsInserted(), result.rowsRead(), result.durationMillis(),
+                Math.round(result.rowsPerSecond()), result.conflicts());
+        return result;
+    }
+}
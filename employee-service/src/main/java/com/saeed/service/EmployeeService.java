@@ -0,0 +1,258 @@
+package com.saeed.service;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeCursor;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeePage;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.repository.EmployeeRepository;
+import com.saeed.repository.QueryCancellation;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Timed(value = "employee.service", histogram = true)
+public class EmployeeService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 100;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEmailIndex emailIndex;
+    private final EmployeeSuggestIndex suggestIndex;
+
+    @Autowired
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeEmailIndex emailIndex,
+                           EmployeeSuggestIndex suggestIndex) {
+        this.employeeRepository = employeeRepository;
+        this.emailIndex = emailIndex;
+        this.suggestIndex = suggestIndex;
+    }
+
+    public List<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    /**
+     * Get all employees, reading only the selected fields from the database
+     * @param fields fields the caller needs; the others may be null
+     */
+    public List<Employee> getAllEmployees(Set<EmployeeField> fields) {
+        return employeeRepository.findAll(fields);
+    }
+
+    /**
+     * Get one page of employees in keyset order.
+     * @param cursor opaque cursor returned with the previous page, or null for the first page
+     * @param limit requested page size, clamped to {@link #MAX_PAGE_SIZE}; null for {@link #DEFAULT_PAGE_SIZE}
+     * @param sort sort order, must match the order the cursor was issued for
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort order
+     */
+    public EmployeePage getEmployeePage(String cursor, Integer limit, EmployeeSort sort) {
+        return getEmployeePage(cursor, limit, sort, employeeRepository::findPage);
+    }
+
+    /**
+     * Get one page of employees in keyset order, reading only the selected fields from the database
+     * @param fields fields the caller needs; the others may be null
+     * @see #getEmployeePage(String, Integer, EmployeeSort)
+     */
+    public EmployeePage getEmployeePage(String cursor, Integer limit, EmployeeSort sort, Set<EmployeeField> fields) {
+        return getEmployeePage(cursor, limit, sort,
+                (afterId, afterKey, rows, order) -> employeeRepository.findPage(afterId, afterKey, rows, order, fields));
+    }
+
+    private EmployeePage getEmployeePage(String cursor, Integer limit, EmployeeSort sort, PageQuery query) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        EmployeeCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = EmployeeCursor.decode(cursor);
+            if (after.sort() != sort) {
+                throw new IllegalArgumentException("Cursor was issued for sort order " + after.sort());
+            }
+        }
+
+        // Fetch one extra row to find out whether another page follows
+        List<Employee> rows = query.findPage(
+                after == null ? null : after.afterId(),
+                after == null ? null : after.afterKey(),
+                pageSize + 1,
+                sort);
+
+        if (rows.size() <= pageSize) {
+            return new EmployeePage(rows, null);
+        }
+        List<Employee> items = rows.subList(0, pageSize);
+        return new EmployeePage(items, EmployeeCursor.after(sort, items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Search employees by a substring of their first name, last name, email or department.
+     * @param term text to look for; a blank term returns the first employees by id
+     * @param limit maximum number of results, clamped to {@link #MAX_PAGE_SIZE}; null for {@link #DEFAULT_PAGE_SIZE}
+     * @return matching employees ordered by id
+     */
+    public List<Employee> searchEmployees(String term, Integer limit) {
+        int maxResults = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (term == null || term.isBlank()) {
+            return employeeRepository.findPage(null, null, maxResults, EmployeeSort.ID);
+        }
+        return employeeRepository.search(term.trim(), maxResults);
+    }
+
+    /**
+     * Suggest employees for a typed prefix of their first name, last name or email, ignoring case, from the in-memory
+     * suggest index.
+     * @param prefix typed prefix; a blank prefix has no suggestions
+     * @param limit maximum number of suggestions, clamped to {@link #MAX_SUGGESTIONS}; null for {@link #DEFAULT_SUGGESTIONS}
+     * @return matching employees ordered by the field that matched, or empty while the index is not loaded
+     */
+    public Optional<List<EmployeeSuggestion>> suggestEmployees(String prefix, Integer limit) {
+        if (!suggestIndex.isLoaded()) {
+            return Optional.empty();
+        }
+        int maxResults = limit == null ? DEFAULT_SUGGESTIONS : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return Optional.of(suggestIndex.suggest(prefix, maxResults));
+    }
+
+    /**
+     * Load the employees visible in a viewport
+     * @param filter optional search term; null or blank for all employees
+     * @param offset index of the first row
+     * @param limit number of rows
+     * @param sort sort order
+     * @param ascending sort direction
+     * @return employees in the window
+     */
+    public List<Employee> findEmployees(String filter, int offset, int limit, EmployeeSort sort, boolean ascending) {
+        return employeeRepository.findSlice(filter, offset, limit, sort, ascending);
+    }
+
+    /**
+     * Load the employees visible in a viewport, abortably from another thread
+     * @param cancellation handle to cancel the query with
+     * @see #findEmployees(String, int, int, EmployeeSort, boolean)
+     */
+    public List<Employee> findEmployees(String filter, int offset, int limit, EmployeeSort sort, boolean ascending,
+                                        QueryCancellation cancellation) {
+        return employeeRepository.findSlice(filter, offset, limit, sort, ascending, cancellation);
+    }
+
+    /**
+     * Count the employees matching a filter
+     * @param filter optional search term; null or blank for all employees
+     * @return number of matching employees
+     */
+    public long countEmployees(String filter) {
+        return employeeRepository.count(filter);
+    }
+
+    /**
+     * Count the employees matching a filter, abortably from another thread
+     * @param cancellation handle to cancel the query with
+     * @see #countEmployees(String)
+     */
+    public long countEmployees(String filter, QueryCancellation cancellation) {
+        return employeeRepository.count(filter, cancellation);
+    }
+
+    /**
+     * @return revision of the employee data; unchanged as long as no employee was written
+     */
+    public long getEmployeesRevision() {
+        return employeeRepository.currentRevision();
+    }
+
+    /**
+     * @return names of all departments, sorted
+     */
+    public List<String> getDepartments() {
+        return employeeRepository.findDepartments();
+    }
+
+    public Optional<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    /**
+     * Check an email against the in-memory email index, without reading the database
+     * @param email email address
+     * @param id the employee that is to have the email, or null for a new employee
+     * @return true if another employee is known to have the email
+     */
+    public boolean isEmailTaken(String email, Long id) {
+        return emailIndex.isTaken(email, id);
+    }
+
+    /**
+     * Create an employee.
+     * @param employee new employee; its id is ignored
+     * @return the employee as stored, with its id and version
+     * @throws DuplicateKeyException if another employee has the same email
+     */
+    @Transactional
+    public Employee createEmployee(Employee employee) {
+        // Ensure ID is null for new employees
+        employee.setId(null);
+        checkEmailAvailable(employee);
+        Employee saved = employeeRepository.save(employee);
+        emailIndex.put(saved);
+        return saved;
+    }
+
+    /**
+     * Update an employee in a single round-trip.
+     * @param id employee id
+     * @param employee new data; a non-null version makes the update conditional on that version
+     * @return the employee as stored, with its new version
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the employee was modified since that version
+     * @throws DuplicateKeyException if another employee has the same email
+     * @throws RuntimeException if the employee does not exist
+     */
+    @Transactional
+    public Employee updateEmployee(Long id, Employee employee) {
+        // Ensure the ID in the path matches the ID in the employee object
+        employee.setId(id);
+        checkEmailAvailable(employee);
+
+        Employee updated = employeeRepository.update(employee);
+        emailIndex.put(updated);
+        return updated;
+    }
+
+    @Transactional
+    public boolean deleteEmployee(Long id) {
+        boolean deleted = employeeRepository.deleteById(id);
+        if (deleted) {
+            emailIndex.remove(id);
+        }
+        return deleted;
+    }
+
+    /**
+     * Reject a known duplicate email before any statement is sent, rather than let the unique constraint abort the
+     * transaction; the constraint still catches duplicates the index does not know of yet
+     */
+    private void checkEmailAvailable(Employee employee) {
+        if (emailIndex.isTaken(employee.getEmail(), employee.getId())) {
+            throw new DuplicateKeyException("Email already in use: " + employee.getEmail());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<Employee> findPage(Long afterId, String afterKey, int limit, EmployeeSort sort);
+    }
+}
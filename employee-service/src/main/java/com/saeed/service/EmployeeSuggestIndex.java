@@ -0,0 +1,488 @@
+package com.saeed.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Node-local prefix index over the first name, last name and email of every employee, answering typeahead lookups
+ * without the database.
+ * <p>
+ * Most employees sit in a compact, immutable {@link SuggestSegment}. Changes go to a small overlay in front of it,
+ * which shadows the segment's entries for the changed employees; once the overlay holds more than an eighth of the
+ * segment, both are merged into a new segment. Lookups read whichever segment and overlay are current and never wait
+ * for a writer.
+ * <p>
+ * Like the {@link EmployeeEmailIndex}, the index is loaded when the {@link EmployeeChangeFeedService} sends its first
+ * {@code RESET} and afterwards follows the feed, skipping events older than the version it holds. Writes made here
+ * show up once the feed relays them.
+ * <p>
+ * Loading and compacting read the table or copy the whole segment, so they run without the lock, which only guards
+ * the overlay: the feed's subscriber is a virtual thread and must not pin its carrier for that long. Changes that
+ * arrive meanwhile are applied again to the result before it is published.
+ */
+@Component
+public class EmployeeSuggestIndex implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSuggestIndex.class);
+
+    // Stays within spring.jdbc.template.max-rows
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final Set<EmployeeField> LOAD_FIELDS = EnumSet.of(EmployeeField.ID, EmployeeField.FIRST_NAME,
+            EmployeeField.LAST_NAME, EmployeeField.EMAIL, EmployeeField.VERSION);
+    private static final int MIN_OVERLAY_SIZE = 1024;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /**
+     * A key of a changed employee, ordered like the keys of a segment
+     * @param key lower-cased field as UTF-8
+     * @param id employee id
+     */
+    private record OverlayKey(byte[] key, long id) {
+
+        static final Comparator<OverlayKey> ORDER = (a, b) -> {
+            int byKey = Arrays.compareUnsigned(a.key, b.key);
+            return byKey != 0 ? byKey : Long.compare(a.id, b.id);
+        };
+    }
+
+    /**
+     * A change that arrived while the index was being loaded
+     * @param id employee id
+     * @param entry the employee's new state, or null if it was deleted
+     */
+    private record Change(long id, SuggestSegment.Entry entry) {
+    }
+
+    /**
+     * A segment and the changes made since it was built
+     * @param segment the segment
+     * @param changes new state of each changed employee; empty if it was deleted
+     * @param keys keys of the changed employees that are not deleted
+     */
+    private record State(SuggestSegment segment, Map<Long, Optional<SuggestSegment.Entry>> changes,
+                         NavigableSet<OverlayKey> keys) {
+
+        State(SuggestSegment segment) {
+            this(segment, new ConcurrentHashMap<>(), new ConcurrentSkipListSet<>(OverlayKey.ORDER));
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeChangeFeedService changeFeedService;
+    private final ObjectReader employeeReader;
+
+    // Guards the writes below; never held while reading the table or building a segment
+    private final ReentrantLock lock = new ReentrantLock();
+    // Lets one reload at a time read the table
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Replaced and changed under the lock, read without it
+    private volatile State state = new State(SuggestSegment.EMPTY);
+    private volatile int size;
+    private volatile boolean loaded;
+    // Changes that arrived while a reload reads the table, or null if none does; guarded by the lock
+    private List<Change> missedByReload;
+    // True while a segment is being compacted; guarded by the lock
+    private boolean compacting;
+    private volatile Long lastEventId;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    @Autowired
+    public EmployeeSuggestIndex(EmployeeRepository employeeRepository, EmployeeChangeFeedService changeFeedService,
+                                ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.changeFeedService = changeFeedService;
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * @return true if the index holds every employee and follows their changes
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return number of employees held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return bytes taken by the segment, not counting the overlay of recent changes
+     */
+    public long segmentSizeInBytes() {
+        return state.segment().sizeInBytes();
+    }
+
+    /**
+     * Find employees whose first name, last name or email starts with a prefix, ignoring case
+     * @param prefix typed prefix; surrounding whitespace is ignored
+     * @param limit maximum number of employees
+     * @return matching employees ordered by the field that matched, each at most once; empty for a blank prefix
+     */
+    public List<EmployeeSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit < 1) {
+            return List.of();
+        }
+        byte[] key = SuggestSegment.key(prefix.strip());
+        State current = state;
+        SuggestSegment segment = current.segment();
+        Map<Long, EmployeeSuggestion> found = new LinkedHashMap<>();
+
+        // Merge the matching keys of the segment and of the overlay in key order
+        int k = segment.firstKey(key);
+        Iterator<OverlayKey> overlay = current.keys().tailSet(new OverlayKey(key, Long.MIN_VALUE)).iterator();
+        OverlayKey changed = next(overlay, key);
+        while (found.size() < limit) {
+            boolean inSegment = k < segment.keyCount() && segment.keyStartsWith(k, key);
+            if (!inSegment && changed == null) {
+                break;
+            }
+            if (inSegment && (changed == null || segment.compareKey(k, changed.key()) <= 0)) {
+                int slot = segment.slotOfKey(k++);
+                long id = segment.id(slot);
+                // Shadowed by the overlay, which holds the employee's keys if it still exists
+                if (!current.changes().containsKey(id) && !found.containsKey(id)) {
+                    found.put(id, segment.suggestion(slot));
+                }
+            } else {
+                Optional<SuggestSegment.Entry> entry = current.changes().get(changed.id());
+                if (entry != null && entry.isPresent()) {
+                    found.putIfAbsent(changed.id(), entry.get().suggestion());
+                }
+                changed = next(overlay, key);
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    private static OverlayKey next(Iterator<OverlayKey> overlay, byte[] prefix) {
+        if (!overlay.hasNext()) {
+            return null;
+        }
+        OverlayKey key = overlay.next();
+        boolean matches = key.key().length >= prefix.length
+                && Arrays.equals(key.key(), 0, prefix.length, prefix, 0, prefix.length);
+        return matches ? key : null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.suggest-index.size", this, EmployeeSuggestIndex::size)
+                .description("Employees held by the suggest index")
+                .register(registry);
+        Gauge.builder("employee.suggest-index.segment.bytes", this, EmployeeSuggestIndex::segmentSizeInBytes)
+                .description("Memory taken by the compact segment of the suggest index")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("employee.suggest-index.loaded", this, index -> index.isLoaded() ? 1 : 0)
+                .description("1 while the suggest index answers lookups")
+                .register(registry);
+    }
+
+    /**
+     * Apply an event of the change feed
+     * @param event event of the change feed
+     */
+    void receive(EmployeeChangeEvent event) {
+        lastEventId = event.id();
+        if (event.type() == EmployeeChangeEvent.Type.RESET) {
+            reload();
+            return;
+        }
+        if (event.type() == EmployeeChangeEvent.Type.DELETED) {
+            change(event.employeeId(), null);
+            return;
+        }
+        Employee employee = read(event);
+        if (employee != null && employee.getVersion() != null) {
+            change(employee.getId(), new SuggestSegment.Entry(EmployeeSuggestion.from(employee), employee.getVersion()));
+            return;
+        }
+        try {
+            List<Employee> current = employeeRepository.findAllById(List.of(event.employeeId()));
+            change(event.employeeId(), current.isEmpty() ? null
+                    : new SuggestSegment.Entry(EmployeeSuggestion.from(current.get(0)), current.get(0).getVersion()));
+        } catch (DataAccessException e) {
+            loaded = false;
+            log.warn("Could not apply change event {} to the suggest index, reloading in {} ms", event.id(), RETRY_DELAY_MILLIS, e);
+            schedule(this::reload);
+        }
+    }
+
+    private Employee read(EmployeeChangeEvent event) {
+        try {
+            return employeeReader.readValue(event.employee());
+        } catch (IOException e) {
+            log.warn("Unreadable employee in change event {}, reading it from the database", event.id(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the index with a full read of the employees table
+     */
+    void reload() {
+        reloadLock.lock();
+        try {
+            lock.lock();
+            try {
+                loaded = false;
+                missedByReload = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            SuggestSegment segment;
+            try {
+                List<SuggestSegment.Entry> entries = new ArrayList<>();
+                List<Employee> page = employeeRepository.findPage(null, null, LOAD_PAGE_SIZE, EmployeeSort.ID, LOAD_FIELDS);
+                while (!page.isEmpty()) {
+                    for (Employee employee : page) {
+                        entries.add(new SuggestSegment.Entry(EmployeeSuggestion.from(employee), employee.getVersion()));
+                    }
+                    Long lastId = page.get(page.size() - 1).getId();
+                    page = page.size() < LOAD_PAGE_SIZE ? List.of()
+                            : employeeRepository.findPage(lastId, null, LOAD_PAGE_SIZE, EmployeeSort.ID, LOAD_FIELDS);
+                }
+                segment = SuggestSegment.build(entries);
+            } catch (DataAccessException e) {
+                lock.lock();
+                try {
+                    missedByReload = null;
+                } finally {
+                    lock.unlock();
+                }
+                log.warn("Could not load the suggest index, retrying in {} ms", RETRY_DELAY_MILLIS, e);
+                schedule(this::reload);
+                return;
+            }
+
+            lock.lock();
+            try {
+                State fresh = new State(segment);
+                int freshSize = segment.size();
+                for (Change change : missedByReload) {
+                    freshSize += applyTo(fresh, change.id(), change.entry());
+                }
+                missedByReload = null;
+                state = fresh;
+                size = freshSize;
+                loaded = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Loaded {} employees into the suggest index ({} bytes)", segment.size(), segment.sizeInBytes());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * @param id employee id
+     * @param entry the employee's new state, or null if it was deleted
+     */
+    private void change(long id, SuggestSegment.Entry entry) {
+        State current;
+        Map<Long, Optional<SuggestSegment.Entry>> compacted;
+        lock.lock();
+        try {
+            if (missedByReload != null) {
+                missedByReload.add(new Change(id, entry));
+                return;
+            }
+            if (!loaded) {
+                // The next reload reads this change
+                return;
+            }
+            current = state;
+            size += applyTo(current, id, entry);
+            if (compacting || current.changes().size() <= Math.max(MIN_OVERLAY_SIZE, current.segment().size() / 8)) {
+                return;
+            }
+            compacting = true;
+            compacted = new HashMap<>(current.changes());
+        } finally {
+            lock.unlock();
+        }
+        compact(current, compacted);
+    }
+
+    /**
+     * Apply a change to the overlay of a state
+     * @return the change in the number of employees held
+     */
+    private static int applyTo(State target, long id, SuggestSegment.Entry entry) {
+        Optional<SuggestSegment.Entry> previous = target.changes().get(id);
+        if (previous == null) {
+            int slot = target.segment().slotOf(id);
+            previous = slot < 0 ? Optional.empty()
+                    : Optional.of(new SuggestSegment.Entry(target.segment().suggestion(slot), target.segment().version(slot)));
+        }
+        if (entry != null && previous.isPresent() && previous.get().version() >= entry.version()) {
+            // Older than what is held, e.g. replayed after a reload
+            return 0;
+        }
+
+        // Shadow the segment first, so that a lookup never sees both states
+        target.changes().put(id, Optional.ofNullable(entry));
+        int delta = 0;
+        if (previous.isPresent()) {
+            keysOf(previous.get().suggestion()).forEach(target.keys()::remove);
+            delta--;
+        }
+        if (entry != null) {
+            target.keys().addAll(keysOf(entry.suggestion()));
+            delta++;
+        }
+        return delta;
+    }
+
+    /**
+     * Merge a segment with a copy of its overlay into a new segment, then publish it with the changes that arrived in
+     * the meantime as its overlay
+     */
+    private void compact(State current, Map<Long, Optional<SuggestSegment.Entry>> compacted) {
+        SuggestSegment built = null;
+        try {
+            SuggestSegment segment = current.segment();
+            List<SuggestSegment.Entry> entries = new ArrayList<>(segment.size() + compacted.size());
+            for (int slot = 0; slot < segment.size(); slot++) {
+                if (!compacted.containsKey(segment.id(slot))) {
+                    entries.add(new SuggestSegment.Entry(segment.suggestion(slot), segment.version(slot)));
+                }
+            }
+            compacted.values().forEach(entry -> entry.ifPresent(entries::add));
+            built = SuggestSegment.build(entries);
+        } finally {
+            lock.lock();
+            try {
+                compacting = false;
+                // Unless a reload replaced the state meanwhile
+                if (built != null && state == current) {
+                    State fresh = new State(built);
+                    current.changes().forEach((id, entry) -> {
+                        if (!entry.equals(compacted.get(id))) {
+                            applyTo(fresh, id, entry.orElse(null));
+                        }
+                    });
+                    state = fresh;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static List<OverlayKey> keysOf(EmployeeSuggestion suggestion) {
+        List<OverlayKey> keys = new ArrayList<>(3);
+        for (String value : new String[] {suggestion.firstName(), suggestion.lastName(), suggestion.email()}) {
+            if (value != null && !value.isEmpty()) {
+                keys.add(new OverlayKey(SuggestSegment.key(value), suggestion.id()));
+            }
+        }
+        return keys;
+    }
+
+    private void subscribe() {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            changeFeedService.subscribe(lastEventId, new EmployeeChangeFeedService.Sink() {
+                @Override
+                public void send(EmployeeChangeEvent event) {
+                    receive(event);
+                }
+
+                @Override
+                public void heartbeat() {
+                }
+
+                @Override
+                public void close() {
+                    schedule(EmployeeSuggestIndex.this::subscribe);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Change feed is full, retrying in {} ms", RETRY_DELAY_MILLIS);
+            schedule(this::subscribe);
+        }
+    }
+
+    private void schedule(Runnable task) {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            try {
+                executor.schedule(task, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Stopping
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-suggest-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
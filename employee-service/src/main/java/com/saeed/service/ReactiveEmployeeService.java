@@ -0,0 +1,54 @@
+package com.saeed.service;
+
+import com.saeed.model.Employee;
+import com.saeed.repository.ReactiveEmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService} for the {@code /api/v2} endpoints.
+ * Every operation is a single statement, so none of them needs a transaction.
+ */
+@Service
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    @Autowired
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Mono<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    public Mono<Employee> createEmployee(Employee employee) {
+        // Ensure ID is null for new employees
+        employee.setId(null);
+        return employeeRepository.save(employee);
+    }
+
+    /**
+     * Update an employee in a single round-trip.
+     * @param id employee id
+     * @param employee new data; a non-null version makes the update conditional on that version
+     * @return the employee as stored, or empty if it does not exist; fails with
+     *         {@link org.springframework.dao.OptimisticLockingFailureException} if it was modified since that version
+     */
+    public Mono<Employee> updateEmployee(Long id, Employee employee) {
+        // Ensure the ID in the path matches the ID in the employee object
+        employee.setId(id);
+        return employeeRepository.update(employee);
+    }
+
+    public Mono<Boolean> deleteEmployee(Long id) {
+        return employeeRepository.deleteById(id);
+    }
+}
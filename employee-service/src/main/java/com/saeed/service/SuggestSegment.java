@@ -0,0 +1,256 @@
+package com.saeed.service;
+
+import com.saeed.model.EmployeeSuggestion;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Immutable, compact prefix index over the first names, last names and emails of a set of employees.
+ * <p>
+ * Everything lives in a handful of primitive arrays rather than objects per employee or per trie node: the employees
+ * by id, their fields as UTF-8 back to back, and every lower-cased field as a key, sorted by its UTF-8 bytes. A prefix
+ * is looked up by binary search for its first key, and the matching keys follow it in order. Changes are not applied
+ * here; {@link EmployeeSuggestIndex} overlays them and builds a new segment once enough have collected.
+ */
+final class SuggestSegment {
+
+    private static final int FIELDS = 3;
+
+    /**
+     * An employee as the segment holds it
+     * @param suggestion what is suggested
+     * @param version version of the employee the suggestion was read in
+     */
+    record Entry(EmployeeSuggestion suggestion, long version) {
+    }
+
+    static final SuggestSegment EMPTY = build(List.of());
+
+    // By slot, in id order
+    private final long[] ids;
+    private final long[] versions;
+    // Fields of slot s start at textOffsets[FIELDS * s], field f of it ends where field f + 1 starts
+    private final byte[] text;
+    private final int[] textOffsets;
+    // Key k is keys[keyOffsets[k]..keyOffsets[k + 1]), a field of slot keySlots[k]
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final int[] keySlots;
+
+    private SuggestSegment(long[] ids, long[] versions, byte[] text, int[] textOffsets,
+                           byte[] keys, int[] keyOffsets, int[] keySlots) {
+        this.ids = ids;
+        this.versions = versions;
+        this.text = text;
+        this.textOffsets = textOffsets;
+        this.keys = keys;
+        this.keyOffsets = keyOffsets;
+        this.keySlots = keySlots;
+    }
+
+    /**
+     * @param entries employees to hold, each id at most once, in any order
+     * @return a segment holding them
+     */
+    static SuggestSegment build(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(entry -> entry.suggestion().id()));
+        int size = sorted.size();
+
+        long[] ids = new long[size];
+        long[] versions = new long[size];
+        ByteArrayOutputStream text = new ByteArrayOutputStream(size * 48);
+        int[] textOffsets = new int[FIELDS * size + 1];
+        // Keys in field order first, sorted below
+        ByteArrayOutputStream unsortedKeys = new ByteArrayOutputStream(size * 48);
+        int[] unsortedOffsets = new int[FIELDS * size + 1];
+        int[] unsortedSlots = new int[FIELDS * size];
+        int keyCount = 0;
+        for (int slot = 0; slot < size; slot++) {
+            EmployeeSuggestion suggestion = sorted.get(slot).suggestion();
+            ids[slot] = suggestion.id();
+            versions[slot] = sorted.get(slot).version();
+            String[] values = {suggestion.firstName(), suggestion.lastName(), suggestion.email()};
+            for (int field = 0; field < FIELDS; field++) {
+                textOffsets[FIELDS * slot + field] = text.size();
+                if (values[field] == null || values[field].isEmpty()) {
+                    continue;
+                }
+                text.writeBytes(values[field].getBytes(StandardCharsets.UTF_8));
+                unsortedOffsets[keyCount] = unsortedKeys.size();
+                unsortedSlots[keyCount++] = slot;
+                unsortedKeys.writeBytes(key(values[field]));
+            }
+        }
+        textOffsets[FIELDS * size] = text.size();
+        unsortedOffsets[keyCount] = unsortedKeys.size();
+
+        byte[] raw = unsortedKeys.toByteArray();
+        int[] order = new int[keyCount];
+        for (int k = 0; k < keyCount; k++) {
+            order[k] = k;
+        }
+        sort(order, (a, b) -> {
+            int byKey = Arrays.compareUnsigned(raw, unsortedOffsets[a], unsortedOffsets[a + 1],
+                    raw, unsortedOffsets[b], unsortedOffsets[b + 1]);
+            return byKey != 0 ? byKey : Integer.compare(a, b);
+        });
+
+        byte[] keys = new byte[raw.length];
+        int[] keyOffsets = new int[keyCount + 1];
+        int[] keySlots = new int[keyCount];
+        int position = 0;
+        for (int k = 0; k < keyCount; k++) {
+            int from = unsortedOffsets[order[k]];
+            int length = unsortedOffsets[order[k] + 1] - from;
+            keyOffsets[k] = position;
+            keySlots[k] = unsortedSlots[order[k]];
+            System.arraycopy(raw, from, keys, position, length);
+            position += length;
+        }
+        keyOffsets[keyCount] = position;
+
+        return new SuggestSegment(ids, versions, text.toByteArray(), textOffsets, keys, keyOffsets, keySlots);
+    }
+
+    // Merge sort of ints, which unlike Arrays.sort takes a comparator without boxing every element
+    private static void sort(int[] values, IntBinaryOperator comparator) {
+        int[] buffer = new int[values.length];
+        int[] from = values;
+        int[] to = buffer;
+        for (int width = 1; width < values.length; width *= 2) {
+            for (int low = 0; low < values.length; low += 2 * width) {
+                int middle = Math.min(low + width, values.length);
+                int high = Math.min(low + 2 * width, values.length);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || comparator.applyAsInt(from[left], from[right]) <= 0)) {
+                        to[i] = from[left++];
+                    } else {
+                        to[i] = from[right++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != values) {
+            System.arraycopy(from, 0, values, 0, values.length);
+        }
+    }
+
+    /**
+     * @param value a first name, last name, email or typed prefix
+     * @return the key it is sorted and matched by
+     */
+    static byte[] key(String value) {
+        return value.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return number of employees held
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return number of keys held
+     */
+    int keyCount() {
+        return keySlots.length;
+    }
+
+    /**
+     * @return bytes taken by the arrays of this segment, headers included
+     */
+    long sizeInBytes() {
+        return arrayBytes(ids.length, Long.BYTES) + arrayBytes(versions.length, Long.BYTES)
+                + arrayBytes(text.length, 1) + arrayBytes(textOffsets.length, Integer.BYTES)
+                + arrayBytes(keys.length, 1) + arrayBytes(keyOffsets.length, Integer.BYTES)
+                + arrayBytes(keySlots.length, Integer.BYTES);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        // 16 byte header, padded to 8 bytes
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    /**
+     * @param prefix key of a prefix
+     * @return the first key not before the prefix, or {@link #keyCount()}
+     */
+    int firstKey(byte[] prefix) {
+        int low = 0;
+        int high = keySlots.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKey(middle, prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return true if key {@code k} starts with the prefix
+     */
+    boolean keyStartsWith(int k, byte[] prefix) {
+        int from = keyOffsets[k];
+        return keyOffsets[k + 1] - from >= prefix.length
+                && Arrays.equals(keys, from, from + prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * @return key {@code k} compared to the given one by unsigned bytes
+     */
+    int compareKey(int k, byte[] key) {
+        return Arrays.compareUnsigned(keys, keyOffsets[k], keyOffsets[k + 1], key, 0, key.length);
+    }
+
+    /**
+     * @return the slot of the employee key {@code k} belongs to
+     */
+    int slotOfKey(int k) {
+        return keySlots[k];
+    }
+
+    /**
+     * @return the slot of an employee, or -1 if it is not held
+     */
+    int slotOf(long id) {
+        int slot = Arrays.binarySearch(ids, id);
+        return slot < 0 ? -1 : slot;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    long version(int slot) {
+        return versions[slot];
+    }
+
+    /**
+     * @return the suggestion held in a slot, decoded anew
+     */
+    EmployeeSuggestion suggestion(int slot) {
+        return new EmployeeSuggestion(ids[slot], field(slot, 0), field(slot, 1), field(slot, 2));
+    }
+
+    private String field(int slot, int field) {
+        int from = textOffsets[FIELDS * slot + field];
+        return new String(text, from, textOffsets[FIELDS * slot + field + 1] - from, StandardCharsets.UTF_8);
+    }
+}
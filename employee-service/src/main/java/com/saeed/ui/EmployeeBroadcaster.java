@@ -0,0 +1,196 @@
+package com.saeed.ui;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.service.EmployeeChangeFeedService;
+import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Pushes changes to employees to every attached {@link EmployeeListView}, whichever session, client or node made them.
+ * <p>
+ * Follows the change feed of {@link EmployeeChangeFeedService} with one subscription per node and collects its events
+ * for {@code employee.ui.push-interval}, keeping only the latest state of each employee, before handing them to the
+ * views as one batch. Updates patch the affected rows in place. Creates, deletes and resets shift the rows that follow,
+ * so they make the views reload their visible rows and count instead; so does a burst of more than
+ * {@value #MAX_ROW_UPDATES} updates, which costs a view less than patching every row.
+ */
+@Component
+public class EmployeeBroadcaster implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeBroadcaster.class);
+
+    static final int MAX_ROW_UPDATES = 100;
+    private static final long RESUBSCRIBE_DELAY_MILLIS = 1000;
+
+    /**
+     * Changes collected over one push interval
+     * @param updated latest state of each updated employee, in the order they were first updated
+     * @param reload true if the rows may have moved and the view should reload them; {@code updated} is empty then
+     */
+    public record Changes(List<Employee> updated, boolean reload) {
+    }
+
+    private final EmployeeChangeFeedService changeFeedService;
+    private final ObjectReader employeeReader;
+    private final long intervalMillis;
+    private final List<Consumer<Changes>> listeners = new CopyOnWriteArrayList<>();
+
+    // Collected since the last push, guarded by this
+    private final Map<Long, Employee> updated = new LinkedHashMap<>();
+    private boolean reload;
+    private volatile Long lastEventId;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    @Autowired
+    public EmployeeBroadcaster(EmployeeChangeFeedService changeFeedService, ObjectMapper objectMapper,
+                               @Value("${employee.ui.push-interval:500ms}") Duration pushInterval) {
+        this.changeFeedService = changeFeedService;
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+        this.intervalMillis = pushInterval.toMillis();
+    }
+
+    /**
+     * Receive the changes of every push interval in which employees changed; called on the broadcaster thread
+     * @param listener receiver of the changes, which must not block
+     * @return registration to remove the listener with
+     */
+    public Registration register(Consumer<Changes> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Collect an event for the next push
+     * @param event event of the change feed
+     */
+    synchronized void receive(EmployeeChangeEvent event) {
+        lastEventId = event.id();
+        if (reload) {
+            return;
+        }
+        Employee employee = event.type() == EmployeeChangeEvent.Type.UPDATED ? read(event) : null;
+        if (employee == null || (updated.size() >= MAX_ROW_UPDATES && !updated.containsKey(employee.getId()))) {
+            reload = true;
+            updated.clear();
+        } else {
+            updated.put(employee.getId(), employee);
+        }
+    }
+
+    private Employee read(EmployeeChangeEvent event) {
+        try {
+            return employeeReader.readValue(event.employee());
+        } catch (IOException e) {
+            log.warn("Unreadable employee in change event {}, reloading the grids", event.id(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Hand the changes collected since the last push to the listeners, if there are any
+     */
+    void push() {
+        Changes changes;
+        synchronized (this) {
+            if (!reload && updated.isEmpty()) {
+                return;
+            }
+            changes = new Changes(List.copyOf(updated.values()), reload);
+            updated.clear();
+            reload = false;
+        }
+        for (Consumer<Changes> listener : listeners) {
+            try {
+                listener.accept(changes);
+            } catch (RuntimeException e) {
+                // Typically a UI that detached in the meantime
+                log.debug("Pushing employee changes to {} failed", listener, e);
+            }
+        }
+    }
+
+    private void subscribe() {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            changeFeedService.subscribe(lastEventId, new EmployeeChangeFeedService.Sink() {
+                @Override
+                public void send(EmployeeChangeEvent event) {
+                    receive(event);
+                }
+
+                @Override
+                public void heartbeat() {
+                }
+
+                @Override
+                public void close() {
+                    resubscribeLater();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Change feed is full, retrying in {} ms", RESUBSCRIBE_DELAY_MILLIS);
+            resubscribeLater();
+        }
+    }
+
+    private void resubscribeLater() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            try {
+                executor.schedule(this::subscribe, RESUBSCRIBE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Stopping
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::push, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -10,20 +10,31 @@ import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.textfield.EmailField;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.binder.BeanValidationBinder;
 import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.binder.ValidationException;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Form for creating and editing employee records.
  */
 public class EmployeeForm extends FormLayout {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeForm.class);
+
     private final EmployeeService employeeService;
     private final EmployeeListView parentView;
 
@@ -39,21 +50,31 @@ public class EmployeeForm extends FormLayout {
     private Binder<Employee> binder = new BeanValidationBinder<>(Employee.class);
     private Employee employee;
 
-    // List of common departments
-    private static final List<String> DEPARTMENTS = Arrays.asList(
-            "Engineering", "HR", "Finance", "Marketing", "Sales", "Operations", "IT", "Customer Support"
-    );
-
     public EmployeeForm(EmployeeListView parentView, EmployeeService employeeService) {
         this.parentView = parentView;
         this.employeeService = employeeService;
 
         addClassName("employee-form");
 
-        // Configure form fields
-        department.setItems(DEPARTMENTS);
-
-        // Bind fields to Employee properties
+        // Configure form fields: existing departments to pick from, or a new one to type in,
+        // which is created on save
+        department.setItems(employeeService.getDepartments());
+        department.setAllowCustomValue(true);
+        department.addCustomValueSetListener(event -> {
+            List<String> departments = new ArrayList<>(employeeService.getDepartments());
+            departments.add(event.getDetail());
+            department.setItems(departments);
+            department.setValue(event.getDetail());
+        });
+
+        // Checked against the in-memory email index while typing, so a duplicate never reaches the database
+        email.setValueChangeMode(ValueChangeMode.LAZY);
+        binder.forField(email)
+                .withValidator(value -> !employeeService.isEmailTaken(value, employee == null ? null : employee.getId()),
+                        "Another employee already has this email")
+                .bind("email");
+
+        // Bind the remaining fields to Employee properties
         binder.bindInstanceFields(this);
 
         add(
@@ -84,6 +105,10 @@ public class EmployeeForm extends FormLayout {
 
     public void setEmployee(Employee employee) {
         this.employee = employee;
+        if (employee != null) {
+            // Pick up departments created since the form was last opened, here or on another node
+            department.setItems(employeeService.getDepartments());
+        }
         binder.readBean(employee);
 
         // Only enable delete button if the employee exists (has an ID)
@@ -93,19 +118,33 @@ public class EmployeeForm extends FormLayout {
     private void validateAndSave() {
         if (binder.isValid()) {
             try {
-                binder.writeBean(employee);
+                // The employee is the grid's row; it only changes when the saved one replaces it
+                Employee edited = new Employee(employee);
+                binder.writeBean(edited);
 
-                if (employee.getId() == null) {
-                    employeeService.createEmployee(employee);
+                if (edited.getId() == null) {
+                    employeeService.createEmployee(edited);
+                    parentView.refreshGrid();
                 } else {
-                    employeeService.updateEmployee(employee.getId(), employee);
+                    parentView.refreshEmployee(employeeService.updateEmployee(edited.getId(), edited));
                 }
 
+                parentView.closeEditor();
+            } catch (DuplicateKeyException e) {
+                // Taken on another node moments ago, before this node heard of it
+                Notification.show("Another employee already has this email.");
+            } catch (OptimisticLockingFailureException e) {
+                // Someone else saved this employee since it was loaded into the grid
+                Notification.show("This employee was changed by someone else. Please reopen it and try again.");
                 parentView.refreshGrid();
                 parentView.closeEditor();
-            } catch (Exception e) {
-                // Handle validation errors
-                e.printStackTrace();
+            } catch (ValidationException e) {
+                // The binder marks the invalid fields
+                Notification.show("Please correct the highlighted fields.");
+            } catch (RuntimeException e) {
+                log.warn("Saving employee {} failed", employee.getId(), e);
+                Notification.show("Could not save the employee, please try again")
+                        .addThemeVariants(NotificationVariant.LUMO_ERROR);
             }
         }
     }
@@ -0,0 +1,130 @@
+package com.saeed.ui;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeSort;
+import com.saeed.repository.QueryCancellation;
+import com.saeed.service.EmployeeService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads what an employee grid needs for a new filter, the matching count and the first rows, on virtual threads
+ * instead of the thread serving the UI request, so that a slow query does not hold up the session.
+ * <p>
+ * Each {@link Load} can be cancelled, which also cancels its statement in the database: a view cancels its previous
+ * load whenever it starts a new one, so a burst of filter changes leaves at most one query running per view.
+ */
+@Component
+public class EmployeeGridLoader implements DisposableBean {
+
+    /**
+     * Matching count and first rows for one filter and sort order
+     * @param filter search term the rows match
+     * @param sort sort order of the rows
+     * @param ascending sort direction of the rows
+     * @param count number of matching employees
+     * @param rows the first matching employees, in order
+     */
+    public record Result(String filter, EmployeeSort sort, boolean ascending, long count, List<Employee> rows) {
+
+        /**
+         * @return rows {@code offset} to {@code offset + limit} in the given order, or null if they are not loaded
+         */
+        List<Employee> slice(EmployeeSort sort, boolean ascending, int offset, int limit) {
+            if (sort != this.sort || ascending != this.ascending) {
+                return null;
+            }
+            // Past the loaded rows, unless they are all the matching rows there are
+            if (offset + limit > rows.size() && rows.size() < count) {
+                return null;
+            }
+            return rows.subList(Math.min(offset, rows.size()), Math.min(offset + limit, rows.size()));
+        }
+
+        /**
+         * @param updated new state of some employees
+         * @return this result with the loaded rows of these employees replaced
+         */
+        Result withUpdated(List<Employee> updated) {
+            Map<Long, Employee> byId = updated.stream()
+                    .collect(Collectors.toMap(Employee::getId, Function.identity(), (first, second) -> second));
+            List<Employee> patched = new ArrayList<>(rows.size());
+            for (Employee row : rows) {
+                patched.add(byId.getOrDefault(row.getId(), row));
+            }
+            return new Result(filter, sort, ascending, count, patched);
+        }
+    }
+
+    /**
+     * A load in progress
+     */
+    public static final class Load {
+
+        private final QueryCancellation cancellation = new QueryCancellation();
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+
+        /**
+         * @return the loaded rows, or the failure; completes with a
+         * {@link java.util.concurrent.CancellationException} once cancelled
+         */
+        public CompletableFuture<Result> result() {
+            return result;
+        }
+
+        /**
+         * Stop the load, cancelling its query if it is running
+         */
+        public void cancel() {
+            result.cancel(false);
+            cancellation.cancel();
+        }
+    }
+
+    private final EmployeeService employeeService;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("employee-grid-loader-", 0).factory());
+
+    @Autowired
+    public EmployeeGridLoader(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Start loading the count and first rows for a filter
+     * @param filter search term; null or blank for all employees
+     * @param sort sort order
+     * @param ascending sort direction
+     * @param rows number of rows to load
+     * @return the load, to wait for or cancel
+     */
+    public Load load(String filter, EmployeeSort sort, boolean ascending, int rows) {
+        Load load = new Load();
+        executor.execute(() -> {
+            try {
+                List<Employee> first = employeeService.findEmployees(filter, 0, rows, sort, ascending, load.cancellation);
+                // A short first window already holds every match
+                long count = first.size() < rows ? first.size() : employeeService.countEmployees(filter, load.cancellation);
+                load.result.complete(new Result(filter, sort, ascending, count, first));
+            } catch (RuntimeException e) {
+                load.result.completeExceptionally(e);
+            }
+        });
+        return load;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,256 @@
+package com.saeed.ui;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeSort;
+import com.saeed.service.EmployeeService;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridSortOrder;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+
+/**
+ * View for listing all employees and providing options to add, edit, and delete employees.
+ * While attached, it follows the changes made by everyone else through the {@link EmployeeBroadcaster}.
+ * <p>
+ * A new filter is loaded in the background by the {@link EmployeeGridLoader}, with a progress bar showing meanwhile;
+ * the grid keeps showing the previous filter until the count and first rows of the new one arrive, and a newer filter
+ * cancels the load of an older one. Rows scrolled to beyond the loaded ones are fetched while the grid asks for them.
+ */
+@Route(value = "", layout = MainLayout.class)
+@PageTitle("Employees | Employee Management")
+public class EmployeeListView extends VerticalLayout {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeListView.class);
+
+    // Rows loaded in the background for a new filter; covers the first screens of the grid
+    static final int PRELOADED_ROWS = 200;
+
+    private final EmployeeService employeeService;
+    private final EmployeeBroadcaster broadcaster;
+    private final EmployeeGridLoader loader;
+    private final Grid<Employee> grid = new Grid<>(Employee.class);
+    private final TextField filterText = new TextField();
+    private final ProgressBar loadingIndicator = new ProgressBar();
+    private final EmployeeForm form;
+    private GridLazyDataView<Employee> dataView;
+    private Registration broadcasterRegistration;
+    // What the grid shows, and the load that is to replace it
+    private EmployeeGridLoader.Result loaded;
+    private EmployeeGridLoader.Load pendingLoad;
+
+    public EmployeeListView(EmployeeService employeeService, EmployeeBroadcaster broadcaster, EmployeeGridLoader loader) {
+        this.employeeService = employeeService;
+        this.broadcaster = broadcaster;
+        this.loader = loader;
+        this.form = new EmployeeForm(this, employeeService);
+
+        addClassName("list-view");
+        setSizeFull();
+
+        configureGrid();
+        configureForm();
+
+        add(getToolbar(), getContent());
+        closeEditor();
+    }
+
+    private void configureGrid() {
+        grid.addClassName("employee-grid");
+        grid.setSizeFull();
+        grid.setColumns("firstName", "lastName", "email", "department");
+        grid.getColumns().forEach(col -> col.setAutoWidth(true));
+
+        // Lazy loading: only the rows in the viewport are fetched, sorted and filtered by the database.
+        // The count comes with the loaded filter, so the grid never counts on the request thread.
+        dataView = grid.setItems(this::fetchEmployees,
+                query -> loaded == null ? 0 : (int) Math.min(Integer.MAX_VALUE, loaded.count()));
+        dataView.setIdentifierProvider(Employee::getId);
+
+        grid.asSingleSelect().addValueChangeListener(event ->
+            editEmployee(event.getValue()));
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        UI ui = attachEvent.getUI();
+        broadcasterRegistration = broadcaster.register(changes -> ui.access(() -> applyChanges(changes)));
+        updateList();
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        broadcasterRegistration.remove();
+        broadcasterRegistration = null;
+        if (pendingLoad != null) {
+            pendingLoad.cancel();
+            pendingLoad = null;
+        }
+    }
+
+    /**
+     * Show the changes made by anyone, patching only the affected rows where their position cannot have changed
+     */
+    private void applyChanges(EmployeeBroadcaster.Changes changes) {
+        if (changes.reload()) {
+            updateList();
+        } else {
+            refreshEmployees(changes.updated());
+        }
+    }
+
+    private void configureForm() {
+        form.setWidth("25em");
+        form.setVisible(false);
+    }
+
+    private HorizontalLayout getToolbar() {
+        filterText.setPlaceholder("Filter by name...");
+        filterText.setClearButtonVisible(true);
+        filterText.setValueChangeMode(ValueChangeMode.LAZY);
+        filterText.addValueChangeListener(e -> updateList());
+
+        Button addEmployeeButton = new Button("Add Employee");
+        addEmployeeButton.addClickListener(click -> addEmployee());
+
+        loadingIndicator.setIndeterminate(true);
+        loadingIndicator.setWidth("10em");
+        loadingIndicator.setVisible(false);
+
+        HorizontalLayout toolbar = new HorizontalLayout(filterText, addEmployeeButton, loadingIndicator);
+        toolbar.setDefaultVerticalComponentAlignment(Alignment.CENTER);
+        toolbar.addClassName("toolbar");
+        return toolbar;
+    }
+
+    private HorizontalLayout getContent() {
+        HorizontalLayout content = new HorizontalLayout(grid, form);
+        content.setFlexGrow(2, grid);
+        content.setFlexGrow(1, form);
+        content.addClassName("content");
+        content.setSizeFull();
+        return content;
+    }
+
+    private Stream<Employee> fetchEmployees(Query<Employee, Void> query) {
+        EmployeeSort sort = EmployeeSort.ID;
+        boolean ascending = true;
+        if (!query.getSortOrders().isEmpty()) {
+            QuerySortOrder sortOrder = query.getSortOrders().get(0);
+            sort = EmployeeSort.fromParameter(sortOrder.getSorted());
+            ascending = sortOrder.getDirection() == SortDirection.ASCENDING;
+        }
+        if (loaded == null) {
+            return Stream.empty();
+        }
+        List<Employee> rows = loaded.slice(sort, ascending, query.getOffset(), query.getLimit());
+        if (rows != null) {
+            return rows.stream();
+        }
+        return employeeService.findEmployees(loaded.filter(), query.getOffset(), query.getLimit(), sort, ascending)
+                .stream();
+    }
+
+    /**
+     * Load the current filter in the background, cancelling the load of any previous one
+     */
+    private void updateList() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel();
+        }
+        EmployeeSort sort = EmployeeSort.ID;
+        boolean ascending = true;
+        List<GridSortOrder<Employee>> sortOrder = grid.getSortOrder();
+        if (!sortOrder.isEmpty()) {
+            sort = EmployeeSort.fromParameter(sortOrder.get(0).getSorted().getKey());
+            ascending = sortOrder.get(0).getDirection() == SortDirection.ASCENDING;
+        }
+
+        UI ui = UI.getCurrent();
+        EmployeeGridLoader.Load load = loader.load(filterText.getValue(), sort, ascending, PRELOADED_ROWS);
+        pendingLoad = load;
+        loadingIndicator.setVisible(true);
+        load.result().whenComplete((result, error) -> ui.access(() -> showLoaded(load, result, error)));
+    }
+
+    private void showLoaded(EmployeeGridLoader.Load load, EmployeeGridLoader.Result result, Throwable error) {
+        if (load != pendingLoad) {
+            // Superseded by a newer filter
+            return;
+        }
+        pendingLoad = null;
+        loadingIndicator.setVisible(false);
+        if (error == null) {
+            loaded = result;
+            dataView.refreshAll();
+        } else if (!(error instanceof CancellationException)) {
+            log.warn("Loading employees for filter '{}' failed", filterText.getValue(), error);
+            Notification.show("Could not load employees, please try again")
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    private void addEmployee() {
+        grid.asSingleSelect().clear();
+        editEmployee(new Employee());
+    }
+
+    private void editEmployee(Employee employee) {
+        if (employee == null) {
+            closeEditor();
+        } else {
+            form.setEmployee(employee);
+            form.setVisible(true);
+            addClassName("editing");
+        }
+    }
+
+    void closeEditor() {
+        form.setEmployee(null);
+        form.setVisible(false);
+        removeClassName("editing");
+    }
+
+    void refreshGrid() {
+        grid.select(null);
+        updateList();
+    }
+
+    /**
+     * Refresh a single edited row in place instead of reloading the grid
+     * @param employee the saved employee
+     */
+    void refreshEmployee(Employee employee) {
+        grid.select(null);
+        refreshEmployees(List.of(employee));
+    }
+
+    private void refreshEmployees(List<Employee> employees) {
+        if (loaded != null) {
+            loaded = loaded.withUpdated(employees);
+        }
+        // Rows that are not loaded in the browser are skipped
+        employees.forEach(dataView::refreshItem);
+    }
+}
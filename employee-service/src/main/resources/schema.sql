@@ -0,0 +1,265 @@
+-- Trigram matching for substring search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Drop table if exists
+DROP TABLE IF EXISTS employees;
+DROP TABLE IF EXISTS employees_revision;
+DROP TABLE IF EXISTS employee_outbox;
+DROP TABLE IF EXISTS employee_outbox_head;
+DROP TABLE IF EXISTS department_stats;
+DROP TABLE IF EXISTS departments;
+
+-- Department names, stored once and referenced by a small key so that employee rows and their indexes stay narrow.
+-- Rows are only ever added, never renamed or removed, which lets every node cache the names (DepartmentDictionary).
+CREATE TABLE departments (
+    id SMALLINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE
+);
+
+-- The id of a department, creating the department first if needed. Looks before inserting, so that known names do
+-- not use up identity values, and retries when a concurrent transaction created the same name in the meantime.
+CREATE OR REPLACE FUNCTION find_or_create_department(department_name VARCHAR) RETURNS SMALLINT AS $$
+DECLARE
+    department_id SMALLINT;
+BEGIN
+    LOOP
+        SELECT id INTO department_id FROM departments WHERE name = department_name;
+        IF FOUND THEN
+            RETURN department_id;
+        END IF;
+        INSERT INTO departments (name) VALUES (department_name)
+            ON CONFLICT (name) DO NOTHING
+            RETURNING id INTO department_id;
+        IF FOUND THEN
+            RETURN department_id;
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+INSERT INTO departments (name) VALUES
+    ('Customer Support'), ('Engineering'), ('Finance'), ('HR'), ('IT'), ('Marketing'), ('Operations'), ('Sales');
+
+-- Create employees table
+CREATE TABLE employees (
+    id SERIAL PRIMARY KEY,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    department_id SMALLINT NOT NULL REFERENCES departments (id),
+    -- Optimistic locking: bumped by every update, exposed as the ETag of the row
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Indexes backing keyset pagination: one (sort column, id) index per sortable column. Pages sorted by department
+-- walk the departments in name order and seek into (department_id, id) for each.
+CREATE INDEX idx_employees_first_name_id ON employees (first_name, id);
+CREATE INDEX idx_employees_last_name_id ON employees (last_name, id);
+CREATE INDEX idx_employees_email_id ON employees (email, id);
+CREATE INDEX idx_employees_department_id ON employees (department_id, id);
+
+-- Trigram indexes serving case-insensitive substring search; one per column so the
+-- OR-ed ILIKE predicates combine into a cheap BitmapOr. Department names are matched against the
+-- cached dictionary instead, and become a department_id = ANY(...) predicate on the btree index.
+CREATE INDEX idx_employees_first_name_trgm ON employees USING gin (first_name gin_trgm_ops);
+CREATE INDEX idx_employees_last_name_trgm ON employees USING gin (last_name gin_trgm_ops);
+CREATE INDEX idx_employees_email_trgm ON employees USING gin (email gin_trgm_ops);
+
+-- Change notifications: every committed write to employees emits NOTIFY employee_changes so that
+-- node-local caches on all instances can refresh the affected rows. Payload is "<OP>:<id>,<id>,..."
+-- in chunks of at most 500 ids, or "RESET" when a statement touched too many rows to list.
+CREATE OR REPLACE FUNCTION notify_employee_changes() RETURNS trigger AS $$
+DECLARE
+    changed_ids bigint[];
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        PERFORM pg_notify('employee_changes', 'RESET');
+        RETURN NULL;
+    END IF;
+
+    SELECT array_agg(id ORDER BY id) INTO changed_ids FROM changed_rows;
+    IF changed_ids IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    IF cardinality(changed_ids) > 5000 THEN
+        PERFORM pg_notify('employee_changes', 'RESET');
+    ELSE
+        FOR i IN 1 .. cardinality(changed_ids) BY 500 LOOP
+            PERFORM pg_notify('employee_changes', TG_OP || ':' || array_to_string(changed_ids[i:i + 499], ','));
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement-level triggers: one notification per statement rather than per row. Transition tables
+-- cannot be shared between events, hence one trigger per operation.
+CREATE TRIGGER employees_notify_insert AFTER INSERT ON employees
+    REFERENCING NEW TABLE AS changed_rows FOR EACH STATEMENT EXECUTE FUNCTION notify_employee_changes();
+CREATE TRIGGER employees_notify_update AFTER UPDATE ON employees
+    REFERENCING NEW TABLE AS changed_rows FOR EACH STATEMENT EXECUTE FUNCTION notify_employee_changes();
+CREATE TRIGGER employees_notify_delete AFTER DELETE ON employees
+    REFERENCING OLD TABLE AS changed_rows FOR EACH STATEMENT EXECUTE FUNCTION notify_employee_changes();
+CREATE TRIGGER employees_notify_truncate AFTER TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_employee_changes();
+
+-- Table-level change counter behind the ETag of the employee list. Every writing statement bumps one of
+-- 16 slots picked by backend, so concurrent writers rarely wait on the same row lock; the revision is the
+-- sum of all slots and only ever grows. Being transactional, a bump becomes visible together with the
+-- data it describes. Slot 0 starts at the clock so that re-creating the table does not reissue old ETags.
+CREATE TABLE employees_revision (
+    slot SMALLINT PRIMARY KEY,
+    revision BIGINT NOT NULL
+);
+INSERT INTO employees_revision (slot, revision)
+    SELECT slot, CASE WHEN slot = 0 THEN (extract(epoch FROM clock_timestamp()) * 1000)::bigint ELSE 0 END
+    FROM generate_series(0, 15) AS slot;
+
+CREATE OR REPLACE FUNCTION bump_employees_revision() RETURNS trigger AS $$
+BEGIN
+    UPDATE employees_revision SET revision = revision + 1 WHERE slot = pg_backend_pid() % 16;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_bump_revision AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_employees_revision();
+
+-- Headcount per department behind GET /api/employees/stats/departments, so that reading it costs a row per
+-- department rather than a scan of employees. Every writing statement adds its net change per department to one
+-- of 16 slots picked by backend, like employees_revision; the headcount is the sum over the slots. Slot 16 is
+-- reserved for the corrections of the periodic reconciliation against GROUP BY.
+CREATE TABLE department_stats (
+    department_id SMALLINT NOT NULL,
+    slot SMALLINT NOT NULL,
+    headcount BIGINT NOT NULL,
+    PRIMARY KEY (department_id, slot)
+);
+
+CREATE OR REPLACE FUNCTION count_department_stats() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        DELETE FROM department_stats;
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO department_stats (department_id, slot, headcount)
+            SELECT department_id, pg_backend_pid() % 16, count(*) FROM new_rows GROUP BY department_id
+            ON CONFLICT (department_id, slot) DO UPDATE SET headcount = department_stats.headcount + EXCLUDED.headcount;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO department_stats (department_id, slot, headcount)
+            SELECT department_id, pg_backend_pid() % 16, -count(*) FROM old_rows GROUP BY department_id
+            ON CONFLICT (department_id, slot) DO UPDATE SET headcount = department_stats.headcount + EXCLUDED.headcount;
+    ELSE
+        -- Most updates keep the department; only departments with a net change are written
+        INSERT INTO department_stats (department_id, slot, headcount)
+            SELECT department_id, pg_backend_pid() % 16, sum(delta)
+            FROM (SELECT department_id, 1 AS delta FROM new_rows
+                  UNION ALL
+                  SELECT department_id, -1 FROM old_rows) AS changes
+            GROUP BY department_id
+            HAVING sum(delta) <> 0
+            ON CONFLICT (department_id, slot) DO UPDATE SET headcount = department_stats.headcount + EXCLUDED.headcount;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_count_insert AFTER INSERT ON employees
+    REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION count_department_stats();
+CREATE TRIGGER employees_count_update AFTER UPDATE ON employees
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION count_department_stats();
+CREATE TRIGGER employees_count_delete AFTER DELETE ON employees
+    REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION count_department_stats();
+CREATE TRIGGER employees_count_truncate AFTER TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION count_department_stats();
+
+-- Transactional outbox behind the change feed GET /api/employees/changes. Every writing statement records one row
+-- per changed employee, holding the employee as written, in the same transaction as the write itself; statements
+-- touching more than 5000 rows, and TRUNCATE, record a single RESET instead, like notify_employee_changes.
+-- Rows are numbered only once committed, by sequence_employee_outbox, so that event ids follow commit order without
+-- gaps and a reader that has seen event n never finds an event below n appearing later.
+CREATE TABLE employee_outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    event_id BIGINT UNIQUE,
+    op VARCHAR(6) NOT NULL,
+    employee_id INTEGER,
+    employee JSON,
+    sequenced_at TIMESTAMPTZ
+);
+CREATE INDEX idx_employee_outbox_pending ON employee_outbox (id) WHERE event_id IS NULL;
+
+-- Id of the last numbered event. Starts at the clock, like employees_revision, so that re-creating the table does
+-- not reissue event ids that clients may still resume from.
+CREATE TABLE employee_outbox_head (
+    last_event_id BIGINT NOT NULL
+);
+INSERT INTO employee_outbox_head (last_event_id) VALUES ((extract(epoch FROM clock_timestamp()) * 1000)::bigint);
+
+CREATE OR REPLACE FUNCTION record_employee_changes() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        INSERT INTO employee_outbox (op) VALUES ('RESET');
+        RETURN NULL;
+    END IF;
+
+    IF (SELECT count(*) FROM (SELECT 1 FROM changed_rows LIMIT 5001) AS limited) > 5000 THEN
+        INSERT INTO employee_outbox (op) VALUES ('RESET');
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO employee_outbox (op, employee_id, employee)
+            SELECT TG_OP, r.id, row_to_json(r) FROM (SELECT id FROM changed_rows ORDER BY id) AS r;
+    ELSE
+        -- Named like the properties of the REST API, so that the JSON can be sent as it is
+        INSERT INTO employee_outbox (op, employee_id, employee)
+            SELECT TG_OP, r.id, row_to_json(r)
+            FROM (SELECT e.id, e.first_name AS "firstName", e.last_name AS "lastName", e.email,
+                         d.name AS department, e.version
+                  FROM changed_rows e JOIN departments d ON d.id = e.department_id
+                  ORDER BY e.id) AS r;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER employees_outbox_insert AFTER INSERT ON employees
+    REFERENCING NEW TABLE AS changed_rows FOR EACH STATEMENT EXECUTE FUNCTION record_employee_changes();
+CREATE TRIGGER employees_outbox_update AFTER UPDATE ON employees
+    REFERENCING NEW TABLE AS changed_rows FOR EACH STATEMENT EXECUTE FUNCTION record_employee_changes();
+CREATE TRIGGER employees_outbox_delete AFTER DELETE ON employees
+    REFERENCING OLD TABLE AS changed_rows FOR EACH STATEMENT EXECUTE FUNCTION record_employee_changes();
+CREATE TRIGGER employees_outbox_truncate AFTER TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION record_employee_changes();
+
+-- Number up to max_events committed outbox rows in insert order and return how many were numbered. Rows of
+-- transactions still in progress are invisible here and numbered by a later call. The head row lock serializes the
+-- instances; one that finds it taken skips the round, since the holder is numbering the same rows.
+CREATE OR REPLACE FUNCTION sequence_employee_outbox(max_events INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    head BIGINT;
+    sequenced INTEGER;
+BEGIN
+    SELECT last_event_id INTO head FROM employee_outbox_head FOR UPDATE SKIP LOCKED;
+    IF NOT FOUND THEN
+        RETURN 0;
+    END IF;
+
+    UPDATE employee_outbox o SET event_id = head + pending.n, sequenced_at = now()
+    FROM (SELECT id, row_number() OVER (ORDER BY id) AS n
+          FROM (SELECT id FROM employee_outbox WHERE event_id IS NULL ORDER BY id LIMIT max_events) AS oldest) AS pending
+    WHERE o.id = pending.id;
+    GET DIAGNOSTICS sequenced = ROW_COUNT;
+
+    IF sequenced > 0 THEN
+        UPDATE employee_outbox_head SET last_event_id = head + sequenced;
+    END IF;
+    RETURN sequenced;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Insert initial data
+INSERT INTO employees (first_name, last_name, email, department_id) VALUES
+    ('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT')),
+    ('Jane', 'Smith', 'jane.smith@example.com', find_or_create_department('HR')),
+    ('Mike', 'Johnson', 'mike.johnson@example.com', find_or_create_department('Finance'));
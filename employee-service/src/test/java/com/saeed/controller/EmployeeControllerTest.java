@@ -0,0 +1,733 @@
+package com.saeed.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.model.DepartmentStats;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeBatchOperation;
+import com.saeed.model.EmployeeBatchResult;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeExportFormat;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeImportResult;
+import com.saeed.model.EmployeePage;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.service.DepartmentStatsService;
+import com.saeed.service.EmployeeBatchService;
+import com.saeed.service.EmployeeChangeFeedService;
+import com.saeed.service.EmployeeExportService;
+import com.saeed.service.EmployeeImportService;
+import com.saeed.service.EmployeeService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = EmployeeController.class)
+@Import(EmployeeControllerTest.EmployeeServiceTestConfig.class)
+public class EmployeeControllerTest {
+
+    @TestConfiguration
+    static class EmployeeServiceTestConfig {
+        @Bean
+        public EmployeeService employeeService() {
+            return mock(EmployeeService.class);
+        }
+
+        @Bean
+        public EmployeeBatchService employeeBatchService() {
+            return mock(EmployeeBatchService.class);
+        }
+
+        @Bean
+        public EmployeeImportService employeeImportService() {
+            return mock(EmployeeImportService.class);
+        }
+
+        @Bean
+        public EmployeeExportService employeeExportService() {
+            return mock(EmployeeExportService.class);
+        }
+
+        @Bean
+        public DepartmentStatsService departmentStatsService() {
+            return mock(DepartmentStatsService.class);
+        }
+
+        @Bean
+        public EmployeeChangeFeedService employeeChangeFeedService() {
+            return mock(EmployeeChangeFeedService.class);
+        }
+
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeExportService employeeExportService;
+
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+
+    @Autowired
+    private EmployeeChangeFeedService employeeChangeFeedService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testGetAllEmployees() throws Exception {
+        // Arrange
+        when(employeeService.getAllEmployees()).thenReturn(
+                Arrays.asList(
+                        new Employee(1L, "John", "Doe", "john.doe@example.com", "IT"),
+                        new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR")
+                )
+        );
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].firstName").value("Jane"));
+    }
+
+    @Test
+    public void testGetAllEmployees_Fields() throws Exception {
+        // Arrange
+        Set<EmployeeField> fields = EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL);
+        Employee john = new Employee();
+        john.setId(1L);
+        john.setEmail("john.doe@example.com");
+        when(employeeService.getAllEmployees(fields)).thenReturn(List.of(john));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees?fields=id,email")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void testGetAllEmployees_UnknownField() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees?fields=id,salary")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetEmployeePage_Fields() throws Exception {
+        // Arrange
+        Set<EmployeeField> fields = EnumSet.of(EmployeeField.EMAIL);
+        when(employeeService.getEmployeePage(null, 2, EmployeeSort.LAST_NAME, fields)).thenReturn(
+                new EmployeePage(List.of(new Employee(1L, null, "Doe", "john.doe@example.com", null)), null)
+        );
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees?limit=2&sort=lastName&fields=email")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].lastName").doesNotExist());
+    }
+
+    @Test
+    public void testGetEmployeePage() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeePage(null, 2, EmployeeSort.LAST_NAME)).thenReturn(
+                new EmployeePage(List.of(
+                        new Employee(1L, "John", "Doe", "john.doe@example.com", "IT"),
+                        new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR")
+                ), "next-token")
+        );
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees?limit=2&sort=lastName")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-token"))
+                .andExpect(header().string("Link", "<http://localhost/api/employees?limit=2&sort=lastName&cursor=next-token>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    public void testGetEmployeePage_InvalidCursor() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeePage("bogus", null, EmployeeSort.ID))
+                .thenThrow(new IllegalArgumentException("Malformed cursor: bogus"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees?cursor=bogus")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchEmployees() throws Exception {
+        // Arrange
+        when(employeeService.searchEmployees("smi", 10)).thenReturn(List.of(
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR")
+        ));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/search?q=smi&limit=10")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].lastName").value("Smith"));
+    }
+
+    @Test
+    public void testSuggestEmployees() throws Exception {
+        // Arrange
+        when(employeeService.suggestEmployees("ja", 5)).thenReturn(Optional.of(List.of(
+                new EmployeeSuggestion(2L, "Jane", "Smith", "jane.smith@example.com")
+        )));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/suggest?prefix=ja&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].firstName").value("Jane"))
+                .andExpect(jsonPath("$[0].email").value("jane.smith@example.com"))
+                .andExpect(jsonPath("$[0].department").doesNotExist());
+    }
+
+    @Test
+    public void testSuggestEmployees_Loading() throws Exception {
+        // Arrange
+        when(employeeService.suggestEmployees("jo", null)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/suggest?prefix=jo"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    public void testGetEmployeeById_Found() throws Exception {
+        // Arrange
+        Long employeeId = 1L;
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(
+                Optional.of(new Employee(employeeId, "John", "Doe", "john.doe@example.com", "IT", 2L))
+        );
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.id").value(employeeId))
+                .andExpect(jsonPath("$.firstName").value("John"));
+    }
+
+    @Test
+    public void testGetEmployeeById_Fields() throws Exception {
+        // Arrange
+        Long employeeId = 1L;
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(
+                Optional.of(new Employee(employeeId, "John", "Doe", "john.doe@example.com", "IT", 2L))
+        );
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/" + employeeId + "?fields=firstName,department")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.firstName").value("John"))
+                .andExpect(jsonPath("$.department").value("IT"))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.email").doesNotExist());
+    }
+
+    @Test
+    public void testGetEmployeeById_NotModified() throws Exception {
+        // Arrange
+        Long employeeId = 5L;
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(
+                Optional.of(new Employee(employeeId, "John", "Doe", "john.doe@example.com", "IT", 2L))
+        );
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/" + employeeId)
+                .header("If-None-Match", "W/\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testGetAllEmployees_NotModified() throws Exception {
+        // Arrange
+        clearInvocations(employeeService);
+        when(employeeService.getEmployeesRevision()).thenReturn(42L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees")
+                .header("If-None-Match", "\"41\", \"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(content().string(""));
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void testGetAllEmployees_ChangedSinceETag() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeesRevision()).thenReturn(43L);
+        when(employeeService.getEmployeePage(null, 1, EmployeeSort.ID)).thenReturn(new EmployeePage(
+                List.of(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees?limit=1")
+                .header("If-None-Match", "\"42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"43\""))
+                .andExpect(jsonPath("$[0].firstName").value("John"));
+    }
+
+    @Test
+    public void testGetEmployeeById_NotFound() throws Exception {
+        // Arrange
+        Long employeeId = 999L;
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testCreateEmployee() throws Exception {
+        // Arrange
+        Employee newEmployee = new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Marketing");
+        Employee savedEmployee = new Employee(4L, "Alice", "Johnson", "alice.johnson@example.com", "Marketing");
+
+        clearInvocations(employeeService);
+        when(employeeService.createEmployee(any(Employee.class))).thenReturn(savedEmployee);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newEmployee)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(4))
+                .andExpect(jsonPath("$.firstName").value("Alice"))
+                .andExpect(jsonPath("$.lastName").value("Johnson"))
+                .andExpect(jsonPath("$.email").value("alice.johnson@example.com"))
+                .andExpect(jsonPath("$.department").value("Marketing"));
+
+        verify(employeeService).createEmployee(any(Employee.class));
+    }
+
+    @Test
+    public void testCreateEmployee_EmailTaken() throws Exception {
+        // Arrange
+        Employee newEmployee = new Employee(null, "Johnny", "Doe", "john.doe@example.com", "IT");
+
+        when(employeeService.createEmployee(argThat(employee -> employee != null && "Johnny".equals(employee.getFirstName()))))
+                .thenThrow(new DuplicateKeyException("Email already in use: john.doe@example.com"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newEmployee)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("Email already in use: john.doe@example.com"));
+    }
+
+    @Test
+    public void testExecuteBatch() throws Exception {
+        // Arrange
+        List<EmployeeBatchOperation> operations = List.of(
+                new EmployeeBatchOperation(EmployeeBatchOperation.Op.CREATE, null,
+                        new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Marketing")),
+                new EmployeeBatchOperation(EmployeeBatchOperation.Op.DELETE, 999L, null)
+        );
+        clearInvocations(employeeBatchService);
+        when(employeeBatchService.execute(anyList())).thenReturn(List.of(
+                EmployeeBatchResult.success(0, EmployeeBatchOperation.Op.CREATE, 4L, 201),
+                EmployeeBatchResult.failure(1, EmployeeBatchOperation.Op.DELETE, 999L, 404, "Employee not found with id: 999")
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].op").value("DELETE"))
+                .andExpect(jsonPath("$[1].status").value(404));
+
+        verify(employeeBatchService).execute(anyList());
+    }
+
+    @Test
+    public void testExecuteBatch_TooManyOperations() throws Exception {
+        // Arrange
+        List<EmployeeBatchOperation> operations = List.of(
+                new EmployeeBatchOperation(EmployeeBatchOperation.Op.DELETE, 7L, null),
+                new EmployeeBatchOperation(EmployeeBatchOperation.Op.DELETE, 8L, null),
+                new EmployeeBatchOperation(EmployeeBatchOperation.Op.DELETE, 9L, null)
+        );
+        when(employeeBatchService.execute(argThat(list -> list != null && list.size() == 3)))
+                .thenThrow(new IllegalArgumentException("A batch may hold at most 2 operations, got 3"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.detail").value("A batch may hold at most 2 operations, got 3"));
+    }
+
+    @Test
+    public void testImportEmployees() throws Exception {
+        // Arrange
+        when(employeeImportService.importCsv(any(), eq(false))).thenReturn(
+                new EmployeeImportResult(2, 1, 1,
+                        List.of(new EmployeeImportResult.Conflict(2, "john.doe@example.com", "ALREADY_EXISTS")),
+                        5, 400.0)
+        );
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/import?header=false")
+                .contentType("text/csv")
+                .content("Alice,Johnson,alice.johnson@example.com,Marketing\nJohn,Doe,john.doe@example.com,IT\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(2))
+                .andExpect(jsonPath("$.rowsInserted").value(1))
+                .andExpect(jsonPath("$.conflictSample[0].reason").value("ALREADY_EXISTS"));
+
+        verify(employeeImportService).importCsv(any(), eq(false));
+    }
+
+    @Test
+    public void testImportEmployees_InvalidCsv() throws Exception {
+        // Arrange
+        when(employeeImportService.importCsv(any(), eq(true)))
+                .thenThrow(new SQLException("missing data for column \"email\"", "22P04"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/import")
+                .contentType("text/csv")
+                .content("first_name,last_name,email,department\nAlice,Johnson\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetDepartmentStats() throws Exception {
+        // Arrange
+        when(departmentStatsService.getDepartmentStats()).thenReturn(DepartmentStats.of(List.of(
+                new DepartmentStats.Headcount("HR", 1),
+                new DepartmentStats.Headcount("IT", 2))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/stats/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departments.length()").value(2))
+                .andExpect(jsonPath("$.departments[0].department").value("HR"))
+                .andExpect(jsonPath("$.departments[0].employees").value(1))
+                .andExpect(jsonPath("$.departments[1].department").value("IT"))
+                .andExpect(jsonPath("$.departments[1].employees").value(2))
+                .andExpect(jsonPath("$.total").value(3));
+    }
+
+    @Test
+    public void testStreamChanges() throws Exception {
+        // Arrange
+        EmployeeChangeFeedService.Subscription subscription = mock(EmployeeChangeFeedService.Subscription.class);
+        doAnswer(invocation -> {
+            EmployeeChangeFeedService.Sink sink = invocation.getArgument(1);
+            sink.send(new EmployeeChangeEvent(42, EmployeeChangeEvent.Type.UPDATED, 1L, "{\"id\":1,\"firstName\":\"John\"}"));
+            sink.send(new EmployeeChangeEvent(43, EmployeeChangeEvent.Type.DELETED, 2L, "{\"id\":2}"));
+            sink.close();
+            return subscription;
+        }).when(employeeChangeFeedService).subscribe(eq(41L), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/changes").header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/event-stream"))
+                .andExpect(content().string("id:42\nevent:updated\ndata:{\"id\":1,\"firstName\":\"John\"}\n\n"
+                        + "id:43\nevent:deleted\ndata:{\"id\":2}\n\n"));
+    }
+
+    @Test
+    public void testStreamChanges_ClientGoneEndsSubscription() throws Exception {
+        // Arrange
+        EmployeeChangeFeedService.Subscription subscription = mock(EmployeeChangeFeedService.Subscription.class);
+        when(employeeChangeFeedService.subscribe(eq(8L), any())).thenReturn(subscription);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/changes").header("Last-Event-ID", "8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(new AsyncEvent(asyncContext));
+        }
+
+        // Assert
+        verify(subscription).end();
+    }
+
+    @Test
+    public void testStreamChanges_TimeoutEndsSubscription() throws Exception {
+        // Arrange
+        EmployeeChangeFeedService.Subscription subscription = mock(EmployeeChangeFeedService.Subscription.class);
+        when(employeeChangeFeedService.subscribe(eq(7L), any())).thenReturn(subscription);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/changes").header("Last-Event-ID", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // Assert
+        verify(subscription).end();
+    }
+
+    @Test
+    public void testStreamChanges_TooManySubscribers() throws Exception {
+        // Arrange
+        doThrow(new RejectedExecutionException()).when(employeeChangeFeedService).subscribe(isNull(), any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/changes"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    public void testExportEmployees() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,first_name,last_name,email,department\n1,John,Doe,john.doe@example.com,IT\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeExportService).export(eq(EmployeeExportFormat.CSV), eq(false), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+                .andExpect(content().string("id,first_name,last_name,email,department\n1,John,Doe,john.doe@example.com,IT\n"));
+    }
+
+    @Test
+    public void testExportEmployees_UnknownFormat() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testUpdateEmployee_Success() throws Exception {
+        // Arrange
+        Long employeeId = 1L;
+        Employee employeeToUpdate = new Employee(employeeId, "John", "Smith", "john.smith@example.com", "Sales");
+
+        when(employeeService.updateEmployee(eq(employeeId), any(Employee.class))).thenReturn(employeeToUpdate);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeToUpdate)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(employeeId))
+                .andExpect(jsonPath("$.firstName").value("John"))
+                .andExpect(jsonPath("$.lastName").value("Smith"))
+                .andExpect(jsonPath("$.email").value("john.smith@example.com"))
+                .andExpect(jsonPath("$.department").value("Sales"));
+
+        verify(employeeService).updateEmployee(eq(employeeId), any(Employee.class));
+    }
+
+    @Test
+    public void testUpdateEmployee_EmailTaken() throws Exception {
+        // Arrange
+        Employee employeeToUpdate = new Employee(2L, "Jane", "Smith", "john.doe@example.com", "HR");
+
+        when(employeeService.updateEmployee(eq(2L), any(Employee.class)))
+                .thenThrow(new DuplicateKeyException("Email already in use: john.doe@example.com"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeToUpdate)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testUpdateEmployee_NotFound() throws Exception {
+        // Arrange
+        Long employeeId = 999L;
+        Employee employeeToUpdate = new Employee(employeeId, "Unknown", "Person", "unknown@example.com", "Unknown");
+
+        when(employeeService.updateEmployee(eq(employeeId), any(Employee.class)))
+                .thenThrow(new RuntimeException("Employee not found with id: " + employeeId));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeToUpdate)))
+                .andExpect(status().isNotFound());
+
+        verify(employeeService).updateEmployee(eq(employeeId), any(Employee.class));
+    }
+
+    @Test
+    public void testUpdateEmployee_IfMatch() throws Exception {
+        // Arrange
+        Long employeeId = 2L;
+        Employee employeeToUpdate = new Employee(employeeId, "John", "Smith", "john.smith@example.com", "Sales");
+
+        when(employeeService.updateEmployee(eq(employeeId), argThat(employee -> Long.valueOf(4L).equals(employee.getVersion()))))
+                .thenReturn(new Employee(employeeId, "John", "Smith", "john.smith@example.com", "Sales", 5L));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/" + employeeId)
+                .header("If-Match", "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeToUpdate)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    public void testUpdateEmployee_StaleVersion() throws Exception {
+        // Arrange
+        Long employeeId = 3L;
+        Employee employeeToUpdate = new Employee(employeeId, "John", "Smith", "john.smith@example.com", "Sales");
+
+        when(employeeService.updateEmployee(eq(employeeId), any(Employee.class)))
+                .thenThrow(new OptimisticLockingFailureException("Employee 3 was modified concurrently"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/" + employeeId)
+                .header("If-Match", "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeToUpdate)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void testUpdateEmployee_UnknownIfMatch() throws Exception {
+        // Arrange
+        Employee employeeToUpdate = new Employee(4L, "John", "Smith", "john.smith@example.com", "Sales");
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/4")
+                .header("If-Match", "W/\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeToUpdate)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(employeeService, never()).updateEmployee(eq(4L), any(Employee.class));
+    }
+
+    @Test
+    public void testDeleteEmployee_Success() throws Exception {
+        // Arrange
+        Long employeeId = 1L;
+        when(employeeService.deleteEmployee(employeeId)).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(employeeService).deleteEmployee(employeeId);
+    }
+
+    @Test
+    public void testDeleteEmployee_NotFound() throws Exception {
+        // Arrange
+        Long employeeId = 999L;
+        when(employeeService.deleteEmployee(employeeId)).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/employees/" + employeeId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+
+        verify(employeeService).deleteEmployee(employeeId);
+    }
+}
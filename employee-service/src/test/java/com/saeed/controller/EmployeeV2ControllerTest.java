@@ -0,0 +1,160 @@
+package com.saeed.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.model.Employee;
+import com.saeed.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = EmployeeV2Controller.class)
+@Import(EmployeeV2ControllerTest.ReactiveEmployeeServiceTestConfig.class)
+public class EmployeeV2ControllerTest {
+
+    @TestConfiguration
+    static class ReactiveEmployeeServiceTestConfig {
+        @Bean
+        public ReactiveEmployeeService reactiveEmployeeService() {
+            return mock(ReactiveEmployeeService.class);
+        }
+
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testStreamAllEmployees() throws Exception {
+        // Arrange
+        when(employeeService.getAllEmployees()).thenReturn(Flux.just(
+                new Employee(1L, "John", "Doe", "john.doe@example.com", "IT", 0L),
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR", 3L)));
+
+        // Act & Assert
+        performAsync(get("/api/v2/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@example.com\",\"department\":\"IT\",\"version\":0}\n"
+                                + "{\"id\":2,\"firstName\":\"Jane\",\"lastName\":\"Smith\",\"email\":\"jane.smith@example.com\",\"department\":\"HR\",\"version\":3}\n"));
+    }
+
+    @Test
+    public void testGetAllEmployees_AsJsonArray() throws Exception {
+        // Arrange
+        when(employeeService.getAllEmployees()).thenReturn(Flux.just(
+                new Employee(1L, "John", "Doe", "john.doe@example.com", "IT", 0L),
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR", 0L)));
+
+        // Act & Assert
+        performAsync(get("/api/v2/employees").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].firstName").value("Jane"));
+    }
+
+    @Test
+    public void testGetEmployeeById() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeeById(1L)).thenReturn(Mono.just(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT", 0L)));
+        when(employeeService.getEmployeeById(99L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        performAsync(get("/api/v2/employees/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Doe"));
+        performAsync(get("/api/v2/employees/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testCreateEmployee() throws Exception {
+        // Arrange
+        Employee employee = new Employee(null, "Alice", "Brown", "alice.brown@example.com", "Sales");
+        when(employeeService.createEmployee(any(Employee.class)))
+                .thenReturn(Mono.just(new Employee(4L, "Alice", "Brown", "alice.brown@example.com", "Sales", 0L)));
+
+        // Act & Assert
+        performAsync(post("/api/v2/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(4));
+    }
+
+    @Test
+    public void testUpdateEmployee() throws Exception {
+        // Arrange
+        Employee employee = new Employee(1L, "John", "Doe", "john.doe@example.com", "Finance", 0L);
+        when(employeeService.updateEmployee(eq(1L), any(Employee.class)))
+                .thenReturn(Mono.just(new Employee(1L, "John", "Doe", "john.doe@example.com", "Finance", 1L)));
+        when(employeeService.updateEmployee(eq(2L), any(Employee.class)))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+        when(employeeService.updateEmployee(eq(99L), any(Employee.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        performAsync(put("/api/v2/employees/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        performAsync(put("/api/v2/employees/2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isPreconditionFailed());
+        performAsync(put("/api/v2/employees/99")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testDeleteEmployee() throws Exception {
+        // Arrange
+        when(employeeService.deleteEmployee(1L)).thenReturn(Mono.just(true));
+        when(employeeService.deleteEmployee(99L)).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        performAsync(delete("/api/v2/employees/1"))
+                .andExpect(status().isNoContent());
+        performAsync(delete("/api/v2/employees/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
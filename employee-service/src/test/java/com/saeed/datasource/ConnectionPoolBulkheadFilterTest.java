@@ -0,0 +1,179 @@
+package com.saeed.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolBulkheadFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void testRequestWithinPermits_PassesThrough() throws Exception {
+        // Arrange
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, 0, Duration.ZERO, registry);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(1, registry.get("employee.bulkhead.wait").timer().count());
+        assertEquals(0, registry.get("employee.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    public void testFullBulkheadWithoutQueue_RejectsWith503() throws Exception {
+        // Arrange
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, 0, Duration.ofSeconds(5), registry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = occupy(filter, holding, release);
+
+        try {
+            // Act
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, new MockFilterChain());
+
+            // Assert
+            assertEquals(503, response.getStatus());
+            assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+            assertEquals(1, registry.get("employee.bulkhead.rejected").counter().count());
+            assertEquals(1, registry.get("employee.bulkhead.active").gauge().value());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void testQueuedRequest_GetsSlotWhenReleased() throws Exception {
+        // Arrange
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, 1, Duration.ofSeconds(5), registry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = occupy(filter, holding, release);
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            while (registry.get("employee.bulkhead.queued").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        });
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+        holder.join();
+        releaser.join();
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, registry.get("employee.bulkhead.rejected").counter().count());
+        assertEquals(2, registry.get("employee.bulkhead.wait").timer().count());
+    }
+
+    @Test
+    public void testQueuedRequest_TimesOut() throws Exception {
+        // Arrange
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, 1, Duration.ofMillis(50), registry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = occupy(filter, holding, release);
+
+        try {
+            // Act
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, new MockFilterChain());
+
+            // Assert
+            assertEquals(503, response.getStatus());
+            assertEquals(0, registry.get("employee.bulkhead.queued").gauge().value());
+            assertTrue(registry.get("employee.bulkhead.wait").timer().max(TimeUnit.MILLISECONDS) >= 50);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void testAsyncRequest_HoldsSlotUntilComplete() throws Exception {
+        // Arrange: the response is streamed after the request thread returns
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, 0, Duration.ZERO, registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/export");
+        request.setAsyncSupported(true);
+        FilterChain asyncChain = (chainRequest, chainResponse) -> chainRequest.startAsync();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), rejected, new MockFilterChain());
+        request.getAsyncContext().complete();
+
+        // Assert
+        assertEquals(503, rejected.getStatus());
+        assertEquals(0, registry.get("employee.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    public void testExemptPath_BypassesBulkhead() throws Exception {
+        // Arrange
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, 0, Duration.ZERO,
+                Set.of("/api/employees/changes"), registry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = occupy(filter, holding, release);
+
+        try {
+            // Act
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/changes"), response, chain);
+
+            // Assert
+            assertEquals(200, response.getStatus());
+            assertNotNull(chain.getRequest());
+            assertEquals(0, registry.get("employee.bulkhead.rejected").counter().count());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    // Runs a request on another thread that holds its slot until released
+    private static Thread occupy(ConnectionPoolBulkheadFilter filter, CountDownLatch holding, CountDownLatch release)
+            throws InterruptedException {
+        FilterChain blockingChain = (request, response) -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        return thread;
+    }
+}
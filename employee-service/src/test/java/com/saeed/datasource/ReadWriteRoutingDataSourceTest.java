@@ -0,0 +1,201 @@
+package com.saeed.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor monitor;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        when(monitor.getDataSource()).thenReturn(replica);
+        dataSource = new ReadWriteRoutingDataSource(primary, monitor);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RoutingContext.close();
+    }
+
+    @Test
+    public void testReadOnly_InRequestWithHealthyReplica_UsesReplica() {
+        // Arrange
+        when(monitor.isHealthy()).thenReturn(true);
+        RoutingContext.open(null, lsn -> { });
+
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testReadWrite_UsesPrimary() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RoutingContext.open(null, lsn -> { });
+
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, dataSource.determineCurrentLookupKey());
+        verify(monitor, never()).isHealthy();
+    }
+
+    @Test
+    public void testReadOnly_ReplicaLagging_UsesPrimary() {
+        // Arrange
+        when(monitor.isHealthy()).thenReturn(false);
+        RoutingContext.open(null, lsn -> { });
+
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testReadOnly_ReplicaBehindClientsWrite_UsesPrimary() {
+        // Arrange
+        when(monitor.isHealthy()).thenReturn(true);
+        when(monitor.getReplayedLsn()).thenReturn(100L, 200L);
+        RoutingContext.open(150L, lsn -> { });
+
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testReadOnly_OnPrimary_UsesPrimary() {
+        // Arrange
+        when(monitor.isHealthy()).thenReturn(true);
+        RoutingContext.open(null, lsn -> { });
+
+        // Act
+        Object target = RoutingContext.onPrimary(dataSource::determineCurrentLookupKey);
+
+        // Assert
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, target);
+        assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testReadWrite_PoolSizeConcurrentWrites_RecordLsnOnOwnConnection() throws Exception {
+        // Arrange: a pool of four connections that fails at once when exhausted, and four writers holding one each
+        int poolSize = 4;
+        BlockingQueue<Connection> idle = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            idle.add(connection(idle, 42L));
+        }
+        when(primary.getConnection()).thenAnswer(invocation -> {
+            Connection connection = idle.poll();
+            if (connection == null) {
+                throw new SQLTransientConnectionException("primary - Connection is not available");
+            }
+            return connection;
+        });
+        LazyConnectionDataSourceProxy lazyDataSource = new LazyConnectionDataSourceProxy();
+        lazyDataSource.setTargetDataSource(dataSource);
+        lazyDataSource.setDefaultAutoCommit(true);
+        lazyDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(lazyDataSource));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(lazyDataSource);
+        CyclicBarrier allHoldingConnections = new CyclicBarrier(poolSize);
+        List<Long> recordedLsns = new CopyOnWriteArrayList<>();
+
+        // Act
+        List<Future<?>> writes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(poolSize)) {
+            for (int i = 0; i < poolSize; i++) {
+                writes.add(executor.submit(() -> {
+                    RoutingContext.open(null, recordedLsns::add);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            jdbcTemplate.update("UPDATE employees SET version = version + 1 WHERE id = 1");
+                            await(allHoldingConnections);
+                        });
+                    } finally {
+                        RoutingContext.close();
+                    }
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        // Assert: each write took one connection, and still recorded the LSN while all of them were taken
+        verify(primary, times(poolSize)).getConnection();
+        assertEquals(Collections.nCopies(poolSize, 42L), recordedLsns);
+        assertEquals(poolSize, idle.size());
+    }
+
+    @Test
+    public void testReadOnly_OutsideRequest_UsesPrimary() {
+        // Arrange
+        when(monitor.isHealthy()).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    // A pooled connection: closing returns it to the pool, and every query answers the given LSN
+    private static Connection connection(BlockingQueue<Connection> pool, long lsn) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lsn);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        doAnswer(invocation -> pool.add(connection)).when(connection).close();
+        return connection;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
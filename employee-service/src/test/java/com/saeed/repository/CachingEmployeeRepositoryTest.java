@@ -0,0 +1,163 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChange;
+import com.saeed.model.EmployeeSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingEmployeeRepositoryTest {
+
+    @Mock
+    private EmployeeRepository delegate;
+
+    private CachingEmployeeRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new CachingEmployeeRepository(delegate, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testFindById_ServedFromCache() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")));
+
+        // Act
+        Optional<Employee> first = repository.findById(1L);
+        Optional<Employee> second = repository.findById(1L);
+
+        // Assert
+        assertEquals("John", second.orElseThrow().getFirstName());
+        assertNotSame(first.orElseThrow(), second.orElseThrow());
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    public void testFindById_CallerCannotModifyCachedEmployee() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")));
+
+        // Act
+        repository.findById(1L).orElseThrow().setLastName("Changed");
+
+        // Assert
+        assertEquals("Doe", repository.findById(1L).orElseThrow().getLastName());
+    }
+
+    @Test
+    public void testFindById_MissIsCached() {
+        // Arrange
+        when(delegate.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        repository.findById(999L);
+        Optional<Employee> employee = repository.findById(999L);
+
+        // Assert
+        assertFalse(employee.isPresent());
+        verify(delegate, times(1)).findById(999L);
+    }
+
+    @Test
+    public void testSave_InvalidatesCachedMiss() {
+        // Arrange
+        when(delegate.findById(4L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new Employee(4L, "Alice", "Johnson", "alice.johnson@example.com", "Marketing")));
+        when(delegate.save(any(Employee.class)))
+                .thenReturn(new Employee(4L, "Alice", "Johnson", "alice.johnson@example.com", "Marketing"));
+        repository.findById(4L);
+
+        // Act
+        repository.save(new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Marketing"));
+
+        // Assert
+        assertTrue(repository.findById(4L).isPresent());
+    }
+
+    @Test
+    public void testUpdateAndDelete_Invalidate() {
+        // Arrange
+        Employee employee = new Employee(1L, "John", "Doe", "john.doe@example.com", "IT");
+        when(delegate.findById(1L)).thenReturn(Optional.of(employee));
+        when(delegate.update(any(Employee.class))).thenReturn(employee);
+        when(delegate.deleteAllById(List.of(1L))).thenReturn(List.of(1L));
+
+        // Act
+        repository.findById(1L);
+        repository.update(employee);
+        repository.findById(1L);
+        repository.deleteAllById(List.of(1L));
+        repository.findById(1L);
+
+        // Assert
+        verify(delegate, times(3)).findById(1L);
+    }
+
+    @Test
+    public void testMaximumSizeEvicts() {
+        // Arrange
+        CachingEmployeeRepository small = new CachingEmployeeRepository(delegate, 1, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        when(delegate.findById(anyLong())).thenReturn(Optional.empty());
+
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            small.findById(id);
+        }
+        small.cleanUp();
+
+        // Assert
+        assertTrue(small.size() <= 1);
+        assertTrue(small.stats().evictionCount() >= 9);
+    }
+
+    @Test
+    public void testOnChange_EvictsChangedIds() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")));
+        repository.findById(1L);
+
+        // Act
+        repository.onChange(new EmployeeChange(EmployeeChange.Op.UPDATE, List.of(1L)));
+        repository.findById(1L);
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testRoster_ServesReadsAndLocalWrites() {
+        // Arrange
+        EmployeeRoster roster = new EmployeeRoster(delegate);
+        CachingEmployeeRepository withRoster = new CachingEmployeeRepository(delegate, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), roster);
+        when(delegate.findPage(null, null, 500, EmployeeSort.ID))
+                .thenReturn(List.of(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")));
+        when(delegate.save(any(Employee.class)))
+                .thenReturn(new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR"));
+        roster.onChange(EmployeeChange.reset());
+
+        // Act
+        withRoster.save(new Employee(null, "Jane", "Smith", "jane.smith@example.com", "HR"));
+        List<Employee> employees = withRoster.findAll();
+
+        // Assert
+        assertEquals(2, employees.size());
+        assertEquals("Jane", withRoster.findById(2L).orElseThrow().getFirstName());
+        verify(delegate, never()).findAll();
+        verify(delegate, never()).findById(anyLong());
+    }
+}
@@ -0,0 +1,109 @@
+package com.saeed.repository;
+
+import com.saeed.model.DepartmentStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import({DepartmentStatsRepository.class, DepartmentDictionary.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class DepartmentStatsRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private DepartmentStatsRepository departmentStatsRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("TRUNCATE employees").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES "
+                + "('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT')), "
+                + "('Jane', 'Smith', 'jane.smith@example.com', find_or_create_department('HR')), "
+                + "('Mike', 'Johnson', 'mike.johnson@example.com', find_or_create_department('IT'))").update();
+    }
+
+    @Test
+    void testFindAll() {
+        // Act
+        DepartmentStats stats = departmentStatsRepository.findAll();
+
+        // Assert
+        assertEquals(List.of(new DepartmentStats.Headcount("HR", 1), new DepartmentStats.Headcount("IT", 2)), stats.departments());
+        assertEquals(3, stats.total());
+    }
+
+    @Test
+    void testFindAll_FollowsWrites() {
+        // Act
+        jdbcClient.sql("UPDATE employees SET department_id = find_or_create_department('Finance') WHERE email = 'john.doe@example.com'").update();
+        jdbcClient.sql("UPDATE employees SET first_name = 'Janet'").update();
+        jdbcClient.sql("DELETE FROM employees WHERE department_id = find_or_create_department('HR')").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('Alice', 'Brown', 'alice.brown@example.com', find_or_create_department('Sales'))").update();
+        DepartmentStats stats = departmentStatsRepository.findAll();
+
+        // Assert
+        assertEquals(List.of(
+                new DepartmentStats.Headcount("Finance", 1),
+                new DepartmentStats.Headcount("IT", 1),
+                new DepartmentStats.Headcount("Sales", 1)), stats.departments());
+        assertEquals(3, stats.total());
+    }
+
+    @Test
+    void testReconcile_NoDrift() {
+        // Act
+        Map<String, Long> corrections = departmentStatsRepository.reconcile();
+
+        // Assert
+        assertTrue(corrections.isEmpty());
+    }
+
+    @Test
+    void testReconcile_CorrectsDrift() {
+        // Arrange: lose one IT employee and invent a department, as a write around the triggers would
+        jdbcClient.sql("UPDATE department_stats SET headcount = headcount - 1 WHERE department_id = find_or_create_department('IT') AND headcount > 0").update();
+        jdbcClient.sql("INSERT INTO department_stats (department_id, slot, headcount) VALUES (find_or_create_department('Legal'), 3, 4)").update();
+
+        // Act
+        Map<String, Long> corrections = departmentStatsRepository.reconcile();
+
+        // Assert
+        assertEquals(Map.of("IT", 1L, "Legal", -4L), corrections);
+        DepartmentStats stats = departmentStatsRepository.findAll();
+        assertEquals(List.of(new DepartmentStats.Headcount("HR", 1), new DepartmentStats.Headcount("IT", 2)), stats.departments());
+        assertTrue(departmentStatsRepository.reconcile().isEmpty());
+    }
+}
@@ -0,0 +1,156 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(EmployeeOutboxRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class EmployeeOutboxRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private EmployeeOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private long head;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("DELETE FROM employees").update();
+        jdbcClient.sql("DELETE FROM employee_outbox").update();
+        head = outboxRepository.findRange().lastEventId();
+    }
+
+    @Test
+    void testSequence_RecordsWrites() {
+        // Arrange
+        long id = jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                        + "VALUES ('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT')) RETURNING id")
+                .query(Long.class).single();
+        jdbcClient.sql("UPDATE employees SET first_name = 'Johnny', version = version + 1 WHERE id = ?").param(id).update();
+        jdbcClient.sql("DELETE FROM employees WHERE id = ?").param(id).update();
+
+        // Act
+        int sequenced = outboxRepository.sequence(500);
+        List<EmployeeChangeEvent> events = outboxRepository.findAfter(head, 500);
+
+        // Assert
+        assertEquals(3, sequenced);
+        assertEquals(List.of(
+                new EmployeeChangeEvent(head + 1, EmployeeChangeEvent.Type.CREATED, id,
+                        "{\"id\":" + id + ",\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@example.com\",\"department\":\"IT\",\"version\":0}"),
+                new EmployeeChangeEvent(head + 2, EmployeeChangeEvent.Type.UPDATED, id,
+                        "{\"id\":" + id + ",\"firstName\":\"Johnny\",\"lastName\":\"Doe\",\"email\":\"john.doe@example.com\",\"department\":\"IT\",\"version\":1}"),
+                new EmployeeChangeEvent(head + 3, EmployeeChangeEvent.Type.DELETED, id, "{\"id\":" + id + "}")),
+                events);
+        assertEquals(head + 3, outboxRepository.findRange().lastEventId());
+    }
+
+    @Test
+    void testSequence_InBatches() {
+        // Arrange
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                + "SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', find_or_create_department('IT') "
+                + "FROM generate_series(1, 3) AS n").update();
+
+        // Act
+        int first = outboxRepository.sequence(2);
+        int second = outboxRepository.sequence(2);
+        int third = outboxRepository.sequence(2);
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, third);
+        assertEquals(List.of(head + 1, head + 2, head + 3),
+                outboxRepository.findAfter(head, 500).stream().map(EmployeeChangeEvent::id).toList());
+    }
+
+    @Test
+    void testSequence_BulkStatementRecordsReset() {
+        // Arrange
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                + "SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', find_or_create_department('IT') "
+                + "FROM generate_series(1, 5001) AS n").update();
+
+        // Act
+        outboxRepository.sequence(500);
+        List<EmployeeChangeEvent> events = outboxRepository.findAfter(head, 500);
+
+        // Assert
+        assertEquals(List.of(EmployeeChangeEvent.reset(head + 1)), events);
+    }
+
+    @Test
+    void testFindRange_CanResumeAfter() {
+        // Arrange
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                + "SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', find_or_create_department('IT') "
+                + "FROM generate_series(1, 3) AS n").update();
+        outboxRepository.sequence(500);
+
+        // Act
+        EmployeeOutboxRepository.Range range = outboxRepository.findRange();
+
+        // Assert
+        assertEquals(new EmployeeOutboxRepository.Range(head + 1, head + 3), range);
+        assertTrue(range.canResumeAfter(head));
+        assertTrue(range.canResumeAfter(head + 3));
+        assertFalse(range.canResumeAfter(head - 1));
+        assertFalse(range.canResumeAfter(head + 4));
+    }
+
+    @Test
+    void testDeleteSequencedBefore() {
+        // Arrange
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                + "SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', find_or_create_department('IT') "
+                + "FROM generate_series(1, 3) AS n").update();
+        outboxRepository.sequence(500);
+
+        // Act
+        int kept = outboxRepository.deleteSequencedBefore(Instant.now().minusSeconds(3600), 500);
+        int deleted = outboxRepository.deleteSequencedBefore(Instant.now().plusSeconds(3600), 2);
+
+        // Assert
+        assertEquals(0, kept);
+        assertEquals(2, deleted);
+        EmployeeOutboxRepository.Range range = outboxRepository.findRange();
+        assertEquals(new EmployeeOutboxRepository.Range(head + 3, head + 3), range);
+        assertFalse(range.canResumeAfter(head));
+    }
+}
@@ -0,0 +1,111 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChange;
+import com.saeed.model.EmployeeSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeRosterTest {
+
+    @Mock
+    private EmployeeRepository loader;
+
+    private EmployeeRoster roster;
+
+    @BeforeEach
+    public void setUp() {
+        roster = new EmployeeRoster(loader);
+    }
+
+    @Test
+    public void testReset_LoadsAllPages() {
+        // Arrange
+        List<Employee> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstPage.add(new Employee(id, "First" + id, "Last" + id, "employee" + id + "@example.com", "IT"));
+        }
+        when(loader.findPage(null, null, 500, EmployeeSort.ID)).thenReturn(firstPage);
+        when(loader.findPage(500L, null, 500, EmployeeSort.ID))
+                .thenReturn(List.of(new Employee(501L, "First501", "Last501", "employee501@example.com", "IT")));
+
+        // Act
+        roster.onChange(EmployeeChange.reset());
+
+        // Assert
+        assertTrue(roster.isLoaded());
+        assertEquals(501, roster.size());
+        assertEquals("First501", roster.findById(501L).orElseThrow().getFirstName());
+    }
+
+    @Test
+    public void testChanges_AppliedAsDeltas() {
+        // Arrange
+        when(loader.findPage(null, null, 500, EmployeeSort.ID)).thenReturn(List.of(
+                new Employee(1L, "John", "Doe", "john.doe@example.com", "IT"),
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR")));
+        when(loader.findAllById(List.of(1L, 3L))).thenReturn(List.of(
+                new Employee(1L, "John", "Smith", "john.doe@example.com", "IT"),
+                new Employee(3L, "Mike", "Johnson", "mike.johnson@example.com", "Finance")));
+        roster.onChange(EmployeeChange.reset());
+
+        // Act
+        roster.onChange(EmployeeChange.parse("UPDATE:1,3"));
+        roster.onChange(EmployeeChange.parse("DELETE:2"));
+
+        // Assert
+        assertEquals(List.of("John Smith", "Mike Johnson"), roster.findAll().stream()
+                .map(employee -> employee.getFirstName() + " " + employee.getLastName())
+                .toList());
+        verify(loader, times(1)).findPage(null, null, 500, EmployeeSort.ID);
+    }
+
+    @Test
+    public void testPut_IgnoresOlderVersion() {
+        // Arrange: another node's write was read before this node's earlier commit hook ran
+        when(loader.findPage(null, null, 500, EmployeeSort.ID)).thenReturn(List.of(
+                new Employee(1L, "John", "Doe", "john.doe@example.com", "IT", 0L)));
+        when(loader.findAllById(List.of(1L))).thenReturn(List.of(
+                new Employee(1L, "Johnny", "Doe", "john.doe@example.com", "IT", 2L)));
+        roster.onChange(EmployeeChange.reset());
+        roster.onChange(EmployeeChange.parse("UPDATE:1"));
+
+        // Act
+        roster.put(new Employee(1L, "John", "Smith", "john.doe@example.com", "IT", 1L));
+        roster.put(new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR", 0L));
+
+        // Assert
+        assertEquals("Johnny", roster.findById(1L).orElseThrow().getFirstName());
+        assertEquals(2L, roster.findById(1L).orElseThrow().getVersion());
+        assertTrue(roster.findById(2L).isPresent());
+    }
+
+    @Test
+    public void testDisconnectOrFailedLoad_StopsServing() {
+        // Arrange
+        when(loader.findPage(null, null, 500, EmployeeSort.ID))
+                .thenReturn(List.of(new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        roster.onChange(EmployeeChange.reset());
+
+        // Act
+        roster.onDisconnect();
+        boolean loadedAfterDisconnect = roster.isLoaded();
+        roster.onChange(EmployeeChange.reset());
+
+        // Assert
+        assertFalse(loadedAfterDisconnect);
+        assertFalse(roster.isLoaded());
+    }
+}
@@ -0,0 +1,555 @@
+package com.saeed.repository;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeField;
+import com.saeed.model.EmployeeSort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import({JdbcEmployeeRepository.class, DepartmentDictionary.class, SimpleMeterRegistry.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class JdbcEmployeeRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private JdbcEmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Clean up the table and reset the sequence before each test
+        jdbcClient.sql("DELETE FROM employees").update();
+        jdbcClient.sql("ALTER SEQUENCE employees_id_seq RESTART WITH 1").update();
+
+        // Insert test data
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT'))").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('Jane', 'Smith', 'jane.smith@example.com', find_or_create_department('HR'))").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('Mike', 'Johnson', 'mike.johnson@example.com', find_or_create_department('Finance'))").update();
+    }
+
+    @Test
+    void testFindAll() {
+        // Act
+        List<Employee> employees = employeeRepository.findAll();
+
+        // Assert
+        assertNotNull(employees);
+        assertEquals(3, employees.size());
+        assertEquals("John", employees.get(0).getFirstName());
+        assertEquals("Jane", employees.get(1).getFirstName());
+        assertEquals("Mike", employees.get(2).getFirstName());
+    }
+
+    @Test
+    void testFindAll_MoreRowsThanMaxRows() {
+        // Arrange: spring.jdbc.template.max-rows is 500
+        employeeRepository.saveAll(employees(1200));
+
+        // Act
+        List<Employee> employees = employeeRepository.findAll();
+        List<Employee> emails = employeeRepository.findAll(EnumSet.of(EmployeeField.EMAIL));
+
+        // Assert: every employee, in id order, like the roster answers when it is enabled
+        assertEquals(1203, employees.size());
+        assertEquals(1203, emails.size());
+        assertEquals(1203L, employees.get(1202).getId());
+        assertEquals("employee1200@example.com", emails.get(1202).getEmail());
+    }
+
+    @Test
+    void testFindAll_RecordsRowCount() {
+        // Arrange
+        DistributionSummary rows = meterRegistry.get("employee.repository.rows").tag("method", "findAll").summary();
+        long countBefore = rows.count();
+        double totalBefore = rows.totalAmount();
+
+        // Act
+        employeeRepository.findAll();
+
+        // Assert
+        assertEquals(countBefore + 1, rows.count());
+        assertEquals(totalBefore + 3, rows.totalAmount());
+    }
+
+    @Test
+    void testFindAll_InternsDepartments() {
+        // Arrange
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('Anna', 'Lee', 'anna.lee@example.com', find_or_create_department('IT'))").update();
+
+        // Act
+        List<Employee> employees = employeeRepository.findAll();
+        Employee john = employeeRepository.findById(1L).orElseThrow();
+
+        // Assert
+        assertEquals(4, employees.size());
+        assertSame(employees.get(0).getDepartment(), employees.get(3).getDepartment());
+        assertSame(employees.get(0).getDepartment(), john.getDepartment());
+    }
+
+    @Test
+    void testFindAll_Fields() {
+        // Act
+        List<Employee> employees = employeeRepository.findAll(EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL));
+
+        // Assert
+        assertEquals(3, employees.size());
+        Employee john = employees.stream().filter(employee -> employee.getId() == 1L).findFirst().orElseThrow();
+        assertEquals("john.doe@example.com", john.getEmail());
+        assertNull(john.getFirstName());
+        assertNull(john.getDepartment());
+        assertNull(john.getVersion());
+    }
+
+    @Test
+    void testFindPage_Fields() {
+        // Act
+        List<Employee> firstPage = employeeRepository.findPage(null, null, 2, EmployeeSort.LAST_NAME, EnumSet.of(EmployeeField.EMAIL));
+        Employee last = firstPage.get(1);
+        List<Employee> secondPage = employeeRepository.findPage(last.getId(), last.getLastName(), 2, EmployeeSort.LAST_NAME,
+                EnumSet.of(EmployeeField.EMAIL));
+
+        // Assert: the id and the sort column are read as well, for the position of the next page
+        assertEquals(List.of("Doe", "Johnson"), firstPage.stream().map(Employee::getLastName).toList());
+        assertEquals("mike.johnson@example.com", last.getEmail());
+        assertNull(last.getFirstName());
+        assertEquals(1, secondPage.size());
+        assertEquals(2L, secondPage.get(0).getId());
+    }
+
+    @Test
+    void testFindPage_ById() {
+        // Act
+        List<Employee> firstPage = employeeRepository.findPage(null, null, 2, EmployeeSort.ID);
+        List<Employee> secondPage = employeeRepository.findPage(2L, null, 2, EmployeeSort.ID);
+
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals(1L, firstPage.get(0).getId());
+        assertEquals(2L, firstPage.get(1).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(3L, secondPage.get(0).getId());
+    }
+
+    @Test
+    void testFindPage_ByLastName() {
+        // Act
+        List<Employee> firstPage = employeeRepository.findPage(null, null, 2, EmployeeSort.LAST_NAME);
+        Employee last = firstPage.get(1);
+        List<Employee> secondPage = employeeRepository.findPage(last.getId(), last.getLastName(), 2, EmployeeSort.LAST_NAME);
+
+        // Assert
+        assertEquals("Doe", firstPage.get(0).getLastName());
+        assertEquals("Johnson", firstPage.get(1).getLastName());
+        assertEquals(1, secondPage.size());
+        assertEquals("Smith", secondPage.get(0).getLastName());
+    }
+
+    @Test
+    void testFindPage_ByDepartment() {
+        // Arrange
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('Anna', 'Lee', 'anna.lee@example.com', find_or_create_department('Finance'))").update();
+
+        // Act
+        List<Employee> firstPage = employeeRepository.findPage(null, null, 1, EmployeeSort.DEPARTMENT);
+        Employee last = firstPage.get(0);
+        List<Employee> secondPage = employeeRepository.findPage(last.getId(), last.getDepartment(), 2, EmployeeSort.DEPARTMENT);
+        last = secondPage.get(1);
+        List<Employee> thirdPage = employeeRepository.findPage(last.getId(), last.getDepartment(), 2, EmployeeSort.DEPARTMENT);
+
+        // Assert
+        assertEquals(List.of("Mike"), firstPage.stream().map(Employee::getFirstName).toList());
+        assertEquals(List.of("Anna", "Jane"), secondPage.stream().map(Employee::getFirstName).toList());
+        assertEquals(List.of("John"), thirdPage.stream().map(Employee::getFirstName).toList());
+    }
+
+    @Test
+    void testFindSlice_ByDepartment() {
+        // Act
+        List<Employee> descending = employeeRepository.findSlice(null, 0, 10, EmployeeSort.DEPARTMENT, false);
+
+        // Assert
+        assertEquals(List.of("IT", "HR", "Finance"), descending.stream().map(Employee::getDepartment).toList());
+    }
+
+    @Test
+    void testSearch() {
+        // Act
+        List<Employee> byName = employeeRepository.search("OHN", 10);
+        List<Employee> byDepartment = employeeRepository.search("financ", 10);
+        List<Employee> wildcard = employeeRepository.search("%", 10);
+
+        // Assert
+        assertEquals(2, byName.size());
+        assertEquals("John", byName.get(0).getFirstName());
+        assertEquals("Mike", byName.get(1).getFirstName());
+        assertEquals(1, byDepartment.size());
+        assertEquals("Finance", byDepartment.get(0).getDepartment());
+        assertTrue(wildcard.isEmpty());
+    }
+
+    @Test
+    void testSearch_Limit() {
+        // Act
+        List<Employee> employees = employeeRepository.search("example.com", 2);
+
+        // Assert
+        assertEquals(2, employees.size());
+        assertEquals(1L, employees.get(0).getId());
+    }
+
+    @Test
+    void testFindSlice() {
+        // Act
+        List<Employee> byLastNameDesc = employeeRepository.findSlice(null, 1, 2, EmployeeSort.LAST_NAME, false);
+        List<Employee> filtered = employeeRepository.findSlice("john", 0, 10, EmployeeSort.FIRST_NAME, true);
+
+        // Assert
+        assertEquals(2, byLastNameDesc.size());
+        assertEquals("Johnson", byLastNameDesc.get(0).getLastName());
+        assertEquals("Doe", byLastNameDesc.get(1).getLastName());
+        assertEquals(2, filtered.size());
+        assertEquals("John", filtered.get(0).getFirstName());
+        assertEquals("Mike", filtered.get(1).getFirstName());
+    }
+
+    @Test
+    void testCount() {
+        // Act & Assert
+        assertEquals(3, employeeRepository.count(null));
+        assertEquals(3, employeeRepository.count(" "));
+        assertEquals(1, employeeRepository.count("HR"));
+        assertEquals(0, employeeRepository.count("nobody"));
+    }
+
+    @Test
+    void testCount_Cancellation() {
+        // Arrange
+        QueryCancellation running = new QueryCancellation();
+        QueryCancellation cancelled = new QueryCancellation();
+        cancelled.cancel();
+
+        // Act & Assert
+        assertEquals(1, employeeRepository.count("HR", running));
+        assertEquals(2, employeeRepository.findSlice("john", 0, 10, EmployeeSort.FIRST_NAME, true, running).size());
+        assertThrows(DataAccessException.class, () -> employeeRepository.count("HR", cancelled));
+        assertThrows(DataAccessException.class,
+                () -> employeeRepository.findSlice("john", 0, 10, EmployeeSort.FIRST_NAME, true, cancelled));
+        assertTrue(cancelled.isCancelled());
+        assertFalse(running.isCancelled());
+    }
+
+    @Test
+    void testCurrentRevision_GrowsWithEveryWrite() {
+        // Arrange
+        long initial = employeeRepository.currentRevision();
+
+        // Act
+        employeeRepository.update(new Employee(1L, "John", "Smith", "john.smith@example.com", "Sales"));
+        long afterUpdate = employeeRepository.currentRevision();
+        employeeRepository.findAll();
+        long afterRead = employeeRepository.currentRevision();
+        employeeRepository.deleteById(2L);
+
+        // Assert
+        assertTrue(afterUpdate > initial);
+        assertEquals(afterUpdate, afterRead);
+        assertTrue(employeeRepository.currentRevision() > afterUpdate);
+    }
+
+    @Test
+    void testFindById_Found() {
+        // Act
+        Optional<Employee> employee = employeeRepository.findById(1L);
+
+        // Assert
+        assertTrue(employee.isPresent());
+        assertEquals("John", employee.get().getFirstName());
+        assertEquals("Doe", employee.get().getLastName());
+        assertEquals("john.doe@example.com", employee.get().getEmail());
+        assertEquals("IT", employee.get().getDepartment());
+    }
+
+    @Test
+    void testFindById_NotFound() {
+        // Act
+        Optional<Employee> employee = employeeRepository.findById(999L);
+
+        // Assert
+        assertFalse(employee.isPresent());
+    }
+
+    @Test
+    void testFindAllById() {
+        // Act
+        List<Employee> employees = employeeRepository.findAllById(List.of(3L, 1L, 999L));
+
+        // Assert
+        assertEquals(List.of(1L, 3L), employees.stream().map(Employee::getId).toList());
+        assertEquals("Mike", employees.get(1).getFirstName());
+    }
+
+    @Test
+    void testSave() {
+        // Arrange
+        Employee newEmployee = new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Marketing");
+
+        // Act
+        Employee savedEmployee = employeeRepository.save(newEmployee);
+
+        // Assert
+        assertNotNull(savedEmployee.getId());
+        assertEquals("Alice", savedEmployee.getFirstName());
+        assertEquals("Johnson", savedEmployee.getLastName());
+        assertEquals("alice.johnson@example.com", savedEmployee.getEmail());
+        assertEquals("Marketing", savedEmployee.getDepartment());
+
+        // Verify it's in the database
+        Optional<Employee> retrievedEmployee = employeeRepository.findById(savedEmployee.getId());
+        assertTrue(retrievedEmployee.isPresent());
+        assertEquals("Alice", retrievedEmployee.get().getFirstName());
+    }
+
+    @Test
+    void testSave_NewDepartment() {
+        // Arrange
+        Employee newEmployee = new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Research");
+
+        // Act
+        Employee savedEmployee = employeeRepository.save(newEmployee);
+
+        // Assert
+        assertEquals("Research", employeeRepository.findById(savedEmployee.getId()).orElseThrow().getDepartment());
+        assertEquals(1L, jdbcClient.sql("SELECT count(*) FROM departments WHERE name = 'Research'").query(Long.class).single());
+    }
+
+    @Test
+    void testFindDepartments() {
+        // Act
+        List<String> departments = employeeRepository.findDepartments();
+
+        // Assert
+        assertTrue(departments.containsAll(List.of("Finance", "HR", "IT")));
+        assertEquals(departments.stream().sorted().toList(), departments);
+    }
+
+    @Test
+    void testSaveAll() {
+        // Arrange
+        List<Employee> newEmployees = List.of(
+                new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Marketing"),
+                new Employee(null, "Bob", "Brown", "bob.brown@example.com", "Sales")
+        );
+
+        // Act
+        List<Employee> savedEmployees = employeeRepository.saveAll(newEmployees);
+
+        // Assert
+        assertEquals(4L, savedEmployees.get(0).getId());
+        assertEquals(5L, savedEmployees.get(1).getId());
+        assertEquals("Bob", employeeRepository.findById(5L).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void testSaveAll_MoreRowsThanMaxRows() {
+        // Arrange: spring.jdbc.template.max-rows is 500, and RETURNING hands back one key row per employee
+        List<Employee> newEmployees = employees(1200);
+
+        // Act
+        List<Employee> savedEmployees = employeeRepository.saveAll(newEmployees);
+
+        // Assert
+        assertEquals(4L, savedEmployees.get(0).getId());
+        assertEquals(1203L, savedEmployees.get(1199).getId());
+        assertTrue(savedEmployees.stream().allMatch(employee -> employee.getVersion() != null));
+        assertEquals(1203L, jdbcClient.sql("SELECT count(*) FROM employees").query(Long.class).single());
+    }
+
+    @Test
+    void testUpdateAll() {
+        // Arrange
+        List<Employee> employeesToUpdate = List.of(
+                new Employee(1L, "John", "Smith", "john.smith@example.com", "Sales"),
+                new Employee(999L, "Unknown", "Person", "unknown@example.com", "Unknown")
+        );
+
+        // Act
+        int[] counts = employeeRepository.updateAll(employeesToUpdate);
+
+        // Assert
+        assertArrayEquals(new int[] {1, 0}, counts);
+        assertEquals("Smith", employeeRepository.findById(1L).orElseThrow().getLastName());
+    }
+
+    @Test
+    void testUpdate_Success() {
+        // Arrange
+        Employee employeeToUpdate = new Employee(1L, "John", "Smith", "john.smith@example.com", "Sales");
+
+        // Act
+        Employee updatedEmployee = employeeRepository.update(employeeToUpdate);
+
+        // Assert
+        assertEquals(1L, updatedEmployee.getId());
+        assertEquals("John", updatedEmployee.getFirstName());
+        assertEquals("Smith", updatedEmployee.getLastName());
+        assertEquals("john.smith@example.com", updatedEmployee.getEmail());
+        assertEquals("Sales", updatedEmployee.getDepartment());
+        assertEquals(1L, updatedEmployee.getVersion());
+
+        // Verify it's updated in the database
+        Optional<Employee> retrievedEmployee = employeeRepository.findById(1L);
+        assertTrue(retrievedEmployee.isPresent());
+        assertEquals("Smith", retrievedEmployee.get().getLastName());
+        assertEquals("Sales", retrievedEmployee.get().getDepartment());
+    }
+
+    @Test
+    void testUpdate_NotFound() {
+        // Arrange
+        Employee nonExistentEmployee = new Employee(999L, "Unknown", "Person", "unknown@example.com", "Unknown");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> {
+            employeeRepository.update(nonExistentEmployee);
+        });
+    }
+
+    @Test
+    void testUpdate_ExpectedVersion() {
+        // Arrange
+        Employee first = new Employee(1L, "John", "Smith", "john.smith@example.com", "Sales", 0L);
+        Employee stale = new Employee(1L, "John", "Brown", "john.brown@example.com", "Sales", 0L);
+
+        // Act
+        Employee updatedEmployee = employeeRepository.update(first);
+
+        // Assert
+        assertEquals(1L, updatedEmployee.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeRepository.update(stale));
+        assertEquals("Smith", employeeRepository.findById(1L).orElseThrow().getLastName());
+    }
+
+    @Test
+    void testUpdate_ExpectedVersionNotFound() {
+        // Arrange
+        Employee nonExistentEmployee = new Employee(999L, "Unknown", "Person", "unknown@example.com", "Unknown", 0L);
+
+        // Act & Assert
+        RuntimeException e = assertThrows(RuntimeException.class, () -> employeeRepository.update(nonExistentEmployee));
+        assertFalse(e instanceof OptimisticLockingFailureException);
+    }
+
+    @Test
+    void testUpdateAll_ExpectedVersion() {
+        // Arrange
+        List<Employee> employeesToUpdate = List.of(
+                new Employee(1L, "John", "Smith", "john.smith@example.com", "Sales", 0L),
+                new Employee(2L, "Jane", "Brown", "jane.brown@example.com", "HR", 7L)
+        );
+
+        // Act
+        int[] counts = employeeRepository.updateAll(employeesToUpdate);
+
+        // Assert
+        assertArrayEquals(new int[] {1, 0}, counts);
+        assertEquals(1L, employeesToUpdate.get(0).getVersion());
+        assertEquals(1L, employeeRepository.findById(1L).orElseThrow().getVersion());
+        assertEquals("Smith", employeeRepository.findById(2L).orElseThrow().getLastName());
+    }
+
+    @Test
+    void testDeleteById_Success() {
+        // Act
+        boolean result = employeeRepository.deleteById(1L);
+
+        // Assert
+        assertTrue(result);
+
+        // Verify it's deleted from the database
+        Optional<Employee> retrievedEmployee = employeeRepository.findById(1L);
+        assertFalse(retrievedEmployee.isPresent());
+    }
+
+    @Test
+    void testDeleteAllById() {
+        // Act
+        List<Long> deleted = employeeRepository.deleteAllById(List.of(1L, 3L, 999L));
+
+        // Assert
+        assertEquals(2, deleted.size());
+        assertTrue(deleted.containsAll(List.of(1L, 3L)));
+        assertEquals(1, employeeRepository.findAll().size());
+    }
+
+    @Test
+    void testDeleteAllById_MoreIdsThanMaxRows() {
+        // Arrange
+        List<Long> ids = employeeRepository.saveAll(employees(1200)).stream().map(Employee::getId).toList();
+
+        // Act
+        List<Long> deleted = employeeRepository.deleteAllById(ids);
+
+        // Assert: every deleted id is reported, not just the first max-rows
+        assertEquals(1200, deleted.size());
+        assertTrue(deleted.containsAll(ids));
+        assertEquals(3L, jdbcClient.sql("SELECT count(*) FROM employees").query(Long.class).single());
+    }
+
+    private static List<Employee> employees(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new Employee(null, "First" + i, "Last" + i, "employee" + i + "@example.com", "IT"))
+                .toList();
+    }
+
+    @Test
+    void testDeleteById_NotFound() {
+        // Act
+        boolean result = employeeRepository.deleteById(999L);
+
+        // Assert
+        assertFalse(result);
+    }
+}
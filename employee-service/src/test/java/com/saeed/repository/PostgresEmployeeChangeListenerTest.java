@@ -0,0 +1,120 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Notifications are only delivered on commit, so the test writes outside a test transaction.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+public class PostgresEmployeeChangeListenerTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private final BlockingQueue<EmployeeChange> changes = new LinkedBlockingQueue<>();
+
+    private PostgresEmployeeChangeListener listener;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        jdbcClient.sql("DELETE FROM employees").update();
+        listener = new PostgresEmployeeChangeListener(connectionDetails);
+        listener.subscribe(changes::add);
+        listener.start();
+
+        // Published once LISTEN is in place
+        assertEquals(EmployeeChange.Op.RESET, nextChange().op());
+        assertTrue(listener.isListening());
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void testWritesAreNotified() throws InterruptedException {
+        // Act
+        List<Long> ids = jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES "
+                        + "('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT')), ('Jane', 'Smith', 'jane.smith@example.com', find_or_create_department('HR')) RETURNING id")
+                .query(Long.class)
+                .list();
+        jdbcClient.sql("UPDATE employees SET department_id = find_or_create_department('Finance') WHERE id = ?").param(ids.get(0)).update();
+        jdbcClient.sql("DELETE FROM employees WHERE id = ?").param(ids.get(1)).update();
+
+        // Assert
+        assertEquals(new EmployeeChange(EmployeeChange.Op.INSERT, ids), nextChange());
+        assertEquals(new EmployeeChange(EmployeeChange.Op.UPDATE, List.of(ids.get(0))), nextChange());
+        assertEquals(new EmployeeChange(EmployeeChange.Op.DELETE, List.of(ids.get(1))), nextChange());
+    }
+
+    @Test
+    void testLargeStatementIsNotifiedAsReset() throws InterruptedException {
+        // Act
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                + "SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', find_or_create_department('IT') FROM generate_series(1, 6000) AS n")
+                .update();
+
+        // Assert
+        assertEquals(EmployeeChange.reset(), nextChange());
+    }
+
+    @Test
+    void testEmptyStatementIsNotNotified() throws InterruptedException {
+        // Act
+        jdbcClient.sql("UPDATE employees SET department_id = find_or_create_department('HR') WHERE id = -1").update();
+        jdbcClient.sql("DELETE FROM employees WHERE id = -1").update();
+
+        // Assert
+        assertNull(changes.poll(1, TimeUnit.SECONDS));
+    }
+
+    private EmployeeChange nextChange() throws InterruptedException {
+        EmployeeChange change = changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(change, "no change notification received");
+        return change;
+    }
+}
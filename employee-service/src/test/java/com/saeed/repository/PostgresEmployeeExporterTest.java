@@ -0,0 +1,117 @@
+package com.saeed.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The exporter reads on its own connections, so the test data has to be committed.
+ */
+@JdbcTest
+@Import(DepartmentDictionary.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+public class PostgresEmployeeExporterTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DepartmentDictionary departments;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("DELETE FROM employees").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) "
+                + "SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', find_or_create_department('IT') FROM generate_series(1, 1000) AS n")
+                .update();
+    }
+
+    @Test
+    void testExport_SingleRange() throws Exception {
+        // Arrange
+        PostgresEmployeeExporter exporter = new PostgresEmployeeExporter(dataSource, departments, 100, 4, 10_000);
+
+        // Act & Assert
+        assertExportsAllRows(exporter);
+        exporter.destroy();
+    }
+
+    @Test
+    void testExport_ParallelRanges() throws Exception {
+        // Arrange
+        PostgresEmployeeExporter exporter = new PostgresEmployeeExporter(dataSource, departments, 50, 3, 100);
+
+        // Act & Assert
+        assertExportsAllRows(exporter);
+        exporter.destroy();
+    }
+
+    @Test
+    void testExport_EmptyTable() throws Exception {
+        // Arrange
+        jdbcClient.sql("DELETE FROM employees").update();
+        PostgresEmployeeExporter exporter = new PostgresEmployeeExporter(dataSource, departments, 100, 4, 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exporter.export((employee, stream) -> stream.write('x'), out);
+
+        // Assert
+        assertEquals(0, rows);
+        assertEquals(0, out.size());
+        exporter.destroy();
+    }
+
+    private void assertExportsAllRows(PostgresEmployeeExporter exporter) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.export((employee, stream) ->
+                stream.write((employee.getEmail() + "\n").getBytes(StandardCharsets.UTF_8)), out);
+
+        List<String> emails = Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(1000, rows);
+        assertEquals(1000, emails.size());
+        assertEquals(1000, emails.stream().distinct().count());
+        assertTrue(emails.contains("employee1@example.com"));
+        assertTrue(emails.contains("employee1000@example.com"));
+    }
+}
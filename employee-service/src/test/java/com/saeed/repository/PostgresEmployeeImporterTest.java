@@ -0,0 +1,121 @@
+package com.saeed.repository;
+
+import com.saeed.model.EmployeeImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import(PostgresEmployeeImporter.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+public class PostgresEmployeeImporterTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private PostgresEmployeeImporter importer;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("DELETE FROM employees").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES ('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT'))").update();
+    }
+
+    @Test
+    void testImportCsv() throws Exception {
+        // Arrange
+        InputStream csv = csv("""
+                first_name,last_name,email,department
+                Alice,Johnson,alice.johnson@example.com,Marketing
+                John,Doe,john.doe@example.com,IT
+                "Bob, Jr.",Brown,bob.brown@example.com,Sales
+                Alice,Johnson,alice.johnson@example.com,Finance
+                """);
+
+        // Act
+        EmployeeImportResult result = importer.importCsv(csv, true, 10);
+
+        // Assert
+        assertEquals(4, result.rowsRead());
+        assertEquals(2, result.rowsInserted());
+        assertEquals(2, result.conflicts());
+        assertEquals(2, result.conflictSample().size());
+        assertEquals(new EmployeeImportResult.Conflict(2, "john.doe@example.com", "ALREADY_EXISTS"), result.conflictSample().get(0));
+        assertEquals(new EmployeeImportResult.Conflict(4, "alice.johnson@example.com", "DUPLICATE_IN_FILE"), result.conflictSample().get(1));
+
+        assertEquals(3L, jdbcClient.sql("SELECT count(*) FROM employees").query(Long.class).single());
+        assertEquals("Marketing", jdbcClient.sql("SELECT d.name FROM employees e JOIN departments d ON d.id = e.department_id WHERE email = 'alice.johnson@example.com'")
+                .query(String.class).single());
+        assertEquals("Bob, Jr.", jdbcClient.sql("SELECT first_name FROM employees WHERE email = 'bob.brown@example.com'")
+                .query(String.class).single());
+    }
+
+    @Test
+    void testImportCsv_MissingColumn() {
+        // Arrange
+        InputStream csv = csv("Alice,Johnson\n");
+
+        // Act & Assert
+        SQLException e = assertThrows(SQLException.class, () -> importer.importCsv(csv, false, 10));
+        assertTrue(e.getSQLState().startsWith("22"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testImportCsv_BrokenStreamRollsBack() {
+        // Arrange: the upload breaks off after the first row
+        InputStream csv = new SequenceInputStream(csv("Alice,Johnson,alice.johnson@example.com,Imported\n"), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        // Act & Assert: the import's own transaction is rolled back, not committed
+        IOException e = assertThrows(IOException.class, () -> importer.importCsv(csv, false, 10));
+        assertEquals("Connection reset", e.getMessage());
+        assertEquals(1L, jdbcClient.sql("SELECT count(*) FROM employees").query(Long.class).single());
+        assertEquals(0L, jdbcClient.sql("SELECT count(*) FROM departments WHERE name = 'Imported'").query(Long.class).single());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,165 @@
+package com.saeed.repository;
+
+import com.saeed.config.R2dbcConfig;
+import com.saeed.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * R2DBC statements run on their own connections, so the test writes outside a test transaction.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+public class R2dbcEmployeeRepositoryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private R2dbcEmployeeRepository repository;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("DELETE FROM employees").update();
+        jdbcClient.sql("INSERT INTO employees (first_name, last_name, email, department_id) VALUES "
+                + "('John', 'Doe', 'john.doe@example.com', find_or_create_department('IT')), "
+                + "('Jane', 'Smith', 'jane.smith@example.com', find_or_create_department('HR')), "
+                + "('Bob', 'Johnson', 'bob.johnson@example.com', find_or_create_department('Finance'))").update();
+        // A fetch size below the row count makes findAll read the cursor in several round-trips
+        repository = new R2dbcConfig().r2dbcEmployeeRepository(connectionDetails, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.destroy();
+    }
+
+    @Test
+    void testFindAll_StreamsInIdOrder() {
+        // Act
+        List<Employee> employees = repository.findAll().collectList().block(TIMEOUT);
+
+        // Assert
+        assertNotNull(employees);
+        assertEquals(List.of("John", "Jane", "Bob"), employees.stream().map(Employee::getFirstName).toList());
+        assertTrue(employees.get(0).getId() < employees.get(1).getId());
+    }
+
+    @Test
+    void testFindAll_CancelledEarly() {
+        // Act
+        List<Employee> employees = repository.findAll().take(1).collectList().block(TIMEOUT);
+
+        // Assert
+        assertEquals(1, employees.size());
+        // The connection went back to the pool in a usable state
+        assertEquals(3, repository.findAll().count().block(TIMEOUT));
+    }
+
+    @Test
+    void testFindById() {
+        // Arrange
+        Long id = jdbcClient.sql("SELECT id FROM employees WHERE email = 'jane.smith@example.com'").query(Long.class).single();
+
+        // Act & Assert
+        Employee employee = repository.findById(id).block(TIMEOUT);
+        assertNotNull(employee);
+        assertEquals("Smith", employee.getLastName());
+        assertEquals(0L, employee.getVersion());
+        assertNull(repository.findById(-1L).block(TIMEOUT));
+    }
+
+    @Test
+    void testSave() {
+        // Act
+        Employee saved = repository.save(new Employee(null, "Alice", "Brown", "alice.brown@example.com", "Sales")).block(TIMEOUT);
+
+        // Assert
+        assertNotNull(saved);
+        assertNotNull(saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals("Sales", saved.getDepartment());
+        assertEquals("Alice", jdbcClient.sql("SELECT first_name FROM employees WHERE id = ?").param(saved.getId()).query(String.class).single());
+    }
+
+    @Test
+    void testUpdate() {
+        // Arrange
+        Employee employee = repository.findAll().blockFirst(TIMEOUT);
+        employee.setDepartment("Marketing");
+
+        // Act
+        Employee updated = repository.update(employee).block(TIMEOUT);
+
+        // Assert
+        assertEquals("Marketing", updated.getDepartment());
+        assertEquals(1L, updated.getVersion());
+    }
+
+    @Test
+    void testUpdate_StaleVersion() {
+        // Arrange
+        Employee employee = repository.findAll().blockFirst(TIMEOUT);
+        employee.setVersion(7L);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.update(employee).block(TIMEOUT));
+    }
+
+    @Test
+    void testUpdate_NotFound() {
+        // Act & Assert
+        assertNull(repository.update(new Employee(-1L, "No", "One", "no.one@example.com", "IT", 0L)).block(TIMEOUT));
+        assertNull(repository.update(new Employee(-1L, "No", "One", "no.one@example.com", "IT")).block(TIMEOUT));
+    }
+
+    @Test
+    void testDeleteById() {
+        // Arrange
+        Long id = jdbcClient.sql("SELECT id FROM employees WHERE email = 'bob.johnson@example.com'").query(Long.class).single();
+
+        // Act & Assert
+        assertTrue(repository.deleteById(id).block(TIMEOUT));
+        assertFalse(repository.deleteById(id).block(TIMEOUT));
+    }
+}
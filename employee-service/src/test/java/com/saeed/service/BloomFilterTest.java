@@ -0,0 +1,46 @@
+package com.saeed.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("employee" + i + "@example.com");
+        }
+
+        // Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("employee" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("employee" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("someone" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert: about 1000 expected
+        assertTrue(falsePositives < 2000, "False positives: " + falsePositives);
+        // About 9.6 bits per string at 1%
+        assertEquals(12_000, filter.sizeInBytes(), 100);
+    }
+}
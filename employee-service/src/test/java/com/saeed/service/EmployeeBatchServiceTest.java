@@ -0,0 +1,204 @@
+package com.saeed.service;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeBatchOperation;
+import com.saeed.model.EmployeeBatchOperation.Op;
+import com.saeed.model.EmployeeBatchResult;
+import com.saeed.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeBatchServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeEmailIndex emailIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeBatchService batchService;
+
+    @BeforeEach
+    public void setUp() {
+        batchService = new EmployeeBatchService(employeeRepository, emailIndex, transactionManager, 2, 8, 500);
+    }
+
+    @Test
+    public void testExecute_GroupsConsecutiveOperationsIntoChunks() {
+        // Arrange
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            long id = 10;
+            for (Employee employee : employees) {
+                employee.setId(id++);
+            }
+            return employees;
+        });
+        when(employeeRepository.updateAll(anyList())).thenReturn(new int[] {1});
+        when(employeeRepository.deleteAllById(anyList())).thenReturn(List.of(2L));
+
+        List<EmployeeBatchOperation> operations = List.of(
+            new EmployeeBatchOperation(Op.CREATE, null, new Employee(null, "Alice", "Johnson", "alice@example.com", "Marketing")),
+            new EmployeeBatchOperation(Op.CREATE, null, new Employee(null, "Bob", "Brown", "bob@example.com", "Sales")),
+            new EmployeeBatchOperation(Op.CREATE, null, new Employee(null, "Carol", "White", "carol@example.com", "IT")),
+            new EmployeeBatchOperation(Op.UPDATE, 1L, new Employee(null, "John", "Smith", "john.smith@example.com", "Sales")),
+            new EmployeeBatchOperation(Op.DELETE, 2L, null),
+            new EmployeeBatchOperation(Op.DELETE, 999L, null)
+        );
+
+        // Act
+        List<EmployeeBatchResult> results = batchService.execute(operations);
+
+        // Assert
+        assertEquals(6, results.size());
+        assertEquals(201, results.get(0).status());
+        assertEquals(10L, results.get(0).id());
+        assertEquals(11L, results.get(1).id());
+        assertEquals(10L, results.get(2).id());
+        assertEquals(200, results.get(3).status());
+        assertEquals(204, results.get(4).status());
+        assertEquals(404, results.get(5).status());
+
+        // Three creates with a chunk size of two take two round-trips
+        verify(employeeRepository, times(2)).saveAll(anyList());
+        verify(employeeRepository).updateAll(anyList());
+        verify(employeeRepository).deleteAllById(List.of(2L, 999L));
+    }
+
+    @Test
+    public void testExecute_FailedChunkIsRetriedItemByItem() {
+        // Arrange
+        Employee duplicate = new Employee(null, "John", "Doe", "john.doe@example.com", "IT");
+        Employee fresh = new Employee(null, "Alice", "Johnson", "alice@example.com", "Marketing");
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.contains(duplicate)) {
+                throw new DuplicateKeyException("duplicate key value violates unique constraint");
+            }
+            employees.forEach(employee -> employee.setId(4L));
+            return employees;
+        });
+
+        // Act
+        List<EmployeeBatchResult> results = batchService.execute(List.of(
+            new EmployeeBatchOperation(Op.CREATE, null, duplicate),
+            new EmployeeBatchOperation(Op.CREATE, null, fresh)
+        ));
+
+        // Assert
+        assertEquals(409, results.get(0).status());
+        assertNotNull(results.get(0).error());
+        assertEquals(201, results.get(1).status());
+        assertEquals(4L, results.get(1).id());
+        verify(employeeRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    public void testExecute_TakenEmailIsConflictWithoutWriting() {
+        // Arrange
+        when(emailIndex.isTaken("jane.smith@example.com", null)).thenReturn(true);
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.get(0).setId(4L);
+            return employees;
+        });
+
+        // Act
+        List<EmployeeBatchResult> results = batchService.execute(List.of(
+            new EmployeeBatchOperation(Op.CREATE, null, new Employee(null, "Jane", "Smith", "jane.smith@example.com", "HR")),
+            new EmployeeBatchOperation(Op.CREATE, null, new Employee(null, "Alice", "Lee", "alice.lee@example.com", "IT"))
+        ));
+
+        // Assert
+        assertEquals(409, results.get(0).status());
+        assertEquals("Email already in use: jane.smith@example.com", results.get(0).error());
+        assertEquals(201, results.get(1).status());
+        assertEquals(4L, results.get(1).id());
+        // The duplicate never reached the database, so the chunk did not fail
+        verify(employeeRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    public void testExecute_InvalidOperation() {
+        // Act
+        List<EmployeeBatchResult> results = batchService.execute(List.of(
+            new EmployeeBatchOperation(Op.UPDATE, null, new Employee(null, "John", "Doe", "john.doe@example.com", "IT")),
+            new EmployeeBatchOperation(Op.DELETE, 1L, null)
+        ));
+
+        // Assert
+        assertEquals(400, results.get(0).status());
+        assertEquals("Employee id is required for UPDATE", results.get(0).error());
+        verify(employeeRepository, never()).updateAll(anyList());
+        verify(employeeRepository).deleteAllById(List.of(1L));
+    }
+
+    @Test
+    public void testExecute_StaleVersionIsPreconditionFailed() {
+        // Arrange
+        when(employeeRepository.updateAll(anyList())).thenReturn(new int[] {0, 0});
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(
+            new Employee(1L, "John", "Doe", "john.doe@example.com", "IT", 4L)));
+
+        List<EmployeeBatchOperation> operations = List.of(
+            new EmployeeBatchOperation(Op.UPDATE, 1L, new Employee(null, "John", "Smith", "john.smith@example.com", "Sales", 3L)),
+            new EmployeeBatchOperation(Op.UPDATE, 999L, new Employee(null, "Unknown", "Person", "unknown@example.com", "Unknown"))
+        );
+
+        // Act
+        List<EmployeeBatchResult> results = batchService.execute(operations);
+
+        // Assert
+        assertEquals(412, results.get(0).status());
+        assertEquals(404, results.get(1).status());
+    }
+
+    @Test
+    public void testExecute_VersionedUpdateOfMissingEmployeeIsNotFound() {
+        // Arrange
+        when(employeeRepository.updateAll(anyList())).thenReturn(new int[] {0});
+        when(employeeRepository.findAllById(List.of(999L))).thenReturn(List.of());
+
+        // Act
+        List<EmployeeBatchResult> results = batchService.execute(List.of(
+            new EmployeeBatchOperation(Op.UPDATE, 999L, new Employee(null, "Unknown", "Person", "unknown@example.com", "Unknown", 3L))
+        ));
+
+        // Assert
+        assertEquals(404, results.get(0).status());
+        assertEquals("Employee not found with id: 999", results.get(0).error());
+    }
+
+    @Test
+    public void testConstructor_ChunkSizeAboveMaxRows() {
+        // Act & Assert: RETURNING would not read back the ids of a whole chunk
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmployeeBatchService(employeeRepository, emailIndex, transactionManager, 501, 10000, 500));
+    }
+
+    @Test
+    public void testExecute_TooManyOperations() {
+        // Arrange
+        List<EmployeeBatchOperation> operations = Collections.nCopies(9, new EmployeeBatchOperation(Op.DELETE, 1L, null));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(operations));
+        verifyNoInteractions(employeeRepository, transactionManager);
+    }
+}
@@ -0,0 +1,197 @@
+package com.saeed.service;
+
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.repository.EmployeeOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangeFeedServiceTest {
+
+    @Mock
+    private EmployeeOutboxRepository outboxRepository;
+
+    private MeterRegistry meterRegistry;
+    private EmployeeChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Buffers of two events, at most two subscribers; the relay is driven by the tests
+        changeFeedService = new EmployeeChangeFeedService(outboxRepository, Duration.ofMinutes(1), Duration.ofHours(1),
+                500, 2, 2, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.stop();
+    }
+
+    @Test
+    void testSubscribe_ResumesAfterLastEventId() throws Exception {
+        // Arrange
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(10, 20));
+        when(outboxRepository.findAfter(15L, 500)).thenReturn(List.of(updated(16), updated(17)));
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        changeFeedService.subscribe(15L, sink);
+
+        // Assert
+        assertEquals(updated(16), sink.next());
+        assertEquals(updated(17), sink.next());
+    }
+
+    @Test
+    void testSubscribe_ResetsWhenEventsWereDeleted() throws Exception {
+        // Arrange
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(10, 20));
+        when(outboxRepository.findAfter(20L, 500)).thenReturn(List.of());
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        changeFeedService.subscribe(5L, sink);
+
+        // Assert
+        assertEquals(EmployeeChangeEvent.reset(20), sink.next());
+    }
+
+    @Test
+    void testSubscribe_TooManySubscribers() {
+        // Arrange
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(21, 20));
+        when(outboxRepository.findAfter(anyLong(), anyInt())).thenReturn(List.of());
+        changeFeedService.subscribe(20L, new RecordingSink());
+        changeFeedService.subscribe(20L, new RecordingSink());
+        verify(outboxRepository, timeout(5000).times(2)).findAfter(20L, 500);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> changeFeedService.subscribe(20L, new RecordingSink()));
+    }
+
+    @Test
+    void testSubscription_EndFreesPlaceAndClosesSink() throws Exception {
+        // Arrange
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(21, 20));
+        when(outboxRepository.findAfter(anyLong(), anyInt())).thenReturn(List.of());
+        RecordingSink sink = new RecordingSink();
+        EmployeeChangeFeedService.Subscription subscription = changeFeedService.subscribe(20L, sink);
+        changeFeedService.subscribe(20L, new RecordingSink());
+        verify(outboxRepository, timeout(5000).times(2)).findAfter(20L, 500);
+
+        // Act
+        subscription.end();
+
+        // Assert
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        assertDoesNotThrow(() -> changeFeedService.subscribe(20L, new RecordingSink()));
+    }
+
+    @Test
+    void testRelay_SendsNewEvents() throws Exception {
+        // Arrange
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(21, 20));
+        when(outboxRepository.findAfter(20L, 500)).thenReturn(List.of()).thenReturn(List.of(updated(21)));
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.subscribe(20L, sink);
+        // Caught up from the outbox, so the next events come from the relay
+        verify(outboxRepository, timeout(5000)).findAfter(20L, 500);
+
+        // Act
+        changeFeedService.relay();
+
+        // Assert
+        assertEquals(updated(21), sink.next());
+        verify(outboxRepository).sequence(500);
+    }
+
+    @Test
+    void testRelay_SubscriberReadsEventsSequencedBeforeFirstRelay() throws Exception {
+        // Arrange: 21 and 22 are numbered after the subscriber caught up, before the first relay reads the head
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(21, 20))
+                .thenReturn(new EmployeeOutboxRepository.Range(21, 22));
+        when(outboxRepository.findAfter(20L, 500)).thenReturn(List.of())
+                .thenReturn(List.of(updated(21), updated(22)));
+        when(outboxRepository.findAfter(22L, 500)).thenReturn(List.of(updated(23)));
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.subscribe(20L, sink);
+        verify(outboxRepository, timeout(5000)).findAfter(20L, 500);
+
+        // Act
+        changeFeedService.relay();
+
+        // Assert
+        assertEquals(updated(21), sink.next());
+        assertEquals(updated(22), sink.next());
+        assertEquals(updated(23), sink.next());
+    }
+
+    @Test
+    void testRelay_EvictsSubscriberThatFallsBehind() throws Exception {
+        // Arrange
+        when(outboxRepository.findRange()).thenReturn(new EmployeeOutboxRepository.Range(21, 20));
+        when(outboxRepository.findAfter(20L, 500)).thenReturn(List.of())
+                .thenReturn(List.of(updated(21), updated(22), updated(23)));
+        RecordingSink sink = new RecordingSink();
+        changeFeedService.subscribe(20L, sink);
+        // Caught up from the outbox, so the next events come from the relay
+        verify(outboxRepository, timeout(5000)).findAfter(20L, 500);
+
+        // Act
+        changeFeedService.relay();
+
+        // Assert
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(sink.events.isEmpty());
+        assertEquals(1, meterRegistry.counter("employee.changes.evictions").count());
+    }
+
+    private static EmployeeChangeEvent updated(long id) {
+        return new EmployeeChangeEvent(id, EmployeeChangeEvent.Type.UPDATED, 1L, "{\"id\":1}");
+    }
+
+    private static class RecordingSink implements EmployeeChangeFeedService.Sink {
+
+        private final BlockingQueue<EmployeeChangeEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(EmployeeChangeEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        EmployeeChangeEvent next() throws InterruptedException {
+            EmployeeChangeEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No event within 5 seconds");
+            return event;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.saeed.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeSort;
+import com.saeed.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeEmailIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeChangeFeedService changeFeedService;
+
+    private EmployeeEmailIndex emailIndex;
+
+    @BeforeEach
+    void setUp() {
+        emailIndex = new EmployeeEmailIndex(employeeRepository, changeFeedService, new ObjectMapper());
+    }
+
+    @Test
+    void testIsTaken_AfterReset() {
+        // Arrange
+        assertFalse(emailIndex.isTaken("john.doe@example.com", null));
+
+        // Act
+        load();
+
+        // Assert
+        assertTrue(emailIndex.isLoaded());
+        assertEquals(2, emailIndex.size());
+        assertTrue(emailIndex.isTaken("john.doe@example.com", null));
+        assertTrue(emailIndex.isTaken("john.doe@example.com", 2L));
+        assertFalse(emailIndex.isTaken("john.doe@example.com", 1L));
+        assertFalse(emailIndex.isTaken("John.Doe@example.com", null));
+        assertFalse(emailIndex.isTaken("alice.lee@example.com", null));
+    }
+
+    @Test
+    void testReceive_UpdateMovesEmail() {
+        // Arrange
+        load();
+
+        // Act
+        emailIndex.receive(updated(10, 1, "johnny.doe@example.com", 1));
+
+        // Assert
+        assertFalse(emailIndex.isTaken("john.doe@example.com", null));
+        assertTrue(emailIndex.isTaken("johnny.doe@example.com", null));
+    }
+
+    @Test
+    void testReceive_SkipsOlderVersion() {
+        // Arrange
+        load();
+        emailIndex.receive(updated(10, 1, "johnny.doe@example.com", 1));
+
+        // Act: replayed after the newer state was read
+        emailIndex.receive(updated(11, 1, "john.doe@example.com", 1));
+
+        // Assert
+        assertTrue(emailIndex.isTaken("johnny.doe@example.com", null));
+        assertFalse(emailIndex.isTaken("john.doe@example.com", null));
+    }
+
+    @Test
+    void testReceive_EmailOfAnotherEmployeeIsReadAgain() {
+        // Arrange
+        load();
+        // Jane took John's email after John gave it up, but the feed told of Jane first
+        when(employeeRepository.findAllById(anyCollection())).thenReturn(List.of(
+                new Employee(1L, "John", "Doe", "johnny.doe@example.com", "IT", 1L),
+                new Employee(2L, "Jane", "Smith", "john.doe@example.com", "HR", 1L)));
+
+        // Act
+        emailIndex.receive(updated(10, 2, "john.doe@example.com", 1));
+
+        // Assert
+        assertFalse(emailIndex.isTaken("john.doe@example.com", 2L));
+        assertTrue(emailIndex.isTaken("john.doe@example.com", 1L));
+        assertTrue(emailIndex.isTaken("johnny.doe@example.com", 2L));
+        assertFalse(emailIndex.isTaken("jane.smith@example.com", null));
+    }
+
+    @Test
+    void testReceive_DeleteFreesEmail() {
+        // Arrange
+        load();
+
+        // Act
+        emailIndex.receive(new EmployeeChangeEvent(10, EmployeeChangeEvent.Type.DELETED, 1L, "{\"id\":1}"));
+
+        // Assert
+        assertFalse(emailIndex.isTaken("john.doe@example.com", null));
+        assertEquals(1, emailIndex.size());
+    }
+
+    @Test
+    void testPut_AppliesLocalWrite() {
+        // Arrange
+        load();
+
+        // Act
+        emailIndex.put(new Employee(3L, "Alice", "Lee", "alice.lee@example.com", "IT", 0L));
+        emailIndex.remove(2L);
+
+        // Assert
+        assertTrue(emailIndex.isTaken("alice.lee@example.com", null));
+        assertFalse(emailIndex.isTaken("jane.smith@example.com", null));
+    }
+
+    @Test
+    void testPut_DuringReload() {
+        // Arrange: a write commits on another thread while the reload reads the table
+        when(employeeRepository.findPage(isNull(), isNull(), eq(500), eq(EmployeeSort.ID), any())).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> emailIndex.put(new Employee(3L, "Alice", "Lee", "alice.lee@example.com", "IT", 0L)))
+                    .get(5, TimeUnit.SECONDS);
+            return List.of(
+                    new Employee(1L, null, null, "john.doe@example.com", null, 0L),
+                    new Employee(2L, null, null, "jane.smith@example.com", null, 0L));
+        });
+
+        // Act
+        emailIndex.receive(EmployeeChangeEvent.reset(9));
+
+        // Assert: the write neither waited for the reload nor was lost by it
+        assertTrue(emailIndex.isLoaded());
+        assertEquals(3, emailIndex.size());
+        assertTrue(emailIndex.isTaken("alice.lee@example.com", null));
+        assertTrue(emailIndex.isTaken("john.doe@example.com", null));
+    }
+
+    private void load() {
+        when(employeeRepository.findPage(isNull(), isNull(), eq(500), eq(EmployeeSort.ID), any())).thenReturn(List.of(
+                new Employee(1L, null, null, "john.doe@example.com", null, 0L),
+                new Employee(2L, null, null, "jane.smith@example.com", null, 0L)));
+        emailIndex.receive(EmployeeChangeEvent.reset(9));
+    }
+
+    private static EmployeeChangeEvent updated(long eventId, long id, String email, long version) {
+        return new EmployeeChangeEvent(eventId, EmployeeChangeEvent.Type.UPDATED, id,
+                "{\"id\":" + id + ",\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"" + email
+                        + "\",\"department\":\"IT\",\"version\":" + version + "}");
+    }
+}
@@ -0,0 +1,349 @@
+package com.saeed.service;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeCursor;
+import com.saeed.model.EmployeePage;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeEmailIndex emailIndex;
+
+    @Mock
+    private EmployeeSuggestIndex suggestIndex;
+
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    public void setUp() {
+        employeeService = new EmployeeService(employeeRepository, emailIndex, suggestIndex);
+    }
+
+    @Test
+    public void testGetAllEmployees() {
+        // Arrange
+        List<Employee> mockEmployees = Arrays.asList(
+            new Employee(1L, "John", "Doe", "john.doe@example.com", "IT"),
+            new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR"),
+            new Employee(3L, "Mike", "Johnson", "mike.johnson@example.com", "Finance")
+        );
+        when(employeeRepository.findAll()).thenReturn(mockEmployees);
+
+        // Act
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        // Assert
+        assertNotNull(employees);
+        assertEquals(3, employees.size());
+        assertEquals("John", employees.get(0).getFirstName());
+        assertEquals("Jane", employees.get(1).getFirstName());
+        assertEquals("Mike", employees.get(2).getFirstName());
+
+        verify(employeeRepository).findAll();
+    }
+
+    @Test
+    public void testGetEmployeePage_HasNext() {
+        // Arrange
+        when(employeeRepository.findPage(null, null, 3, EmployeeSort.LAST_NAME)).thenReturn(Arrays.asList(
+            new Employee(1L, "John", "Doe", "john.doe@example.com", "IT"),
+            new Employee(3L, "Mike", "Johnson", "mike.johnson@example.com", "Finance"),
+            new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR")
+        ));
+
+        // Act
+        EmployeePage page = employeeService.getEmployeePage(null, 2, EmployeeSort.LAST_NAME);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertTrue(page.hasNext());
+        EmployeeCursor next = EmployeeCursor.decode(page.nextCursor());
+        assertEquals(EmployeeSort.LAST_NAME, next.sort());
+        assertEquals(3L, next.afterId());
+        assertEquals("Johnson", next.afterKey());
+    }
+
+    @Test
+    public void testGetEmployeePage_LastPage() {
+        // Arrange
+        String cursor = new EmployeeCursor(EmployeeSort.ID, 2L, null).encode();
+        when(employeeRepository.findPage(2L, null, 3, EmployeeSort.ID)).thenReturn(List.of(
+            new Employee(3L, "Mike", "Johnson", "mike.johnson@example.com", "Finance")
+        ));
+
+        // Act
+        EmployeePage page = employeeService.getEmployeePage(cursor, 2, EmployeeSort.ID);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void testGetEmployeePage_CursorForOtherSort() {
+        // Arrange
+        String cursor = new EmployeeCursor(EmployeeSort.EMAIL, 2L, "jane.smith@example.com").encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            employeeService.getEmployeePage(cursor, 2, EmployeeSort.ID);
+        });
+
+        verify(employeeRepository, never()).findPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void testSearchEmployees() {
+        // Arrange
+        when(employeeRepository.search("smith", 20)).thenReturn(List.of(
+            new Employee(2L, "Jane", "Smith", "jane.smith@example.com", "HR")
+        ));
+
+        // Act
+        List<Employee> employees = employeeService.searchEmployees("  smith ", 20);
+
+        // Assert
+        assertEquals(1, employees.size());
+        assertEquals("Jane", employees.get(0).getFirstName());
+        verify(employeeRepository).search("smith", 20);
+    }
+
+    @Test
+    public void testSearchEmployees_BlankTerm() {
+        // Arrange
+        when(employeeRepository.findPage(null, null, EmployeeService.DEFAULT_PAGE_SIZE, EmployeeSort.ID)).thenReturn(List.of());
+
+        // Act
+        List<Employee> employees = employeeService.searchEmployees(" ", null);
+
+        // Assert
+        assertTrue(employees.isEmpty());
+        verify(employeeRepository, never()).search(any(), anyInt());
+    }
+
+    @Test
+    public void testSuggestEmployees() {
+        // Arrange
+        when(suggestIndex.isLoaded()).thenReturn(true);
+        when(suggestIndex.suggest("ja", EmployeeService.MAX_SUGGESTIONS)).thenReturn(List.of(
+            new EmployeeSuggestion(2L, "Jane", "Smith", "jane.smith@example.com")
+        ));
+
+        // Act
+        Optional<List<EmployeeSuggestion>> suggestions = employeeService.suggestEmployees("ja", 5000);
+
+        // Assert
+        assertEquals(1, suggestions.orElseThrow().size());
+        assertEquals("Jane", suggestions.get().get(0).firstName());
+    }
+
+    @Test
+    public void testSuggestEmployees_NotLoaded() {
+        // Act
+        Optional<List<EmployeeSuggestion>> suggestions = employeeService.suggestEmployees("ja", null);
+
+        // Assert
+        assertTrue(suggestions.isEmpty());
+        verify(suggestIndex, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    public void testFindAndCountEmployees() {
+        // Arrange
+        when(employeeRepository.findSlice("it", 0, 50, EmployeeSort.EMAIL, false)).thenReturn(List.of(
+            new Employee(1L, "John", "Doe", "john.doe@example.com", "IT")
+        ));
+        when(employeeRepository.count("it")).thenReturn(1L);
+
+        // Act
+        List<Employee> employees = employeeService.findEmployees("it", 0, 50, EmployeeSort.EMAIL, false);
+        long count = employeeService.countEmployees("it");
+
+        // Assert
+        assertEquals(1, employees.size());
+        assertEquals(1L, count);
+    }
+
+    @Test
+    public void testGetEmployeeById_Found() {
+        // Arrange
+        Employee mockEmployee = new Employee(1L, "John", "Doe", "john.doe@example.com", "IT");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(mockEmployee));
+
+        // Act
+        Optional<Employee> employee = employeeService.getEmployeeById(1L);
+
+        // Assert
+        assertTrue(employee.isPresent());
+        assertEquals("John", employee.get().getFirstName());
+        assertEquals("Doe", employee.get().getLastName());
+        assertEquals("IT", employee.get().getDepartment());
+
+        verify(employeeRepository).findById(1L);
+    }
+
+    @Test
+    public void testGetEmployeeById_NotFound() {
+        // Arrange
+        when(employeeRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Employee> employee = employeeService.getEmployeeById(999L);
+
+        // Assert
+        assertFalse(employee.isPresent());
+
+        verify(employeeRepository).findById(999L);
+    }
+
+    @Test
+    public void testCreateEmployee() {
+        // Arrange
+        Employee newEmployee = new Employee(null, "Alice", "Johnson", "alice.johnson@example.com", "Marketing");
+        Employee savedEmployee = new Employee(4L, "Alice", "Johnson", "alice.johnson@example.com", "Marketing");
+
+        when(employeeRepository.save(any(Employee.class))).thenReturn(savedEmployee);
+
+        // Act
+        Employee result = employeeService.createEmployee(newEmployee);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(4L, result.getId());
+        assertEquals("Alice", result.getFirstName());
+        assertEquals("Johnson", result.getLastName());
+        assertEquals("alice.johnson@example.com", result.getEmail());
+        assertEquals("Marketing", result.getDepartment());
+
+        verify(employeeRepository).save(any(Employee.class));
+        verify(emailIndex).put(savedEmployee);
+    }
+
+    @Test
+    public void testCreateEmployee_EmailTaken() {
+        // Arrange
+        Employee newEmployee = new Employee(null, "John", "Doe", "john.doe@example.com", "IT");
+        when(emailIndex.isTaken("john.doe@example.com", null)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> employeeService.createEmployee(newEmployee));
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    public void testUpdateEmployee_EmailTaken() {
+        // Arrange
+        Employee updatedEmployee = new Employee(2L, "Jane", "Smith", "john.doe@example.com", "HR");
+        when(emailIndex.isTaken("john.doe@example.com", 2L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> employeeService.updateEmployee(2L, updatedEmployee));
+        verify(employeeRepository, never()).update(any(Employee.class));
+    }
+
+    @Test
+    public void testUpdateEmployee_Success() {
+        // Arrange
+        Long employeeId = 1L;
+        Employee updatedEmployee = new Employee(employeeId, "John", "Smith", "john.smith@example.com", "Sales");
+
+        when(employeeRepository.update(any(Employee.class))).thenReturn(updatedEmployee);
+
+        // Act
+        Employee result = employeeService.updateEmployee(employeeId, updatedEmployee);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(employeeId, result.getId());
+        assertEquals("John", result.getFirstName());
+        assertEquals("Smith", result.getLastName());
+        assertEquals("john.smith@example.com", result.getEmail());
+        assertEquals("Sales", result.getDepartment());
+
+        // A single round-trip: no existence check before the update
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository).update(any(Employee.class));
+    }
+
+    @Test
+    public void testUpdateEmployee_NotFound() {
+        // Arrange
+        Long employeeId = 999L;
+        Employee updatedEmployee = new Employee(employeeId, "Unknown", "Person", "unknown@example.com", "Unknown");
+
+        when(employeeRepository.update(any(Employee.class)))
+                .thenThrow(new RuntimeException("Employee not found with id: " + employeeId));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> {
+            employeeService.updateEmployee(employeeId, updatedEmployee);
+        });
+
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void testUpdateEmployee_StaleVersion() {
+        // Arrange
+        Long employeeId = 1L;
+        Employee updatedEmployee = new Employee(employeeId, "John", "Smith", "john.smith@example.com", "Sales", 3L);
+
+        when(employeeRepository.update(any(Employee.class)))
+                .thenThrow(new OptimisticLockingFailureException("Employee 1 was modified concurrently"));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            employeeService.updateEmployee(employeeId, updatedEmployee);
+        });
+    }
+
+    @Test
+    public void testDeleteEmployee_Success() {
+        // Arrange
+        Long employeeId = 1L;
+        when(employeeRepository.deleteById(employeeId)).thenReturn(true);
+
+        // Act
+        boolean result = employeeService.deleteEmployee(employeeId);
+
+        // Assert
+        assertTrue(result);
+        verify(employeeRepository).deleteById(employeeId);
+    }
+
+    @Test
+    public void testDeleteEmployee_NotFound() {
+        // Arrange
+        Long employeeId = 999L;
+        when(employeeRepository.deleteById(employeeId)).thenReturn(false);
+
+        // Act
+        boolean result = employeeService.deleteEmployee(employeeId);
+
+        // Assert
+        assertFalse(result);
+        verify(employeeRepository).deleteById(employeeId);
+    }
+}
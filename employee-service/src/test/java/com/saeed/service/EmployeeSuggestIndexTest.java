@@ -0,0 +1,138 @@
+package com.saeed.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.model.EmployeeSort;
+import com.saeed.model.EmployeeSuggestion;
+import com.saeed.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSuggestIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeChangeFeedService changeFeedService;
+
+    private EmployeeSuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new EmployeeSuggestIndex(employeeRepository, changeFeedService, new ObjectMapper());
+    }
+
+    @Test
+    void testSuggest_AfterReset() {
+        // Arrange
+        load(new Employee(1L, "John", "Doe", "john.doe@example.com", null, 0L),
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", null, 0L),
+                new Employee(3L, "Mike", "Johnson", "mike.johnson@example.com", null, 0L));
+
+        // Act
+        List<EmployeeSuggestion> jo = suggestIndex.suggest(" Jo ", 10);
+        List<EmployeeSuggestion> limited = suggestIndex.suggest("j", 2);
+
+        // Assert
+        assertTrue(suggestIndex.isLoaded());
+        assertEquals(3, suggestIndex.size());
+        assertEquals(List.of(1L, 3L), ids(jo));
+        assertEquals(List.of(2L, 1L), ids(limited));
+        assertTrue(suggestIndex.suggest(" ", 10).isEmpty());
+        assertTrue(suggestIndex.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void testReceive_ChangesShadowTheSegment() {
+        // Arrange
+        load(new Employee(1L, "John", "Doe", "john.doe@example.com", null, 0L),
+                new Employee(2L, "Jane", "Smith", "jane.smith@example.com", null, 0L));
+
+        // Act
+        suggestIndex.receive(event(10, EmployeeChangeEvent.Type.UPDATED, 1, "Jonathan", "jon.doe@example.com", 1));
+        suggestIndex.receive(event(11, EmployeeChangeEvent.Type.CREATED, 3, "Joan", "joan.lee@example.com", 0));
+        suggestIndex.receive(new EmployeeChangeEvent(12, EmployeeChangeEvent.Type.DELETED, 2L, "{\"id\":2}"));
+        // Replayed after the newer state
+        suggestIndex.receive(event(13, EmployeeChangeEvent.Type.UPDATED, 1, "John", "john.doe@example.com", 0));
+
+        // Assert
+        assertEquals(2, suggestIndex.size());
+        assertEquals(List.of(3L, 1L), ids(suggestIndex.suggest("jo", 10)));
+        assertEquals("Jonathan", suggestIndex.suggest("jonath", 10).get(0).firstName());
+        assertTrue(suggestIndex.suggest("john", 10).isEmpty());
+        assertTrue(suggestIndex.suggest("jane", 10).isEmpty());
+    }
+
+    @Test
+    void testReceive_CompactsLargeOverlay() {
+        // Arrange
+        load(new Employee(1L, "John", "Doe", "john.doe@example.com", null, 0L));
+        long segmentBytes = suggestIndex.segmentSizeInBytes();
+
+        // Act
+        for (int i = 2; i <= 2000; i++) {
+            suggestIndex.receive(event(i, EmployeeChangeEvent.Type.CREATED, i, "First" + i, "employee" + i + "@example.com", 0));
+        }
+
+        // Assert
+        assertEquals(2000, suggestIndex.size());
+        assertTrue(suggestIndex.segmentSizeInBytes() > segmentBytes);
+        assertEquals(List.of(1999L), ids(suggestIndex.suggest("first1999", 10)));
+        assertEquals(List.of(2000L), ids(suggestIndex.suggest("EMPLOYEE2000@", 10)));
+        assertEquals(10, suggestIndex.suggest("first", 10).size());
+    }
+
+    @Test
+    void testReceive_DuringReload() {
+        // Arrange: a change arrives on another thread while the reload reads the table
+        when(employeeRepository.findPage(isNull(), isNull(), eq(500), eq(EmployeeSort.ID), any())).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> suggestIndex.receive(
+                    event(10, EmployeeChangeEvent.Type.UPDATED, 1, "Jonathan", "jon.doe@example.com", 1)))
+                    .get(5, TimeUnit.SECONDS);
+            return List.of(new Employee(1L, "John", "Doe", "john.doe@example.com", null, 0L));
+        });
+
+        // Act
+        suggestIndex.receive(EmployeeChangeEvent.reset(9));
+
+        // Assert: the change neither waited for the reload nor was lost by it
+        assertTrue(suggestIndex.isLoaded());
+        assertEquals(1, suggestIndex.size());
+        assertEquals(List.of(1L), ids(suggestIndex.suggest("jonathan", 10)));
+        assertTrue(suggestIndex.suggest("john", 10).isEmpty());
+    }
+
+    private void load(Employee... employees) {
+        when(employeeRepository.findPage(isNull(), isNull(), eq(500), eq(EmployeeSort.ID), any()))
+                .thenReturn(List.of(employees));
+        suggestIndex.receive(EmployeeChangeEvent.reset(9));
+    }
+
+    private static List<Long> ids(List<EmployeeSuggestion> suggestions) {
+        List<Long> ids = new ArrayList<>();
+        suggestions.forEach(suggestion -> ids.add(suggestion.id()));
+        return ids;
+    }
+
+    private static EmployeeChangeEvent event(long eventId, EmployeeChangeEvent.Type type, long id, String firstName,
+                                             String email, long version) {
+        return new EmployeeChangeEvent(eventId, type, id,
+                "{\"id\":" + id + ",\"firstName\":\"" + firstName + "\",\"lastName\":\"Lee\",\"email\":\"" + email
+                        + "\",\"department\":\"IT\",\"version\":" + version + "}");
+    }
+}
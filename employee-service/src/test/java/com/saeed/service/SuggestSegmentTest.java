@@ -0,0 +1,77 @@
+package com.saeed.service;
+
+import com.saeed.model.EmployeeSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuggestSegmentTest {
+
+    private final SuggestSegment segment = SuggestSegment.build(List.of(
+            entry(3, "Mike", "Johnson", "mike.johnson@example.com"),
+            entry(1, "John", "Doe", "john.doe@example.com"),
+            entry(2, "Jane", "Smith", "jane.smith@example.com"),
+            entry(4, "Émile", "Zola", "emile.zola@example.com")));
+
+    @Test
+    void testBuild_HoldsEmployeesByIdAndKeysInOrder() {
+        // Act & Assert
+        assertEquals(4, segment.size());
+        assertEquals(12, segment.keyCount());
+        assertEquals(0, segment.slotOf(1));
+        assertEquals(-1, segment.slotOf(5));
+        assertEquals(new EmployeeSuggestion(4, "Émile", "Zola", "emile.zola@example.com"), segment.suggestion(3));
+        for (int k = 1; k < segment.keyCount(); k++) {
+            byte[] previous = SuggestSegment.key(keyText(k - 1));
+            assertTrue(segment.compareKey(k, previous) >= 0);
+        }
+    }
+
+    @Test
+    void testFirstKey_MatchesPrefixIgnoringCase() {
+        // Act
+        List<Long> jo = matching("JO");
+        List<Long> emile = matching("émi");
+        List<Long> none = matching("x");
+
+        // Assert: john.doe@, john (first name), johnson
+        assertEquals(List.of(1L, 1L, 3L), jo);
+        assertEquals(List.of(4L), emile);
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    void testSizeInBytes() {
+        // Act & Assert
+        assertTrue(segment.sizeInBytes() > 0);
+        assertTrue(segment.sizeInBytes() < 1024);
+        assertEquals(0, SuggestSegment.EMPTY.size());
+    }
+
+    private List<Long> matching(String prefix) {
+        byte[] key = SuggestSegment.key(prefix);
+        List<Long> ids = new ArrayList<>();
+        for (int k = segment.firstKey(key); k < segment.keyCount() && segment.keyStartsWith(k, key); k++) {
+            ids.add(segment.id(segment.slotOfKey(k)));
+        }
+        return ids;
+    }
+
+    // The field key k was made from, found through the suggestion of its employee
+    private String keyText(int k) {
+        EmployeeSuggestion suggestion = segment.suggestion(segment.slotOfKey(k));
+        for (String value : List.of(suggestion.firstName(), suggestion.lastName(), suggestion.email())) {
+            if (segment.compareKey(k, SuggestSegment.key(value)) == 0) {
+                return value;
+            }
+        }
+        throw new AssertionError("No field of " + suggestion + " for key " + k);
+    }
+
+    private static SuggestSegment.Entry entry(long id, String firstName, String lastName, String email) {
+        return new SuggestSegment.Entry(new EmployeeSuggestion(id, firstName, lastName, email), 0);
+    }
+}
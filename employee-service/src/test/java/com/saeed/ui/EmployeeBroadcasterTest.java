@@ -0,0 +1,83 @@
+package com.saeed.ui;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeChangeEvent;
+import com.saeed.service.EmployeeChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeBroadcasterTest {
+
+    private EmployeeBroadcaster broadcaster;
+    private List<EmployeeBroadcaster.Changes> pushed;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new EmployeeBroadcaster(mock(EmployeeChangeFeedService.class), new ObjectMapper(), Duration.ofMillis(500));
+        pushed = new ArrayList<>();
+        broadcaster.register(pushed::add);
+    }
+
+    @Test
+    void testPush_KeepsLatestUpdatePerEmployee() {
+        // Arrange
+        broadcaster.receive(updated(1, 1, "John", 0));
+        broadcaster.receive(updated(2, 2, "Jane", 0));
+        broadcaster.receive(updated(3, 1, "Johnny", 1));
+
+        // Act
+        broadcaster.push();
+        broadcaster.push();
+
+        // Assert
+        assertEquals(1, pushed.size());
+        EmployeeBroadcaster.Changes changes = pushed.get(0);
+        assertFalse(changes.reload());
+        assertEquals(List.of(1L, 2L), changes.updated().stream().map(Employee::getId).toList());
+        assertEquals("Johnny", changes.updated().get(0).getFirstName());
+        assertEquals(1L, changes.updated().get(0).getVersion());
+    }
+
+    @Test
+    void testPush_ReloadsAfterCreate() {
+        // Arrange
+        broadcaster.receive(updated(1, 1, "John", 0));
+        broadcaster.receive(new EmployeeChangeEvent(2, EmployeeChangeEvent.Type.CREATED, 2L,
+                "{\"id\":2,\"firstName\":\"Jane\",\"lastName\":\"Smith\",\"email\":\"jane.smith@example.com\",\"department\":\"HR\",\"version\":0}"));
+        broadcaster.receive(updated(3, 1, "Johnny", 1));
+
+        // Act
+        broadcaster.push();
+
+        // Assert
+        assertEquals(List.of(new EmployeeBroadcaster.Changes(List.of(), true)), pushed);
+    }
+
+    @Test
+    void testPush_ReloadsAfterBurstOfUpdates() {
+        // Arrange
+        for (int i = 1; i <= EmployeeBroadcaster.MAX_ROW_UPDATES + 1; i++) {
+            broadcaster.receive(updated(i, i, "First" + i, 0));
+        }
+
+        // Act
+        broadcaster.push();
+
+        // Assert
+        assertEquals(List.of(new EmployeeBroadcaster.Changes(List.of(), true)), pushed);
+    }
+
+    private static EmployeeChangeEvent updated(long eventId, long id, String firstName, long version) {
+        return new EmployeeChangeEvent(eventId, EmployeeChangeEvent.Type.UPDATED, id,
+                "{\"id\":" + id + ",\"firstName\":\"" + firstName + "\",\"lastName\":\"Doe\","
+                        + "\"email\":\"employee" + id + "@example.com\",\"department\":\"IT\",\"version\":" + version + "}");
+    }
+}
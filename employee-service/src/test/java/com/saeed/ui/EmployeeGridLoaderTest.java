@@ -0,0 +1,118 @@
+package com.saeed.ui;
+
+import com.saeed.model.Employee;
+import com.saeed.model.EmployeeSort;
+import com.saeed.repository.QueryCancellation;
+import com.saeed.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeGridLoaderTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeGridLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new EmployeeGridLoader(employeeService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.destroy();
+    }
+
+    @Test
+    void testLoad_CountsOnlyWhenWindowIsFull() throws Exception {
+        // Arrange
+        List<Employee> employees = List.of(employee(1, "John"), employee(2, "Jane"));
+        when(employeeService.findEmployees(eq("doe"), eq(0), eq(2), eq(EmployeeSort.ID), eq(true), any()))
+                .thenReturn(employees);
+        when(employeeService.findEmployees(eq("smith"), eq(0), eq(2), eq(EmployeeSort.ID), eq(true), any()))
+                .thenReturn(employees.subList(0, 1));
+        when(employeeService.countEmployees(eq("doe"), any())).thenReturn(5L);
+
+        // Act
+        EmployeeGridLoader.Result full = loader.load("doe", EmployeeSort.ID, true, 2).result().get(5, TimeUnit.SECONDS);
+        EmployeeGridLoader.Result partial = loader.load("smith", EmployeeSort.ID, true, 2).result().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(5, full.count());
+        assertEquals(employees, full.rows());
+        assertEquals(1, partial.count());
+        verify(employeeService, never()).countEmployees(eq("smith"), any());
+    }
+
+    @Test
+    void testCancel_CancelsRunningQuery() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        when(employeeService.findEmployees(any(), anyInt(), anyInt(), any(), anyBoolean(), any())).thenAnswer(invocation -> {
+            QueryCancellation cancellation = invocation.getArgument(5);
+            started.countDown();
+            while (!cancellation.isCancelled()) {
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("cancelled");
+        });
+        EmployeeGridLoader.Load load = loader.load("doe", EmployeeSort.ID, true, 2);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        load.cancel();
+
+        // Assert
+        assertThrows(CancellationException.class, () -> load.result().get(5, TimeUnit.SECONDS));
+        verify(employeeService, timeout(5000).times(1)).findEmployees(any(), anyInt(), anyInt(), any(), anyBoolean(), any());
+        verify(employeeService, after(100).never()).countEmployees(any(), any());
+    }
+
+    @Test
+    void testResult_Slice() {
+        // Arrange
+        List<Employee> rows = List.of(employee(1, "John"), employee(2, "Jane"), employee(3, "Mike"));
+        EmployeeGridLoader.Result complete = new EmployeeGridLoader.Result("", EmployeeSort.ID, true, 3, rows);
+        EmployeeGridLoader.Result partial = new EmployeeGridLoader.Result("", EmployeeSort.ID, true, 10, rows);
+
+        // Act & Assert
+        assertEquals(rows.subList(1, 3), complete.slice(EmployeeSort.ID, true, 1, 50));
+        assertEquals(rows.subList(0, 2), partial.slice(EmployeeSort.ID, true, 0, 2));
+        assertNull(partial.slice(EmployeeSort.ID, true, 2, 50));
+        assertNull(complete.slice(EmployeeSort.ID, false, 0, 2));
+        assertNull(complete.slice(EmployeeSort.LAST_NAME, true, 0, 2));
+    }
+
+    @Test
+    void testResult_WithUpdated() {
+        // Arrange
+        EmployeeGridLoader.Result result = new EmployeeGridLoader.Result("", EmployeeSort.ID, true, 2,
+                List.of(employee(1, "John"), employee(2, "Jane")));
+
+        // Act
+        EmployeeGridLoader.Result updated = result.withUpdated(List.of(employee(2, "Janet"), employee(7, "Anna")));
+
+        // Assert
+        assertEquals(List.of("John", "Janet"), updated.rows().stream().map(Employee::getFirstName).toList());
+        assertEquals(2, updated.count());
+    }
+
+    private static Employee employee(long id, String firstName) {
+        return new Employee(id, firstName, "Doe", firstName.toLowerCase() + "@example.com", "IT");
+    }
+}
@@ -0,0 +1,52 @@
+package com.saeed.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fail thresholds of a load run. A run is within budget if every scenario stays at or below its latency
+ * percentiles and error rate, and the run as a whole completes at least {@code minThroughput} requests per second.
+ * @param p50 maximum median latency per scenario
+ * @param p99 maximum 99th percentile latency per scenario
+ * @param p999 maximum 99.9th percentile latency per scenario
+ * @param maxErrorRate maximum share of failed requests per scenario, from 0 to 1
+ * @param minThroughput minimum requests per second over all scenarios
+ * @param overrides latency budgets replacing the defaults for single scenarios
+ */
+public record LatencyBudget(Duration p50, Duration p99, Duration p999, double maxErrorRate, double minThroughput,
+                            Map<LoadScenario, LatencyBudget> overrides) {
+
+    public LatencyBudget {
+        overrides = Map.copyOf(overrides);
+    }
+
+    /**
+     * @return a description of every threshold the report exceeds; empty if the run is within budget
+     */
+    public List<String> violations(LoadReport report) {
+        List<String> violations = new ArrayList<>();
+        for (LoadReport.Result result : report.results()) {
+            LatencyBudget budget = overrides.getOrDefault(LoadScenario.fromKey(result.name()), this);
+            check(violations, result.name(), "p50", result.p50(), budget.p50());
+            check(violations, result.name(), "p99", result.p99(), budget.p99());
+            check(violations, result.name(), "p99.9", result.p999(), budget.p999());
+            if (result.errorRate() > budget.maxErrorRate()) {
+                violations.add(String.format("%s: error rate %.2f%% above %.2f%%",
+                        result.name(), result.errorRate() * 100, budget.maxErrorRate() * 100));
+            }
+        }
+        LoadReport.Result total = report.total();
+        if (total.throughput() < minThroughput) {
+            violations.add(String.format("throughput %.1f req/s below %.1f req/s", total.throughput(), minThroughput));
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String scenario, String percentile, Duration actual, Duration limit) {
+        if (actual.compareTo(limit) > 0) {
+            violations.add(String.format("%s: %s %d ms above %d ms", scenario, percentile, actual.toMillis(), limit.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.saeed.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load driver: requests are started at a fixed rate whether or not earlier ones have completed,
+ * as independent clients would, each on its own virtual thread.
+ * <p>
+ * Latency is taken from the time a request was due, not from when it could actually be sent. When the server
+ * falls behind, or all {@code maxInFlight} requests are outstanding, the queueing delay is therefore part of
+ * the measured latency (no coordinated omission). Requests due during the warm-up are sent but not recorded.
+ */
+public class LoadDriver {
+
+    private static final int MAX_ERROR_SAMPLES = 5;
+
+    private final HttpClient client;
+    private final LoadScenario.Context context;
+    private final Map<LoadScenario, Integer> mix;
+
+    /**
+     * @param mix relative weight of each scenario; scenarios with weight 0 or missing do not run
+     */
+    public LoadDriver(HttpClient client, LoadScenario.Context context, Map<LoadScenario, Integer> mix) {
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The scenario mix must have a positive weight");
+        }
+        this.client = client;
+        this.context = context;
+        this.mix = new EnumMap<>(mix);
+    }
+
+    /**
+     * Run the workload and block until every started request has completed.
+     * @param rate requests started per second
+     * @param maxInFlight maximum number of outstanding requests
+     * @param warmup time before recording starts
+     * @param duration time recorded after the warm-up
+     * @param seed seed of the scenario and parameter choices; the same seed sends the same request sequence
+     */
+    public LoadReport run(double rate, int maxInFlight, Duration warmup, Duration duration, long seed)
+            throws InterruptedException {
+        Map<LoadScenario, Histogram> latencies = new EnumMap<>(LoadScenario.class);
+        Map<LoadScenario, AtomicLong> errors = new EnumMap<>(LoadScenario.class);
+        mix.forEach((scenario, weight) -> {
+            if (weight > 0) {
+                latencies.put(scenario, new ConcurrentHistogram(3));
+                errors.put(scenario, new AtomicLong());
+            }
+        });
+        LoadScenario[] scenarios = latencies.keySet().toArray(LoadScenario[]::new);
+        int[] cumulativeWeights = new int[scenarios.length];
+        int totalWeight = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            totalWeight += mix.get(scenarios[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        List<String> errorSamples = Collections.synchronizedList(new ArrayList<>());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom(seed);
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; ; n++) {
+                long due = start + n * intervalNanos;
+                if (due >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                int pick = random.nextInt(totalWeight);
+                int index = 0;
+                while (cumulativeWeights[index] <= pick) {
+                    index++;
+                }
+                LoadScenario scenario = scenarios[index];
+                HttpRequest request = scenario.request(context, random);
+                boolean recorded = due >= recordFrom;
+
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        String error = send(request);
+                        if (recorded) {
+                            latencies.get(scenario).recordValue(System.nanoTime() - due);
+                            if (error != null) {
+                                errors.get(scenario).incrementAndGet();
+                                if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+                                    errorSamples.add(scenario.key() + " " + request.uri() + ": " + error);
+                                }
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        // Completions after the last due time still belong to the measured window
+        Duration elapsed = Duration.ofNanos(Math.max(end, System.nanoTime()) - recordFrom);
+
+        Map<LoadScenario, Long> errorCounts = new EnumMap<>(LoadScenario.class);
+        errors.forEach((scenario, count) -> errorCounts.put(scenario, count.get()));
+        return new LoadReport(latencies, errorCounts, elapsed, errorSamples);
+    }
+
+    /**
+     * @return null if the request succeeded, or else what went wrong
+     */
+    private String send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            return status < 400 ? null : "HTTP " + status;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    /**
+     * @return an HTTP client that runs its work on virtual threads, like the driver's requests
+     */
+    public static HttpClient httpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+}
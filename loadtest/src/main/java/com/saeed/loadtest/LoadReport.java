@@ -0,0 +1,112 @@
+package com.saeed.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a load run: latency percentiles, throughput and errors per scenario and for all scenarios together.
+ * Latencies are measured from the time a request was scheduled to be sent, so time spent waiting behind a
+ * saturated server counts against the percentiles instead of silently lowering the request rate.
+ */
+public class LoadReport {
+
+    private final Map<LoadScenario, Histogram> latencies;
+    private final Map<LoadScenario, Long> errors;
+    private final Duration elapsed;
+    private final List<String> errorSamples;
+
+    LoadReport(Map<LoadScenario, Histogram> latencies, Map<LoadScenario, Long> errors, Duration elapsed,
+               List<String> errorSamples) {
+        this.latencies = new EnumMap<>(latencies);
+        this.errors = new EnumMap<>(errors);
+        this.elapsed = elapsed;
+        this.errorSamples = List.copyOf(errorSamples);
+    }
+
+    /**
+     * @return results of the scenarios that ran, in declaration order
+     */
+    public List<Result> results() {
+        List<Result> results = new ArrayList<>();
+        latencies.forEach((scenario, histogram) -> results.add(result(scenario.key(), histogram, errors.get(scenario))));
+        return results;
+    }
+
+    /**
+     * @return the result of all scenarios together
+     */
+    public Result total() {
+        Histogram all = new Histogram(3);
+        latencies.values().forEach(all::add);
+        return result("total", all, errors.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * @return up to a few descriptions of failed requests, to tell a slow server from a broken one
+     */
+    public List<String> errorSamples() {
+        return errorSamples;
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    private Result result(String name, Histogram histogram, long errorCount) {
+        long requests = histogram.getTotalCount();
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return new Result(name, requests, errorCount,
+                seconds == 0 ? 0 : requests / seconds,
+                percentile(histogram, 50.0),
+                percentile(histogram, 99.0),
+                percentile(histogram, 99.9),
+                Duration.ofNanos(histogram.getMaxValue()));
+    }
+
+    private static Duration percentile(Histogram histogram, double percentile) {
+        return Duration.ofNanos(histogram.getValueAtPercentile(percentile));
+    }
+
+    /**
+     * Render the results as a plain-text table, one line per scenario and a total line.
+     */
+    public String format() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Result result : results()) {
+            table.append(format(result));
+        }
+        table.append(format(total()));
+        table.append(String.format("measured over %.1f s%n", elapsed.toMillis() / 1000.0));
+        errorSamples.forEach(sample -> table.append("error: ").append(sample).append(System.lineSeparator()));
+        return table.toString();
+    }
+
+    private static String format(Result result) {
+        return String.format("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                result.name(), result.requests(), result.errors(), result.throughput(),
+                millis(result.p50()), millis(result.p99()), millis(result.p999()), millis(result.max()));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * @param requests completed requests, failed ones included
+     * @param throughput completed requests per second
+     */
+    public record Result(String name, long requests, long errors, double throughput,
+                         Duration p50, Duration p99, Duration p999, Duration max) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.saeed.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.model.Employee;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The operations of the mixed workload against {@code /api/employees}.
+ * Reads and updates address the seeded employees by id; creates append new employees after them.
+ */
+public enum LoadScenario {
+
+    GET_BY_ID {
+        @Override
+        HttpRequest request(Context context, SplittableRandom random) {
+            return context.get("/" + context.randomId(random));
+        }
+    },
+
+    LIST_PAGE {
+        private static final String[] SORTS = {"id", "lastName", "firstName", "department"};
+
+        @Override
+        HttpRequest request(Context context, SplittableRandom random) {
+            return context.get("?limit=" + PAGE_SIZE + "&sort=" + SORTS[random.nextInt(SORTS.length)]);
+        }
+    },
+
+    SEARCH {
+        @Override
+        HttpRequest request(Context context, SplittableRandom random) {
+            String term = URLEncoder.encode(context.generator().searchTerm(random), StandardCharsets.UTF_8);
+            return context.get("/search?q=" + term + "&limit=" + PAGE_SIZE);
+        }
+    },
+
+    CREATE {
+        @Override
+        HttpRequest request(Context context, SplittableRandom random) {
+            Employee employee = context.generator().employee(context.nextIndex().getAndIncrement());
+            return context.builder("")
+                    .POST(HttpRequest.BodyPublishers.ofString(context.json(employee)))
+                    .build();
+        }
+    },
+
+    UPDATE {
+        @Override
+        HttpRequest request(Context context, SplittableRandom random) {
+            long id = context.randomId(random);
+            Employee employee = context.generator().employee(id - 1);
+            employee.setDepartment(context.generator().department(random));
+            // Unconditional: concurrent updates of the same row would otherwise fail with 412 and count as errors
+            return context.builder("/" + id)
+                    .header("If-Match", "*")
+                    .PUT(HttpRequest.BodyPublishers.ofString(context.json(employee)))
+                    .build();
+        }
+    };
+
+    private static final int PAGE_SIZE = 50;
+
+    abstract HttpRequest request(Context context, SplittableRandom random);
+
+    /**
+     * @return the name used for this scenario in settings and reports, e.g. {@code get-by-id}
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * @throws IllegalArgumentException if no scenario has this key
+     */
+    public static LoadScenario fromKey(String key) {
+        for (LoadScenario scenario : values()) {
+            if (scenario.key().equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load scenario: " + key);
+    }
+
+    /**
+     * What the scenarios need to build their requests.
+     * @param baseUri URI of the employee API, e.g. {@code http://localhost:8080/api/employees}
+     * @param employeeCount number of seeded employees; they have ids 1 to {@code employeeCount}
+     * @param nextIndex generator index of the next employee to create
+     */
+    public record Context(URI baseUri, long employeeCount, SyntheticEmployeeGenerator generator,
+                          AtomicLong nextIndex, ObjectMapper objectMapper, Duration timeout) {
+
+        long randomId(SplittableRandom random) {
+            return 1 + random.nextLong(employeeCount);
+        }
+
+        HttpRequest get(String path) {
+            return builder(path).GET().build();
+        }
+
+        HttpRequest.Builder builder(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUri + path))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json");
+        }
+
+        String json(Employee employee) {
+            try {
+                return objectMapper.writeValueAsString(employee);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.saeed.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings of a load run, read from {@code loadtest.*} properties so that they can be passed with {@code -D}:
+ * <pre>
+ * loadtest.employees                  seeded employees (100000)
+ * loadtest.seed                       seed of the data set and the request sequence (42)
+ * loadtest.rate                       requests started per second (200)
+ * loadtest.max-in-flight              maximum outstanding requests (256)
+ * loadtest.warmup                     unrecorded warm-up (15s)
+ * loadtest.duration                   recorded run time (45s)
+ * loadtest.timeout                    per-request timeout (10s)
+ * loadtest.mix                        scenario weights (get-by-id=50,list-page=15,search=15,create=10,update=10)
+ * loadtest.budget.p50/p99/p999        latency budget of every scenario (50ms, 250ms, 1s)
+ * loadtest.budget.max-error-rate      maximum share of failed requests per scenario (0.001)
+ * loadtest.budget.min-throughput      minimum requests per second (95% of the rate)
+ * loadtest.budget.[scenario].p50/...  latency budget of one scenario, e.g. loadtest.budget.search.p99=500ms
+ * </pre>
+ */
+public record LoadTestSettings(long employees, long seed, double rate, int maxInFlight, Duration warmup,
+                               Duration duration, Duration timeout, Map<LoadScenario, Integer> mix,
+                               LatencyBudget budget) {
+
+    private static final String PREFIX = "loadtest.";
+
+    public static LoadTestSettings fromSystemProperties() {
+        return from(System.getProperties());
+    }
+
+    public static LoadTestSettings from(Properties properties) {
+        double rate = Double.parseDouble(properties.getProperty(PREFIX + "rate", "200"));
+
+        Map<LoadScenario, Integer> mix = new EnumMap<>(LoadScenario.class);
+        for (String entry : properties.getProperty(PREFIX + "mix", "get-by-id=50,list-page=15,search=15,create=10,update=10").split(",")) {
+            String[] weight = entry.trim().split("=", 2);
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight in " + PREFIX + "mix: " + entry);
+            }
+            mix.put(LoadScenario.fromKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+
+        String budgetPrefix = PREFIX + "budget.";
+        Duration p50 = duration(properties, budgetPrefix + "p50", "50ms");
+        Duration p99 = duration(properties, budgetPrefix + "p99", "250ms");
+        Duration p999 = duration(properties, budgetPrefix + "p999", "1s");
+        double maxErrorRate = Double.parseDouble(properties.getProperty(budgetPrefix + "max-error-rate", "0.001"));
+        Map<LoadScenario, LatencyBudget> overrides = new EnumMap<>(LoadScenario.class);
+        for (LoadScenario scenario : LoadScenario.values()) {
+            String scenarioPrefix = budgetPrefix + scenario.key() + ".";
+            if (properties.stringPropertyNames().stream().anyMatch(name -> name.startsWith(scenarioPrefix))) {
+                overrides.put(scenario, new LatencyBudget(
+                        duration(properties, scenarioPrefix + "p50", DurationStyle.SIMPLE.print(p50)),
+                        duration(properties, scenarioPrefix + "p99", DurationStyle.SIMPLE.print(p99)),
+                        duration(properties, scenarioPrefix + "p999", DurationStyle.SIMPLE.print(p999)),
+                        Double.parseDouble(properties.getProperty(scenarioPrefix + "max-error-rate", String.valueOf(maxErrorRate))),
+                        0,
+                        Map.of()));
+            }
+        }
+        LatencyBudget budget = new LatencyBudget(p50, p99, p999, maxErrorRate,
+                Double.parseDouble(properties.getProperty(budgetPrefix + "min-throughput", String.valueOf(rate * 0.95))),
+                overrides);
+
+        return new LoadTestSettings(
+                Long.parseLong(properties.getProperty(PREFIX + "employees", "100000")),
+                Long.parseLong(properties.getProperty(PREFIX + "seed", "42")),
+                rate,
+                Integer.parseInt(properties.getProperty(PREFIX + "max-in-flight", "256")),
+                duration(properties, PREFIX + "warmup", "15s"),
+                duration(properties, PREFIX + "duration", "45s"),
+                duration(properties, PREFIX + "timeout", "10s"),
+                mix,
+                budget);
+    }
+
+    private static Duration duration(Properties properties, String name, String defaultValue) {
+        return DurationStyle.detectAndParse(properties.getProperty(name, defaultValue));
+    }
+}
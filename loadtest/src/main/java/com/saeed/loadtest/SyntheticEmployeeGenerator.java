@@ -0,0 +1,178 @@
+package com.saeed.loadtest;
+
+import com.saeed.model.Employee;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic employees with realistic distributions.
+ * <p>
+ * Names follow a Zipf-like distribution, so a few are very common and most are rare, and departments have
+ * uneven head counts. Every employee is derived from the seed and its index alone: the same seed always yields
+ * the same table, and the load driver can rebuild employee {@code i} without keeping the data set in memory.
+ * Emails embed the index and are therefore unique.
+ */
+public class SyntheticEmployeeGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra",
+            "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily", "Andrew", "Donna", "Joshua", "Michelle",
+            "Kenneth", "Carol", "Kevin", "Amanda", "Brian", "Dorothy", "George", "Melissa", "Timothy", "Deborah"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts"};
+    private static final String[] DEPARTMENTS = {
+            "Engineering", "Sales", "Operations", "Support", "Marketing", "Finance", "IT", "HR", "Legal", "Research"};
+    private static final double[] DEPARTMENT_WEIGHTS = {28, 18, 14, 12, 8, 6, 6, 4, 2, 2};
+
+    private static final String SQL_TRUNCATE = "TRUNCATE employees RESTART IDENTITY";
+    private static final String SQL_DEPARTMENT_ID = "SELECT find_or_create_department(?)";
+    private static final String SQL_COPY = "COPY employees (first_name, last_name, email, department_id) FROM STDIN";
+    private static final String SQL_ANALYZE = "ANALYZE employees";
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final long seed;
+    private final double[] firstNameCdf = cumulative(zipfWeights(FIRST_NAMES.length));
+    private final double[] lastNameCdf = cumulative(zipfWeights(LAST_NAMES.length));
+    private final double[] departmentCdf = cumulative(DEPARTMENT_WEIGHTS);
+
+    public SyntheticEmployeeGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param index zero-based position of the employee in the data set
+     * @return the employee at {@code index}, without id or version
+     */
+    public Employee employee(long index) {
+        SplittableRandom random = random(index);
+        String firstName = FIRST_NAMES[pick(firstNameCdf, random)];
+        String lastName = LAST_NAMES[pick(lastNameCdf, random)];
+        String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + index + "@example.com";
+        return new Employee(null, firstName, lastName, email, DEPARTMENTS[pick(departmentCdf, random)]);
+    }
+
+    /**
+     * @return a department drawn from the head-count distribution
+     */
+    public String department(SplittableRandom random) {
+        return DEPARTMENTS[pick(departmentCdf, random)];
+    }
+
+    /**
+     * @return a last name drawn from the name distribution, as a user would type it into a search box
+     */
+    public String searchTerm(SplittableRandom random) {
+        return LAST_NAMES[pick(lastNameCdf, random)].toLowerCase();
+    }
+
+    /**
+     * Replace the contents of {@code employees} with employees 0 to {@code count - 1}, creating missing departments.
+     * Rows are streamed with {@code COPY} in index order after {@code TRUNCATE ... RESTART IDENTITY},
+     * so employee {@code i} gets id {@code i + 1}.
+     * @param connection connection to the primary, in auto-commit mode or with the caller committing
+     * @param count number of employees
+     * @return number of rows loaded
+     */
+    public long load(Connection connection, long count) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(SQL_TRUNCATE);
+        }
+        Map<String, Integer> departmentIds = departmentIds(connection);
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(SQL_COPY);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 512);
+            for (long i = 0; i < count; i++) {
+                Employee employee = employee(i);
+                // Generated values never contain tabs, newlines or backslashes, so COPY text format needs no escaping
+                buffer.append(employee.getFirstName()).append('\t')
+                        .append(employee.getLastName()).append('\t')
+                        .append(employee.getEmail()).append('\t')
+                        .append(departmentIds.get(employee.getDepartment())).append('\n');
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            long rows = copyIn.endCopy();
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(SQL_ANALYZE);
+            }
+            return rows;
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * @return ids of the generated departments, created where missing
+     */
+    private static Map<String, Integer> departmentIds(Connection connection) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SQL_DEPARTMENT_ID)) {
+            for (String department : DEPARTMENTS) {
+                statement.setString(1, department);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    ids.put(department, rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private SplittableRandom random(long index) {
+        // SplittableRandom mixes its seed, so neighbouring indexes still give unrelated streams
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private static int pick(double[] cdf, SplittableRandom random) {
+        int position = Arrays.binarySearch(cdf, random.nextDouble() * cdf[cdf.length - 1]);
+        return position >= 0 ? position : Math.min(-position - 1, cdf.length - 1);
+    }
+
+    private static double[] zipfWeights(int size) {
+        double[] weights = new double[size];
+        for (int rank = 1; rank <= size; rank++) {
+            weights[rank - 1] = 1.0 / rank;
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        return cdf;
+    }
+}
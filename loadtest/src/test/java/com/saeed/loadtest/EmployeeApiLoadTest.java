@@ -0,0 +1,98 @@
+package com.saeed.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saeed.Main;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application against a Postgres seeded with {@code loadtest.employees} synthetic employees, runs the
+ * mixed workload and fails if the latency budget is exceeded. See {@link LoadTestSettings} for the knobs.
+ * The report is printed and written to {@code target/loadtest-report.txt}.
+ */
+@SpringBootTest(classes = Main.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class EmployeeApiLoadTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("employee_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // A single database: no replica to route reads to
+        registry.add("employee.datasource.replica.enabled", () -> "false");
+        // Only the API is under test; Vaadin in development mode would build the frontend on every run
+        registry.add("spring.autoconfigure.exclude", () -> String.join(",",
+                "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+                "com.vaadin.flow.spring.SpringBootAutoConfiguration",
+                "com.vaadin.flow.spring.SpringSecurityAutoConfiguration"));
+        // Per-statement debug logging would dominate the latencies being measured
+        registry.add("logging.level.com.saeed", () -> "INFO");
+        registry.add("logging.level.org.springframework.jdbc", () -> "INFO");
+    }
+
+    @Test
+    void testEmployeeApi_StaysWithinLatencyBudget() throws Exception {
+        // Arrange
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(settings.seed());
+        long loaded;
+        try (Connection connection = dataSource.getConnection()) {
+            loaded = generator.load(connection, settings.employees());
+        }
+        assertEquals(settings.employees(), loaded);
+
+        LoadScenario.Context context = new LoadScenario.Context(
+                URI.create("http://localhost:" + port + "/api/employees"),
+                settings.employees(),
+                generator,
+                new AtomicLong(settings.employees()),
+                objectMapper,
+                settings.timeout());
+        HttpClient client = LoadDriver.httpClient(settings.timeout());
+
+        // Act
+        LoadReport report = new LoadDriver(client, context, settings.mix())
+                .run(settings.rate(), settings.maxInFlight(), settings.warmup(), settings.duration(), settings.seed());
+
+        // Assert
+        String table = report.format();
+        System.out.println(table);
+        Files.writeString(Path.of("target", "loadtest-report.txt"), table);
+        List<String> violations = settings.budget().violations(report);
+        assertTrue(violations.isEmpty(), () -> "Latency budget exceeded:\n" + String.join("\n", violations) + "\n" + table);
+    }
+}